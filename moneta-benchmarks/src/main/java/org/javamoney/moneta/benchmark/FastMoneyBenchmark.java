@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmark;
+
+import org.javamoney.moneta.FastMoney;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the arithmetic and comparison operations of {@link FastMoney}.
+ * Run with {@code -prof gc} to also measure the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FastMoneyBenchmark {
+
+    /**
+     * The currency code, covering currencies with 2, 0 and 3 default fraction digits.
+     */
+    @Param({"EUR", "JPY", "BHD"})
+    public String currencyCode;
+
+    /**
+     * The scale of the amounts operated on.
+     */
+    @Param({"2", "5"})
+    public int scale;
+
+    private FastMoney amount;
+
+    private FastMoney other;
+
+    @Setup
+    public void setup() {
+        CurrencyUnit currency = Monetary.getCurrency(currencyCode);
+        amount = FastMoney.of(new BigDecimal("1234567.12345").setScale(scale, RoundingMode.HALF_EVEN), currency);
+        other = FastMoney.of(new BigDecimal("232323.98765").setScale(scale, RoundingMode.HALF_EVEN), currency);
+    }
+
+    @Benchmark
+    public FastMoney add() {
+        return amount.add(other);
+    }
+
+    @Benchmark
+    public FastMoney subtract() {
+        return amount.subtract(other);
+    }
+
+    @Benchmark
+    public MonetaryAmount multiply(OperandState operand) {
+        return operand.operandType.multiply(amount);
+    }
+
+    @Benchmark
+    public MonetaryAmount divide(OperandState operand) {
+        return operand.operandType.divide(amount);
+    }
+
+    @Benchmark
+    public boolean isLessThan() {
+        return amount.isLessThan(other);
+    }
+
+    @Benchmark
+    public boolean isEqualTo() {
+        return amount.isEqualTo(other);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return amount.compareTo(other);
+    }
+
+}
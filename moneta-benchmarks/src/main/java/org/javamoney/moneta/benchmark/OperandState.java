@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Holds the {@link OperandType} parameter. It is kept in its own state, so only the {@code multiply}
+ * and {@code divide} benchmarks, which use it, are run for each operand type.
+ */
+@State(Scope.Benchmark)
+public class OperandState {
+
+    /**
+     * The type of the operand for multiply and divide.
+     */
+    @Param
+    public OperandType operandType;
+
+}
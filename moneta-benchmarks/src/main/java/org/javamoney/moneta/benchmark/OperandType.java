@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmark;
+
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+
+/**
+ * The numeric type of the operand passed to {@code multiply} and {@code divide}. The amount
+ * implementations have dedicated overloads for {@code long} and {@code double} and take different
+ * code paths depending on the {@link Number} type, so each benchmark is run for all of them.
+ */
+public enum OperandType {
+
+    /**
+     * Operand passed as {@code long}.
+     */
+    LONG {
+        @Override
+        MonetaryAmount multiply(MonetaryAmount amount) {
+            return amount.multiply(3L);
+        }
+
+        @Override
+        MonetaryAmount divide(MonetaryAmount amount) {
+            return amount.divide(4L);
+        }
+    },
+    /**
+     * Operand passed as {@code double}.
+     */
+    DOUBLE {
+        @Override
+        MonetaryAmount multiply(MonetaryAmount amount) {
+            return amount.multiply(1.5d);
+        }
+
+        @Override
+        MonetaryAmount divide(MonetaryAmount amount) {
+            return amount.divide(2.5d);
+        }
+    },
+    /**
+     * Operand passed as {@link BigDecimal}.
+     */
+    BIG_DECIMAL {
+        @Override
+        MonetaryAmount multiply(MonetaryAmount amount) {
+            return amount.multiply(FACTOR);
+        }
+
+        @Override
+        MonetaryAmount divide(MonetaryAmount amount) {
+            return amount.divide(DIVISOR);
+        }
+    };
+
+    private static final BigDecimal FACTOR = new BigDecimal("1.5");
+
+    private static final BigDecimal DIVISOR = new BigDecimal("2.5");
+
+    /**
+     * Multiplies the given amount with an operand of this type.
+     *
+     * @param amount the amount, not null.
+     * @return the product, never null.
+     */
+    abstract MonetaryAmount multiply(MonetaryAmount amount);
+
+    /**
+     * Divides the given amount by an operand of this type.
+     *
+     * @param amount the amount, not null.
+     * @return the quotient, never null.
+     */
+    abstract MonetaryAmount divide(MonetaryAmount amount);
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.benchmark;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.function.MonetaryAccumulator;
+import org.javamoney.moneta.function.MonetaryFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks summing up a list of amounts, comparing {@code reduce(MonetaryFunctions.sum())} with
+ * a {@link MonetaryAccumulator}. Run with {@code -prof gc} to also measure the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SumBenchmark {
+
+    /**
+     * The amount type summed up.
+     */
+    @Param({"Money", "FastMoney"})
+    public String amountType;
+
+    /**
+     * The number of amounts summed up.
+     */
+    @Param({"10000"})
+    public int size;
+
+    private CurrencyUnit currency;
+
+    private List<MonetaryAmount> amounts;
+
+    @Setup
+    public void setup() {
+        currency = Monetary.getCurrency("EUR");
+        Random random = new Random(42L);
+        amounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BigDecimal number = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            amounts.add("Money".equals(amountType) ? Money.of(number, currency) : FastMoney.of(number, currency));
+        }
+    }
+
+    @Benchmark
+    public MonetaryAmount reduce() {
+        return amounts.stream().reduce(MonetaryFunctions.sum()).get();
+    }
+
+    @Benchmark
+    public MonetaryAmount collect() {
+        return amounts.stream().collect(MonetaryFunctions.summingMonetary(currency));
+    }
+
+    @Benchmark
+    public MonetaryAmount accumulate() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(currency);
+        for (MonetaryAmount amount : amounts) {
+            accumulator.add(amount);
+        }
+        return accumulator.toFastMoney();
+    }
+
+}
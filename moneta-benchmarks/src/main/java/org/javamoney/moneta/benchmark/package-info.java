@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+/**
+ * JMH benchmarks for the amount implementations of Moneta ({@link org.javamoney.moneta.Money},
+ * {@link org.javamoney.moneta.FastMoney} and {@link org.javamoney.moneta.RoundedMoney}).
+ * <p>
+ * Build the module with {@code mvn package} and run the self contained {@code target/benchmarks.jar}, e.g.
+ * {@code java -jar target/benchmarks.jar -prof gc} to also report the allocation rate per operation.
+ * </p>
+ */
+package org.javamoney.moneta.benchmark;
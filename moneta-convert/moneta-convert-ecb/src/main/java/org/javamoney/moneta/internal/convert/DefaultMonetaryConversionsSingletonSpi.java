@@ -16,7 +16,7 @@
 package org.javamoney.moneta.internal.convert;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,7 +31,9 @@ import javax.money.convert.ExchangeRateProvider;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.MonetaryConversionsSingletonSpi;
 
+import org.javamoney.moneta.spi.CachingRateProvider;
 import org.javamoney.moneta.spi.CompoundRateProvider;
+import org.javamoney.moneta.spi.LoaderService;
 import org.javamoney.moneta.spi.MonetaryConfig;
 
 /**
@@ -49,6 +51,12 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
      */
     private Map<String, ExchangeRateProvider> conversionProviders = new ConcurrentHashMap<>();
 
+    /**
+     * The caching compound providers, by provider chain, if enabled by
+     * {@link CachingRateProvider#CACHE_ENABLED_KEY}.
+     */
+    private final Map<List<String>, CachingRateProvider> cachingProviders = new ConcurrentHashMap<>();
+
     /**
      * Constructors, loads the providers from the {@link javax.money.spi.Bootstrap} component.
      */
@@ -65,11 +73,19 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
             newProviders.put(prov.getContext().getProviderName(), prov);
         }
         this.conversionProviders = newProviders;
+        if (!cachingProviders.isEmpty()) {
+            LoaderService loaderService = Bootstrap.getService(LoaderService.class);
+            String[] resourceIds = loaderService.getResourceIds().toArray(new String[0]);
+            for (CachingRateProvider prov : cachingProviders.values()) {
+                loaderService.removeLoaderListener(prov, resourceIds);
+            }
+            cachingProviders.clear();
+        }
     }
 
     @Override
     public ExchangeRateProvider getExchangeRateProvider(ConversionQuery conversionQuery) {
-        Collection<String> providers = getProvidersToUse(conversionQuery);
+        List<String> providers = getProvidersToUse(conversionQuery);
         List<ExchangeRateProvider> provInstances = new ArrayList<>();
         for (String provName : providers) {
             ExchangeRateProvider prov = Optional.ofNullable(
@@ -86,12 +102,12 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
         if (provInstances.size() == 1) {
             return provInstances.get(0);
         }
-        return new CompoundRateProvider(provInstances);
+        return createCompoundProvider(providers, provInstances);
     }
 
     @Override
     public boolean isExchangeRateProviderAvailable(ConversionQuery conversionQuery) {
-        Collection<String> providers = getProvidersToUse(conversionQuery);
+        List<String> providers = getProvidersToUse(conversionQuery);
         return !providers.isEmpty();
     }
 
@@ -122,10 +138,29 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
         if (provInstances.size() == 1) {
             return provInstances.get(0);
         }
-        return new CompoundRateProvider(provInstances);
+        return createCompoundProvider(Arrays.asList(providers), provInstances);
+    }
+
+    /**
+     * Creates the provider for a chain of providers, caching its rates if enabled.
+     *
+     * @param providerNames the names of the providers, not null.
+     * @param provInstances the providers, not null.
+     * @return the provider for the chain, never null.
+     */
+    private ExchangeRateProvider createCompoundProvider(List<String> providerNames,
+                                                        List<ExchangeRateProvider> provInstances) {
+        if (!Boolean.parseBoolean(MonetaryConfig.getConfig().get(CachingRateProvider.CACHE_ENABLED_KEY))) {
+            return new CompoundRateProvider(provInstances);
+        }
+        return cachingProviders.computeIfAbsent(new ArrayList<>(providerNames), names -> {
+            LoaderService loaderService = Bootstrap.getService(LoaderService.class);
+            return CachingRateProvider.of(new CompoundRateProvider(provInstances))
+                    .invalidateOn(loaderService, loaderService.getResourceIds().toArray(new String[0]));
+        });
     }
 
-    private Collection<String> getProvidersToUse(ConversionQuery query) {
+    private List<String> getProvidersToUse(ConversionQuery query) {
         List<String> providersToUse = new ArrayList<>();
         List<String> providerNames = query.getProviderNames();
         if (providerNames.isEmpty()) {
@@ -15,14 +15,17 @@
  */
 package org.javamoney.moneta.internal.convert;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.MathContext;
+import java.net.URL;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -33,18 +36,20 @@ import java.util.stream.Stream;
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import javax.money.MonetaryException;
+import javax.money.convert.ConversionContext;
 import javax.money.convert.ConversionQuery;
 import javax.money.convert.CurrencyConversionException;
 import javax.money.convert.ExchangeRate;
 import javax.money.convert.ProviderContext;
 import javax.money.spi.Bootstrap;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
 
 import org.javamoney.moneta.convert.ExchangeRateBuilder;
+import org.javamoney.moneta.internal.loader.DefaultResourceCache;
+import org.javamoney.moneta.internal.loader.ResourceCache;
 import org.javamoney.moneta.spi.AbstractRateProvider;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 import org.javamoney.moneta.spi.LoaderService;
+import org.javamoney.moneta.spi.MonetaryConfig;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
 
 /**
@@ -59,55 +64,257 @@ abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
 
     private static final String BASE_CURRENCY_CODE = "EUR";
 
+    /**
+     * Configuration key to precompute the rates between all non EUR currencies, when data is loaded.
+     * It can be overridden per provider by appending {@code '.' + getDataId()}.
+     */
+    private static final String PRECOMPUTE_CROSS_RATES_KEY = "ecb.crossRates.precompute";
+
+    /**
+     * Configuration key to enable incremental loading for providers with delta resources. It can be
+     * overridden per provider by appending {@code '.' + getDataId()}.
+     */
+    private static final String INCREMENTAL_KEY = "ecb.incremental";
+
+    /**
+     * The number of days covered by the largest delta resource, the 90 days feed.
+     */
+    private static final int DELTA_DAYS = 90;
+
+    /**
+     * Suffix of the resource cache entry holding the snapshot of the rates loaded.
+     */
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    /**
+     * Configuration key to disable reading the binary snapshot of the default resource on startup.
+     * It can be overridden per provider by appending {@code '.' + getDataId()}.
+     */
+    private static final String PRELOAD_KEY = "ecb.snapshot.preload";
+
     /**
      * Base currency of the loaded rates is always EUR.
      */
     public static final CurrencyUnit BASE_CURRENCY = Monetary.getCurrency(BASE_CURRENCY_CODE);
 
     /**
-     * Historic exchange rates, rate timestamp as UTC long.
+     * Historic exchange rates, replaced as a whole, when new data is loaded.
      */
-    protected final Map<LocalDate, Map<String, ExchangeRate>> rates = new ConcurrentHashMap<>();
+    private volatile ECBRates rates;
 
     protected volatile String loadState;
 
     protected volatile CountDownLatch loadLock = new CountDownLatch(1);
 
     /**
-     * Parser factory.
+     * Completed together with {@link #loadLock}, for callers not to be blocked until data is loaded.
      */
-    private final SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    /**
+     * The precomputed cross rates, or null, if disabled or not yet loaded.
+     */
+    private volatile CrossRates crossRates;
+
+    /**
+     * Guards the merge of newly loaded rates.
+     */
+    private final Object ratesLock = new Object();
+
+    private final ECBRateReader rateReader;
 
     private final ProviderContext context;
 
+    /**
+     * True, if only days not yet loaded are read and the rates are kept in a snapshot.
+     */
+    private final boolean incremental;
+
+    /**
+     * True, if the rates contain the data of the resource of this provider, not only of its deltas.
+     */
+    private volatile boolean complete;
+
 
     ECBAbstractRateProvider(ProviderContext context) {
         super(context);
 		this.context = context;
-        saxParserFactory.setNamespaceAware(false);
-        saxParserFactory.setValidating(false);
+        this.rates = ECBRates.empty(context);
+        this.rateReader = new ECBRateReader(context);
+        String[] deltaIds = getDeltaDataIds();
+        this.incremental = deltaIds.length > 0 && isEnabled(INCREMENTAL_KEY, false);
+        if (isEnabled(PRELOAD_KEY, true)) {
+            preloadDefaultSnapshot();
+        }
         LoaderService loader = Bootstrap.getService(LoaderService.class);
         loader.addLoaderListener(this, getDataId());
+        if (incremental) {
+            loader.addLoaderListener(this, deltaIds);
+            if (restoreSnapshot()) {
+                for (String deltaId : deltaIds) {
+                    loader.loadDataAsync(deltaId);
+                }
+                return;
+            }
+        }
         loader.loadDataAsync(getDataId());
     }
 
     protected abstract String getDataId();
 
+    /**
+     * Access the ids of resources publishing the most recent rates of the resource of this
+     * provider. If incremental loading is enabled, they are merged into the rates loaded.
+     *
+     * @return the ids of the delta resources, by default none.
+     */
+    protected String[] getDeltaDataIds() {
+        return new String[0];
+    }
+
+    /**
+     * Reads the binary snapshot of the default resource, if it was generated at build time, so rates
+     * can be served before any resource is loaded.
+     */
+    private void preloadDefaultSnapshot() {
+        String resource = MonetaryConfig.getConfig().get("load." + getDataId() + ".resource");
+        String snapshotName = Objects.isNull(resource) ? null : ECBRateSnapshotGenerator.toSnapshotName(resource);
+        URL snapshot = Objects.isNull(snapshotName) ? null : ECBAbstractRateProvider.class.getResource(snapshotName);
+        if (Objects.isNull(snapshot)) {
+            return;
+        }
+        try {
+            ECBRates preloaded = ECBRates.fromSnapshot(context, snapshot);
+            if (!preloaded.isEmpty()) {
+                setRates(preloaded);
+                loadState = "Preloaded " + snapshotName + " exchange rates for days:" + preloaded.size();
+                LOG.info(loadState);
+                markLoaded();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Ignoring invalid rate snapshot: " + snapshotName, e);
+        }
+    }
+
+    /**
+     * Replaces the rates, e.g. with rates read from a snapshot.
+     *
+     * @param newRates the rates, not null.
+     */
+    private void setRates(ECBRates newRates) {
+        synchronized (ratesLock) {
+            if (isPrecomputeCrossRates()) {
+                crossRates = computeCrossRates(newRates);
+            }
+            this.rates = newRates;
+        }
+    }
+
+    /**
+     * Restores the rates from the snapshot written after the last load.
+     *
+     * @return true, if the snapshot is recent enough to be completed by the delta resources.
+     */
+    private boolean restoreSnapshot() {
+        ResourceCache cache = SnapshotCache.INSTANCE;
+        String snapshotId = getDataId() + SNAPSHOT_SUFFIX;
+        try {
+            ByteBuffer snapshot = cache.readBuffer(snapshotId);
+            if (Objects.isNull(snapshot)) {
+                return false;
+            }
+            ECBRates restored = ECBRates.fromSnapshot(context, snapshot);
+            if (restored.isEmpty()
+                    || restored.getDate(restored.latestIndex()).plusDays(DELTA_DAYS).isBefore(LocalDate.now())) {
+                return false;
+            }
+            setRates(restored);
+            this.complete = true;
+            loadState = "Restored " + snapshotId + " exchange rates for days:" + restored.size();
+            LOG.info(loadState);
+            markLoaded();
+            return true;
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Ignoring invalid rate snapshot: " + snapshotId, e);
+            cache.clear(snapshotId);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the snapshot of the given rates, so they can be restored on restart.
+     *
+     * @param snapshotRates the rates, not null.
+     */
+    private void writeSnapshot(ECBRates snapshotRates) {
+        try {
+            SnapshotCache.INSTANCE.write(getDataId() + SNAPSHOT_SUFFIX, snapshotRates.toSnapshot());
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to write rate snapshot for: " + getDataId(), e);
+        }
+    }
+
     @Override
     public void newDataLoaded(String resourceId, InputStream is) {
-        final int oldSize = this.rates==null?0:this.rates.size();
         try {
-            SAXParser parser = saxParserFactory.newSAXParser();
-            parser.parse(is, new ECBRateReadingHandler(rates, getContext()));
-            int newSize = this.rates==null?0:this.rates.size();
+            LocalDate after = null;
+            ECBRates currentRates = this.rates;
+            // the delta feeds are small and merged in full, as they may be loaded in any order: if the daily
+            // feed is merged first, cutting the 90 days feed at its date would leave a gap of missing days
+            if (incremental && complete && getDataId().equals(resourceId) && !currentRates.isEmpty()) {
+                after = currentRates.getDate(currentRates.latestIndex());
+            }
+            ECBRates loaded = rateReader.read(is, after);
+            int oldSize;
+            int newSize;
+            synchronized (ratesLock) {
+                ECBRates merged = this.rates.merge(loaded);
+                if (merged != this.rates && isPrecomputeCrossRates()) {
+                    crossRates = computeCrossRates(merged);
+                }
+                oldSize = this.rates.size();
+                newSize = merged.size();
+                this.rates = merged;
+                if (incremental) {
+                    boolean wasComplete = complete;
+                    complete |= getDataId().equals(resourceId);
+                    if (complete && (!wasComplete || newSize != oldSize)) {
+                        writeSnapshot(merged);
+                    }
+                }
+            }
             loadState = "Loaded " + resourceId + " exchange rates for days:" + (newSize - oldSize);
             LOG.info(loadState);
         } catch (Exception e) {
             loadState = "Last Error during data load: " + e.getMessage();
         	LOG.log(Level.FINEST, "Error during data load.", e);
         } finally{
-            loadLock.countDown();
+            markLoaded();
+        }
+    }
+
+    private void markLoaded() {
+        loadLock.countDown();
+        loaded.complete(null);
+    }
+
+    /**
+     * Access an {@link ExchangeRate} asynchronously. If no data is loaded yet, the rate is evaluated
+     * by the thread completing the load, so the caller is never blocked.
+     *
+     * @param conversionQuery the conversion query, not null.
+     * @return the future rate, completed exceptionally, if no data is loaded within 30 seconds.
+     */
+    @Override
+    public CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+        Objects.requireNonNull(conversionQuery);
+        if (loaded.isDone()) {
+            return super.getExchangeRateAsync(conversionQuery);
         }
+        // wait on a dependent future, so a timeout does not complete the shared one
+        CompletableFuture<Void> loadedInTime = completeOnTimeout(loaded.thenApply(v -> v), 30, TimeUnit.SECONDS,
+                () -> new MonetaryException("Failed to load currency conversion data: " + loadState));
+        return loadedInTime.thenApply(v -> getExchangeRate(conversionQuery));
     }
 
     @Override
@@ -115,16 +322,25 @@ abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
         Objects.requireNonNull(conversionQuery);
         try {
             if (loadLock.await(30, TimeUnit.SECONDS)) {
-                if (rates.isEmpty()) {
+                ECBRates currentRates = this.rates;
+                if (currentRates.isEmpty()) {
                     return null;
                 }
-                RateResult result = findExchangeRate(conversionQuery);
+                int dayIndex = findExchangeRate(currentRates, conversionQuery);
+                CrossRates cached = this.crossRates;
+                if (Objects.nonNull(cached) && cached.rates == currentRates) {
+                    ExchangeRate crossRate = cached.get(dayIndex, conversionQuery.getBaseCurrency().getCurrencyCode(),
+                            conversionQuery.getCurrency().getCurrencyCode());
+                    if (Objects.nonNull(crossRate)) {
+                        return crossRate;
+                    }
+                }
 
-                ExchangeRateBuilder builder = getBuilder(conversionQuery, result.date);
-                ExchangeRate sourceRate = result.targets.get(conversionQuery.getBaseCurrency()
+                ExchangeRateBuilder builder = getBuilder(conversionQuery);
+                ExchangeRate sourceRate = currentRates.getRate(dayIndex, conversionQuery.getBaseCurrency()
+                        .getCurrencyCode());
+                ExchangeRate target = currentRates.getRate(dayIndex, conversionQuery.getCurrency()
                         .getCurrencyCode());
-                ExchangeRate target = result.targets
-                        .get(conversionQuery.getCurrency().getCurrencyCode());
                 return createExchangeRate(conversionQuery, builder, sourceRate, target);
             }else{
                 throw new MonetaryException("Failed to load currency conversion data: " + loadState);
@@ -135,19 +351,21 @@ abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
         }
     }
 
-	private RateResult findExchangeRate(ConversionQuery conversionQuery) {
+	private int findExchangeRate(ECBRates currentRates, ConversionQuery conversionQuery) {
 		LocalDate[] dates = getQueryDates(conversionQuery);
 
         if (dates == null) {
-        	Comparator<LocalDate> comparator = Comparator.naturalOrder();
-    		LocalDate date = this.rates.keySet().stream().sorted(comparator.reversed()).findFirst().orElseThrow(() -> new MonetaryException("There is not more recent exchange rate to  rate on ECBRateProvider."));
-        	return new RateResult(date, this.rates.get(date));
+        	int latest = currentRates.latestIndex();
+        	if (latest < 0) {
+        		throw new MonetaryException("There is not more recent exchange rate to  rate on ECBRateProvider.");
+        	}
+        	return latest;
         } else {
         	for (LocalDate localDate : dates) {
-        		Map<String, ExchangeRate> targets = this.rates.get(localDate);
+        		int dayIndex = currentRates.indexOf(localDate);
 
-        		if(Objects.nonNull(targets)) {
-        			return new RateResult(localDate, targets);
+        		if (dayIndex >= 0) {
+        			return dayIndex;
         		}
 			}
         	String datesOnErros = Stream.of(dates).map(date -> date.format(DateTimeFormatter.ISO_LOCAL_DATE)).collect(Collectors.joining(","));
@@ -175,20 +393,71 @@ abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
                 .getCurrencyCode())) {
             return target;
         } else {
-
-            ExchangeRate rate1 = getExchangeRate(
-                    query.toBuilder().setTermCurrency(Monetary.getCurrency(BASE_CURRENCY_CODE)).build());
-            ExchangeRate rate2 = getExchangeRate(
-                    query.toBuilder().setBaseCurrency(Monetary.getCurrency(BASE_CURRENCY_CODE))
-                            .setTermCurrency(query.getCurrency()).build());
-            if (Objects.nonNull(rate1) && Objects.nonNull(rate2)) {
-                builder.setFactor(multiply(rate1.getFactor(), rate2.getFactor()));
-                builder.setRateChain(rate1, rate2);
-                return builder.build();
+            if (Objects.nonNull(sourceRate) && Objects.nonNull(target)) {
+                return createCrossRate(builder, reverse(sourceRate), target);
             }
             throw new CurrencyConversionException(query.getBaseCurrency(),
-                    query.getCurrency(), sourceRate.getContext());
+                    query.getCurrency(), Objects.isNull(sourceRate) ? null : sourceRate.getContext());
+        }
+    }
+
+    /**
+     * Creates the rate between two non EUR currencies, chaining the rate to EUR and the rate from EUR.
+     *
+     * @param builder the builder, with base and term currency already set.
+     * @param rate1   the rate from the base currency to EUR.
+     * @param rate2   the rate from EUR to the term currency.
+     * @return the cross rate.
+     */
+    private ExchangeRate createCrossRate(ExchangeRateBuilder builder, ExchangeRate rate1, ExchangeRate rate2) {
+        builder.setFactor(multiply(rate1.getFactor(), rate2.getFactor()));
+        builder.setRateChain(rate1, rate2);
+        return builder.build();
+    }
+
+    private boolean isPrecomputeCrossRates() {
+        return isEnabled(PRECOMPUTE_CROSS_RATES_KEY, false);
+    }
+
+    private boolean isEnabled(String key, boolean defaultValue) {
+        Map<String, String> config = MonetaryConfig.getConfig();
+        String value = config.get(key + '.' + getDataId());
+        if (Objects.isNull(value)) {
+            value = config.get(key);
+        }
+        return Objects.isNull(value) ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Evaluates the cross rates of all pairs of non EUR currencies, for all dates loaded.
+     *
+     * @param allRates the rates loaded, not null.
+     * @return the cross rates, never null.
+     */
+    private CrossRates computeCrossRates(ECBRates allRates) {
+        int currencyCount = allRates.getCurrencyCount();
+        ConversionContext conversionContext = getExchangeContext("ecb.digit.fraction");
+        ExchangeRate[][][] matrices = new ExchangeRate[allRates.size()][][];
+        for (int day = 0; day < matrices.length; day++) {
+            ExchangeRate[][] matrix = new ExchangeRate[currencyCount][currencyCount];
+            for (int base = 0; base < currencyCount; base++) {
+                ExchangeRate sourceRate = allRates.getRate(day, base);
+                if (Objects.isNull(sourceRate)) {
+                    continue;
+                }
+                ExchangeRate reversed = reverse(sourceRate);
+                for (int term = 0; term < currencyCount; term++) {
+                    ExchangeRate target = allRates.getRate(day, term);
+                    if (term != base && Objects.nonNull(target)) {
+                        ExchangeRateBuilder builder = new ExchangeRateBuilder(conversionContext)
+                                .setBase(sourceRate.getCurrency()).setTerm(target.getCurrency());
+                        matrix[base][term] = createCrossRate(builder, reversed, target);
+                    }
+                }
+            }
+            matrices[day] = matrix;
         }
+        return new CrossRates(allRates, matrices);
     }
 
     private boolean areBothBaseCurrencies(ConversionQuery query) {
@@ -197,7 +466,7 @@ abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
     }
 
 
-    private ExchangeRateBuilder getBuilder(ConversionQuery query, LocalDate localDate) {
+    private ExchangeRateBuilder getBuilder(ConversionQuery query) {
         ExchangeRateBuilder builder = new ExchangeRateBuilder(getExchangeContext("ecb.digit.fraction"));
         builder.setBase(query.getBaseCurrency());
         builder.setTerm(query.getCurrency());
@@ -220,15 +489,47 @@ abstract class ECBAbstractRateProvider extends AbstractRateProvider implements
         return sb;
     }
 
-    private class RateResult {
-    	private final LocalDate date;
+    /**
+     * Immutable snapshot of precomputed cross rates, as dense matrices indexed by the day and
+     * currency indices of the rates they were computed from.
+     */
+    private static final class CrossRates {
+
+        private final ECBRates rates;
 
-    	private final Map<String, ExchangeRate> targets;
+        private final ExchangeRate[][][] matrices;
+
+        CrossRates(ECBRates rates, ExchangeRate[][][] matrices) {
+            this.rates = rates;
+            this.matrices = matrices;
+        }
 
-    	RateResult(LocalDate date, Map<String, ExchangeRate> targets) {
-    		this.date = date;
-    		this.targets = targets;
-    	}
+        ExchangeRate get(int dayIndex, String baseCurrencyCode, String termCurrencyCode) {
+            int base = rates.indexOf(baseCurrencyCode);
+            int term = rates.indexOf(termCurrencyCode);
+            if (base < 0 || term < 0) {
+                return null;
+            }
+            return matrices[dayIndex][base][term];
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * Holds the cache for the snapshots of the rates loaded, created when first used. It is the
+     * {@link ResourceCache} service, if registered, independent of the {@link LoaderService} used.
+     */
+    private static final class SnapshotCache {
+
+        static final ResourceCache INSTANCE = loadCache();
+
+        private static ResourceCache loadCache() {
+            try {
+                return Optional.ofNullable(Bootstrap.getService(ResourceCache.class)).orElseGet(
+                        DefaultResourceCache::new);
+            } catch (Exception e) {
+                LOG.log(Level.SEVERE, "Error loading ResourceCache instance.", e);
+                return new DefaultResourceCache();
+            }
+        }
+    }
+}
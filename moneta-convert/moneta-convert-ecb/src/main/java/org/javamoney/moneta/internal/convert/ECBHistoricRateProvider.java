@@ -63,5 +63,14 @@ public class ECBHistoricRateProvider extends ECBAbstractRateProvider {
         return DATA_ID;
     }
 
+    /**
+     * The 90 days and the daily feeds, merged into the history when {@code ecb.incremental} is enabled.
+     */
+    @Override
+    protected String[] getDeltaDataIds() {
+        return new String[]{ECBHistoric90RateProvider.class.getSimpleName(),
+                ECBCurrentRateProvider.class.getSimpleName()};
+    }
+
 
 }
\ No newline at end of file
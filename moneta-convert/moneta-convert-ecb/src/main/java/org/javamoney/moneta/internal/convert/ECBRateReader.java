@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import javax.money.convert.ProviderContext;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming (StAX) reader for the ECB feeds, collecting the rates into {@link ECBRates}.
+ * <p>
+ * Format: <gesmes:Envelope
+ * xmlns:gesmes="http://www.gesmes.org/xml/2002-08-01"
+ * xmlns="http://www.ecb.int/vocabulary/2002-08-01/eurofxref">
+ * <gesmes:subject>Reference rates</gesmes:subject> <gesmes:Sender>
+ * <gesmes:name>European Central Bank</gesmes:name> </gesmes:Sender> <Cube>
+ * <Cube time="2013-02-21">...</Cube> <Cube time="2013-02-20">...</Cube>
+ * <Cube time="2013-02-19"> <Cube currency="USD" rate="1.3349"/> <Cube
+ * currency="JPY" rate="124.81"/> <Cube currency="BGN" rate="1.9558"/> <Cube
+ * currency="CZK" rate="25.434"/> <Cube currency="DKK" rate="7.4599"/> <Cube
+ * currency="GBP" rate="0.8631"/> <Cube currency="HUF" rate="290.79"/> <Cube
+ * currency="LTL" rate="3.4528"/> ...
+ */
+final class ECBRateReader {
+
+    private static final String CUBE = "Cube";
+
+    private final XMLInputFactory inputFactory;
+
+    private final ProviderContext context;
+
+    /**
+     * Creates a new reader.
+     *
+     * @param context the context of the rates read, not null.
+     */
+    ECBRateReader(ProviderContext context) {
+        this.context = Objects.requireNonNull(context);
+        this.inputFactory = XMLInputFactory.newInstance();
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+    }
+
+    /**
+     * Reads the rates of a feed.
+     *
+     * @param is the feed, not null. The stream is not closed.
+     * @return the rates read.
+     * @throws XMLStreamException if the feed cannot be read.
+     */
+    ECBRates read(InputStream is) throws XMLStreamException {
+        return read(is, null);
+    }
+
+    /**
+     * Reads the rates of a feed published after the given date. As the ECB publishes its feeds in
+     * descending date order, reading stops at the first day not after the given date.
+     *
+     * @param is    the feed, not null. The stream is not closed.
+     * @param after the most recent date already known, or null, to read all rates.
+     * @return the rates read.
+     * @throws XMLStreamException if the feed cannot be read.
+     */
+    ECBRates read(InputStream is, LocalDate after) throws XMLStreamException {
+        ECBRates.Builder builder = new ECBRates.Builder(context);
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(is);
+        try {
+            LocalDate localDate = null;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !CUBE.equals(reader.getLocalName())) {
+                    continue;
+                }
+                String time = reader.getAttributeValue(null, "time");
+                if (Objects.nonNull(time)) {
+                    localDate = LocalDate.parse(time);
+                    if (Objects.nonNull(after) && !localDate.isAfter(after)) {
+                        break;
+                    }
+                    continue;
+                }
+                // read data <Cube currency="USD" rate="1.3349"/>
+                String currency = reader.getAttributeValue(null, "currency");
+                if (Objects.nonNull(currency) && Objects.nonNull(localDate)) {
+                    builder.addRate(localDate, currency, Double.parseDouble(reader.getAttributeValue(null, "rate")));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return builder.build();
+    }
+
+}
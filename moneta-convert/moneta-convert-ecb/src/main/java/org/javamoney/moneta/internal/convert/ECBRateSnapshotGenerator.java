@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Logger;
+
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Build time tool converting the default ECB feeds into binary rate snapshots. For each
+ * {@code <name>.xml} feed in the given directories a {@code <name>.bin} snapshot is written, which
+ * the providers map on startup, so rates are available before any feed is loaded.
+ * <p>
+ * It is run by the build in the {@code process-classes} phase on the default resources copied to
+ * the output directory, so the snapshots are packaged with the module.
+ *
+ * @since 1.2
+ */
+public final class ECBRateSnapshotGenerator {
+
+    private static final Logger LOG = Logger.getLogger(ECBRateSnapshotGenerator.class.getName());
+
+    static final String FEED_SUFFIX = ".xml";
+
+    static final String SNAPSHOT_SUFFIX = ".bin";
+
+    /**
+     * The context is not part of a snapshot, it is replaced when the snapshot is read.
+     */
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("ECB", RateType.HISTORIC).build();
+
+    private ECBRateSnapshotGenerator() {
+    }
+
+    /**
+     * Writes the snapshots of all feeds in the given directories.
+     *
+     * @param args the directories containing the feeds.
+     * @throws IOException        if a snapshot cannot be written.
+     * @throws XMLStreamException if a feed cannot be read.
+     */
+    public static void main(String... args) throws IOException, XMLStreamException {
+        for (String directory : args) {
+            int count = generate(Paths.get(directory));
+            LOG.info("Written " + count + " ECB rate snapshots to " + directory);
+        }
+    }
+
+    /**
+     * Writes the snapshots of all feeds in the given directory.
+     *
+     * @param directory the directory containing the feeds, not null.
+     * @return the number of snapshots written.
+     * @throws IOException        if a snapshot cannot be written.
+     * @throws XMLStreamException if a feed cannot be read.
+     */
+    static int generate(Path directory) throws IOException, XMLStreamException {
+        ECBRateReader reader = new ECBRateReader(CONTEXT);
+        int count = 0;
+        try (DirectoryStream<Path> feeds = Files.newDirectoryStream(directory, '*' + FEED_SUFFIX)) {
+            for (Path feed : feeds) {
+                ECBRates rates;
+                try (InputStream is = Files.newInputStream(feed)) {
+                    rates = reader.read(is);
+                }
+                Files.write(directory.resolve(toSnapshotName(feed.getFileName().toString())), rates.toSnapshot());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Evaluates the name of the snapshot of a feed.
+     *
+     * @param feedName the name or path of the feed, not null.
+     * @return the name of the snapshot, or null, if the name is not the one of a feed.
+     */
+    static String toSnapshotName(String feedName) {
+        if (!feedName.endsWith(FEED_SUFFIX)) {
+            return null;
+        }
+        return feedName.substring(0, feedName.length() - FEED_SUFFIX.length()) + SNAPSHOT_SUFFIX;
+    }
+
+}
@@ -0,0 +1,403 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.money.Monetary;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateBuilder;
+import org.javamoney.moneta.spi.DefaultNumberValue;
+
+/**
+ * Immutable, compact store of the rates published by the ECB. The factors from EUR are kept in a
+ * dense {@code double} matrix of days &times; currencies, the days as sorted epoch days, so a day is
+ * found by binary search. {@link ExchangeRate} instances are only created, when a rate is queried,
+ * and are cached afterwards.
+ */
+final class ECBRates {
+
+    /**
+     * The magic number of snapshots, "ECBR".
+     */
+    private static final int SNAPSHOT_MAGIC = 0x45434252;
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final ProviderContext context;
+
+    /**
+     * The days, as epoch days in ascending order.
+     */
+    private final int[] epochDays;
+
+    private final String[] currencyCodes;
+
+    private final Map<String, Integer> currencyIndex;
+
+    /**
+     * The factors, indexed by {@code day * currencyCodes.length + currency}, {@code NaN} if there is
+     * no rate.
+     */
+    private final double[] factors;
+
+    /**
+     * The rates created so far, with the same indices as {@link #factors}. Races are benign, as
+     * rates are immutable.
+     */
+    private final ExchangeRate[] rates;
+
+    private ECBRates(ProviderContext context, int[] epochDays, String[] currencyCodes, double[] factors) {
+        this.context = context;
+        this.epochDays = epochDays;
+        this.currencyCodes = currencyCodes;
+        this.currencyIndex = new HashMap<>();
+        for (int i = 0; i < currencyCodes.length; i++) {
+            currencyIndex.put(currencyCodes[i], i);
+        }
+        this.factors = factors;
+        this.rates = new ExchangeRate[factors.length];
+    }
+
+    /**
+     * Creates an instance without any rates.
+     *
+     * @param context the provider context, not null.
+     * @return an empty instance.
+     */
+    static ECBRates empty(ProviderContext context) {
+        return new ECBRates(context, new int[0], new String[0], new double[0]);
+    }
+
+    /**
+     * Access the number of days with rates.
+     *
+     * @return the number of days.
+     */
+    int size() {
+        return epochDays.length;
+    }
+
+    boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    /**
+     * Finds a day.
+     *
+     * @param date the date, not null.
+     * @return the index of the day, or a negative value, if there are no rates for the date.
+     */
+    int indexOf(LocalDate date) {
+        return Arrays.binarySearch(epochDays, (int) date.toEpochDay());
+    }
+
+    /**
+     * Access the most recent day.
+     *
+     * @return the index of the most recent day, or -1, if empty.
+     */
+    int latestIndex() {
+        return epochDays.length - 1;
+    }
+
+    LocalDate getDate(int dayIndex) {
+        return LocalDate.ofEpochDay(epochDays[dayIndex]);
+    }
+
+    int getCurrencyCount() {
+        return currencyCodes.length;
+    }
+
+    /**
+     * Finds a currency.
+     *
+     * @param currencyCode the currency code, not null.
+     * @return the index of the currency, or -1, if there are no rates for the currency.
+     */
+    int indexOf(String currencyCode) {
+        Integer index = currencyIndex.get(currencyCode);
+        return Objects.isNull(index) ? -1 : index;
+    }
+
+    /**
+     * Access the rate from EUR to the given currency.
+     *
+     * @param dayIndex     the index of the day.
+     * @param currencyCode the term currency code, not null.
+     * @return the rate, or null, if the ECB published no rate for the currency on that day.
+     */
+    ExchangeRate getRate(int dayIndex, String currencyCode) {
+        int currency = indexOf(currencyCode);
+        return currency < 0 ? null : getRate(dayIndex, currency);
+    }
+
+    /**
+     * Access the rate from EUR to the given currency.
+     *
+     * @param dayIndex      the index of the day.
+     * @param currencyIndex the index of the term currency.
+     * @return the rate, or null, if the ECB published no rate for the currency on that day.
+     */
+    ExchangeRate getRate(int dayIndex, int currencyIndex) {
+        int index = dayIndex * currencyCodes.length + currencyIndex;
+        ExchangeRate rate = rates[index];
+        if (Objects.isNull(rate) && !Double.isNaN(factors[index])) {
+            rate = createRate(getDate(dayIndex), currencyCodes[currencyIndex], factors[index]);
+            rates[index] = rate;
+        }
+        return rate;
+    }
+
+    private ExchangeRate createRate(LocalDate localDate, String currencyCode, double factor) {
+        RateType rateType = localDate.equals(LocalDate.now()) ? RateType.DEFERRED : RateType.HISTORIC;
+        ExchangeRateBuilder builder = new ExchangeRateBuilder(
+                ConversionContextBuilder.create(context, rateType).set(localDate).build());
+        builder.setBase(ECBAbstractRateProvider.BASE_CURRENCY);
+        builder.setTerm(Monetary.getCurrency(currencyCode));
+        builder.setFactor(DefaultNumberValue.of(BigDecimal.valueOf(factor)));
+        return builder.build();
+    }
+
+    /**
+     * Creates a new instance with the rates of this instance and the given one. Rates of the given
+     * instance replace rates of this instance for the same day and currency.
+     *
+     * @param newer the rates to be added, not null.
+     * @return a new instance, or one of the instances, if the other one is empty.
+     */
+    ECBRates merge(ECBRates newer) {
+        if (isEmpty()) {
+            return newer;
+        }
+        if (newer.isEmpty()) {
+            return this;
+        }
+        Builder builder = new Builder(newer.context);
+        builder.addAll(this);
+        builder.addAll(newer);
+        return builder.build();
+    }
+
+    /**
+     * Serializes the rates into a compact binary snapshot, which can be read by
+     * {@link #fromSnapshot(ProviderContext, ByteBuffer)}.
+     *
+     * @return the snapshot, never null.
+     */
+    byte[] toSnapshot() {
+        byte[][] codes = new byte[currencyCodes.length][];
+        int size = 4 * 4;
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = currencyCodes[i].getBytes(StandardCharsets.UTF_8);
+            size += 1 + codes[i].length;
+        }
+        size += epochDays.length * 4 + factors.length * 8;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(epochDays.length).putInt(codes.length);
+        for (byte[] code : codes) {
+            buffer.put((byte) code.length).put(code);
+        }
+        buffer.asIntBuffer().put(epochDays);
+        buffer.position(buffer.position() + epochDays.length * 4);
+        buffer.asDoubleBuffer().put(factors);
+        return buffer.array();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #toSnapshot()}.
+     *
+     * @param context  the provider context, not null.
+     * @param snapshot the snapshot, not null. Its position is not changed.
+     * @return the rates read.
+     * @throws IllegalArgumentException if the snapshot is invalid.
+     */
+    static ECBRates fromSnapshot(ProviderContext context, ByteBuffer snapshot) {
+        ByteBuffer buffer = snapshot.duplicate();
+        try {
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                throw new IllegalArgumentException("Not a rate snapshot.");
+            }
+            int dayCount = buffer.getInt();
+            int currencyCount = buffer.getInt();
+            if (dayCount < 0 || currencyCount < 0
+                    || (long) dayCount * (4 + 8L * currencyCount) > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid rate snapshot size.");
+            }
+            String[] currencyCodes = new String[currencyCount];
+            for (int i = 0; i < currencyCount; i++) {
+                byte[] code = new byte[buffer.get() & 0xFF];
+                buffer.get(code);
+                currencyCodes[i] = new String(code, StandardCharsets.UTF_8);
+            }
+            int[] epochDays = new int[dayCount];
+            buffer.asIntBuffer().get(epochDays);
+            buffer.position(buffer.position() + dayCount * 4);
+            double[] factors = new double[dayCount * currencyCount];
+            buffer.asDoubleBuffer().get(factors);
+            for (int i = 1; i < dayCount; i++) {
+                if (epochDays[i] <= epochDays[i - 1]) {
+                    throw new IllegalArgumentException("Invalid rate snapshot, days not sorted.");
+                }
+            }
+            return new ECBRates(context, epochDays, currencyCodes, factors);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated rate snapshot.", e);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #toSnapshot()} from the given location. Files are memory
+     * mapped, other locations are read as stream.
+     *
+     * @param context  the provider context, not null.
+     * @param snapshot the location of the snapshot, not null.
+     * @return the rates read.
+     * @throws IOException              if the snapshot cannot be read.
+     * @throws IllegalArgumentException if the snapshot is invalid.
+     */
+    static ECBRates fromSnapshot(ProviderContext context, URL snapshot) throws IOException {
+        if ("file".equals(snapshot.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(snapshot.toURI()), StandardOpenOption.READ)) {
+                return fromSnapshot(context, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (URISyntaxException e) {
+                // read it as stream
+            }
+        }
+        try (InputStream is = snapshot.openStream()) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) > 0) {
+                bos.write(buffer, 0, read);
+            }
+            return fromSnapshot(context, ByteBuffer.wrap(bos.toByteArray()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ECBRates [days=" + epochDays.length + ", currencies=" + Arrays.toString(currencyCodes) + ']';
+    }
+
+    /**
+     * Collects rates in the order they are read, e.g. from a feed in descending date order.
+     */
+    static final class Builder {
+
+        private final ProviderContext context;
+
+        private final Map<String, Integer> currencyIndex = new HashMap<>();
+
+        private int[] entryDays = new int[256];
+
+        private int[] entryCurrencies = new int[256];
+
+        private double[] entryFactors = new double[256];
+
+        private int size;
+
+        Builder(ProviderContext context) {
+            this.context = Objects.requireNonNull(context);
+        }
+
+        /**
+         * Adds a rate from EUR, replacing a rate added before for the same day and currency.
+         *
+         * @param date         the date, not null.
+         * @param currencyCode the term currency code, not null.
+         * @param factor       the factor.
+         * @return this builder, for chaining.
+         */
+        Builder addRate(LocalDate date, String currencyCode, double factor) {
+            return addRate((int) date.toEpochDay(), currencyCode, factor);
+        }
+
+        private Builder addRate(int epochDay, String currencyCode, double factor) {
+            Integer currency = currencyIndex.get(currencyCode);
+            if (Objects.isNull(currency)) {
+                currency = currencyIndex.size();
+                currencyIndex.put(currencyCode, currency);
+            }
+            if (size == entryDays.length) {
+                entryDays = Arrays.copyOf(entryDays, size * 2);
+                entryCurrencies = Arrays.copyOf(entryCurrencies, size * 2);
+                entryFactors = Arrays.copyOf(entryFactors, size * 2);
+            }
+            entryDays[size] = epochDay;
+            entryCurrencies[size] = currency;
+            entryFactors[size] = factor;
+            size++;
+            return this;
+        }
+
+        private void addAll(ECBRates other) {
+            int currencyCount = other.currencyCodes.length;
+            for (int day = 0; day < other.epochDays.length; day++) {
+                for (int currency = 0; currency < currencyCount; currency++) {
+                    double factor = other.factors[day * currencyCount + currency];
+                    if (!Double.isNaN(factor)) {
+                        addRate(other.epochDays[day], other.currencyCodes[currency], factor);
+                    }
+                }
+            }
+        }
+
+        ECBRates build() {
+            int[] days = Arrays.copyOf(entryDays, size);
+            Arrays.sort(days);
+            int dayCount = 0;
+            for (int i = 0; i < days.length; i++) {
+                if (i == 0 || days[i] != days[i - 1]) {
+                    days[dayCount++] = days[i];
+                }
+            }
+            days = Arrays.copyOf(days, dayCount);
+            String[] currencyCodes = new String[currencyIndex.size()];
+            for (Map.Entry<String, Integer> entry : currencyIndex.entrySet()) {
+                currencyCodes[entry.getValue()] = entry.getKey();
+            }
+            double[] factors = new double[dayCount * currencyCodes.length];
+            Arrays.fill(factors, Double.NaN);
+            for (int i = 0; i < size; i++) {
+                int day = Arrays.binarySearch(days, entryDays[i]);
+                factors[day * currencyCodes.length + entryCurrencies[i]] = entryFactors[i];
+            }
+            return new ECBRates(context, days, currencyCodes, factors);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.testng.annotations.Test;
+
+public class ECBAbstractRateProviderTest {
+
+    private static final String DATA_ID = "ECBIncrementalTestProvider";
+
+    private static final String DAILY_ID = DATA_ID + "Daily";
+
+    private static final String NINETY_DAYS_ID = DATA_ID + "90";
+
+    private static InputStream feed(String... days) {
+        StringBuilder feed = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<gesmes:Envelope xmlns:gesmes=\"http://www.gesmes.org/xml/2002-08-01\""
+                + " xmlns=\"http://www.ecb.int/vocabulary/2002-08-01/eurofxref\">"
+                + "<gesmes:subject>Reference rates</gesmes:subject><Cube>");
+        for (String day : days) {
+            feed.append("<Cube time=\"").append(day).append("\"><Cube currency=\"USD\" rate=\"1.0").append(day, 8, 10)
+                    .append("\"/></Cube>");
+        }
+        return new ByteArrayInputStream(feed.append("</Cube></gesmes:Envelope>").toString()
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ExchangeRate getRate(ECBAbstractRateProvider provider, LocalDate date) {
+        return provider.getExchangeRate(ConversionQueryBuilder.of().setBaseCurrency("EUR").setTermCurrency("USD")
+                .set(date).build());
+    }
+
+    @Test
+    public void shouldMergeNinetyDaysFeedLoadedAfterDailyFeed() {
+        ECBAbstractRateProvider provider = new IncrementalTestProvider();
+        provider.newDataLoaded(DATA_ID, feed("2017-03-02", "2017-03-01"));
+        provider.newDataLoaded(DAILY_ID, feed("2017-03-08"));
+        provider.newDataLoaded(NINETY_DAYS_ID, feed("2017-03-08", "2017-03-07", "2017-03-06", "2017-03-03",
+                "2017-03-02", "2017-03-01"));
+        for (int day : new int[]{1, 2, 3, 6, 7, 8}) {
+            ExchangeRate rate = getRate(provider, LocalDate.of(2017, 3, day));
+            assertNotNull(rate, "Missing rate of day " + day);
+            assertEquals(rate.getFactor().numberValue(BigDecimal.class).compareTo(new BigDecimal("1.00" + day)), 0);
+        }
+    }
+
+    @Test
+    public void shouldOnlyReadNewDaysOfReloadedHistory() {
+        ECBAbstractRateProvider provider = new IncrementalTestProvider();
+        provider.newDataLoaded(DATA_ID, feed("2017-03-02", "2017-03-01"));
+        provider.newDataLoaded(DAILY_ID, feed("2017-03-03"));
+        provider.newDataLoaded(DATA_ID, feed("2017-03-06", "2017-03-03", "2017-03-02"));
+        assertNotNull(getRate(provider, LocalDate.of(2017, 3, 6)));
+        assertNotNull(getRate(provider, LocalDate.of(2017, 3, 1)));
+    }
+
+    /**
+     * Provider loaded incrementally, see the test {@code javamoney.properties}, with resources not registered.
+     */
+    private static final class IncrementalTestProvider extends ECBAbstractRateProvider {
+
+        IncrementalTestProvider() {
+            super(ProviderContextBuilder.of("ECB-INCREMENTAL-TEST", RateType.HISTORIC).build());
+        }
+
+        @Override
+        protected String getDataId() {
+            return DATA_ID;
+        }
+
+        @Override
+        protected String[] getDeltaDataIds() {
+            return new String[]{NINETY_DAYS_ID, DAILY_ID};
+        }
+    }
+
+}
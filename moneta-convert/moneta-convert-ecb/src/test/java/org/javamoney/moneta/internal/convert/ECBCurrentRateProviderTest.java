@@ -18,6 +18,7 @@ package org.javamoney.moneta.internal.convert;
 import static javax.money.convert.MonetaryConversions.getExchangeRateProvider;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.math.BigDecimal;
@@ -26,7 +27,10 @@ import java.util.Objects;
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
 import javax.money.Monetary;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
 import javax.money.convert.CurrencyConversion;
+import javax.money.convert.ExchangeRate;
 import javax.money.convert.ExchangeRateProvider;
 
 import org.javamoney.moneta.Money;
@@ -56,6 +60,13 @@ public class ECBCurrentRateProviderTest {
         assertEquals(provider.getClass(), ECBCurrentRateProvider.class);
     }
 
+    @Test
+    public void shouldProvideRatesAsynchronously() {
+        ConversionQuery query = ConversionQueryBuilder.of().setBaseCurrency(EURO).setTermCurrency(DOLLAR).build();
+        ExchangeRate rate = ((ECBCurrentRateProvider) provider).getExchangeRateAsync(query).join();
+        assertEquals(rate, provider.getExchangeRate(query));
+    }
+
     @Test
     public void shouldReturnsSameDollarValue() {
         CurrencyConversion currencyConversion = provider.getCurrencyConversion(DOLLAR);
@@ -148,4 +159,17 @@ public class ECBCurrentRateProviderTest {
         assertTrue(result.getNumber().doubleValue() > 0);
 
     }
+
+    @Test
+    public void shouldReturnPrecomputedCrossRate() {
+        ExchangeRate rate = provider.getExchangeRate(DOLLAR, BRAZILIAN_REAL);
+        assertSame(provider.getExchangeRate(DOLLAR, BRAZILIAN_REAL), rate);
+        assertEquals(rate.getBaseCurrency(), DOLLAR);
+        assertEquals(rate.getCurrency(), BRAZILIAN_REAL);
+        assertEquals(rate.getExchangeRateChain().size(), 2);
+        ExchangeRate toEuro = provider.getExchangeRate(DOLLAR, EURO);
+        ExchangeRate fromEuro = provider.getExchangeRate(EURO, BRAZILIAN_REAL);
+        assertEquals(rate.getFactor().numberValue(BigDecimal.class).compareTo(toEuro.getFactor()
+                .numberValue(BigDecimal.class).multiply(fromEuro.getFactor().numberValue(BigDecimal.class))), 0);
+    }
 }
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+import javax.xml.stream.XMLStreamException;
+
+import org.testng.annotations.Test;
+
+public class ECBRateSnapshotGeneratorTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("ECB-TEST", RateType.HISTORIC).build();
+
+    private static final String FEED = "/java-money/defaults/ECB/eurofxref-hist-90d.xml";
+
+    @Test
+    public void shouldEvaluateSnapshotName() {
+        assertEquals(ECBRateSnapshotGenerator.toSnapshotName(FEED), "/java-money/defaults/ECB/eurofxref-hist-90d.bin");
+        assertNull(ECBRateSnapshotGenerator.toSnapshotName("/java-money/defaults/IMF/rms_five.xls"));
+    }
+
+    @Test
+    public void shouldWriteSnapshotsOfFeeds() throws IOException, XMLStreamException {
+        Path dir = Files.createTempDirectory("ecbSnapshots");
+        try {
+            try (InputStream is = getClass().getResourceAsStream(FEED)) {
+                Files.copy(is, dir.resolve("eurofxref-hist-90d.xml"));
+            }
+            Files.write(dir.resolve("README.txt"), new byte[]{1});
+            ECBRateSnapshotGenerator.main(dir.toString());
+            Path snapshot = dir.resolve("eurofxref-hist-90d.bin");
+            assertTrue(Files.exists(snapshot));
+
+            ECBRates expected;
+            try (InputStream is = getClass().getResourceAsStream(FEED)) {
+                expected = new ECBRateReader(CONTEXT).read(is);
+            }
+            ECBRates mapped = ECBRates.fromSnapshot(CONTEXT, snapshot.toUri().toURL());
+            assertEquals(mapped.size(), expected.size());
+            assertEquals(mapped.getCurrencyCount(), expected.getCurrencyCount());
+            int latest = mapped.latestIndex();
+            assertEquals(mapped.getDate(latest), expected.getDate(latest));
+            assertEquals(factor(mapped, latest, "USD"), factor(expected, latest, "USD"));
+            assertEquals(factor(mapped, 0, "JPY"), factor(expected, 0, "JPY"));
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static BigDecimal factor(ECBRates rates, int dayIndex, String currencyCode) {
+        return rates.getRate(dayIndex, currencyCode).getFactor().numberValue(BigDecimal.class);
+    }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+import javax.xml.stream.XMLStreamException;
+
+import org.testng.annotations.Test;
+
+public class ECBRatesTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("ECB-TEST", RateType.HISTORIC).build();
+
+    private static final String FEED = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<gesmes:Envelope xmlns:gesmes=\"http://www.gesmes.org/xml/2002-08-01\""
+            + " xmlns=\"http://www.ecb.int/vocabulary/2002-08-01/eurofxref\">"
+            + "<gesmes:subject>Reference rates</gesmes:subject><Cube>"
+            + "<Cube time=\"2017-03-02\"><Cube currency=\"USD\" rate=\"1.0540\"/><Cube currency=\"JPY\" rate=\"120.38\"/></Cube>"
+            + "<Cube time=\"2017-03-01\"><Cube currency=\"USD\" rate=\"1.0568\"/></Cube>"
+            + "</Cube></gesmes:Envelope>";
+
+    private static ECBRates read(String feed) throws XMLStreamException {
+        return new ECBRateReader(CONTEXT).read(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void shouldReadDaysInAscendingOrder() throws XMLStreamException {
+        ECBRates rates = read(FEED);
+        assertEquals(rates.size(), 2);
+        assertEquals(rates.getDate(0), LocalDate.of(2017, 3, 1));
+        assertEquals(rates.getDate(rates.latestIndex()), LocalDate.of(2017, 3, 2));
+        assertTrue(rates.indexOf(LocalDate.of(2017, 2, 28)) < 0);
+    }
+
+    @Test
+    public void shouldMaterializeRatesLazily() throws XMLStreamException {
+        ECBRates rates = read(FEED);
+        int day = rates.indexOf(LocalDate.of(2017, 3, 2));
+        ExchangeRate rate = rates.getRate(day, "JPY");
+        assertEquals(rate.getBaseCurrency().getCurrencyCode(), "EUR");
+        assertEquals(rate.getCurrency().getCurrencyCode(), "JPY");
+        assertEquals(rate.getFactor().numberValue(BigDecimal.class).compareTo(new BigDecimal("120.38")), 0);
+        assertEquals(rate.getContext().get(LocalDate.class), LocalDate.of(2017, 3, 2));
+        assertSame(rates.getRate(day, "JPY"), rate);
+        assertNull(rates.getRate(rates.indexOf(LocalDate.of(2017, 3, 1)), "JPY"));
+        assertNull(rates.getRate(day, "CHF"));
+    }
+
+    @Test
+    public void shouldMergeWithNewerRatesWinning() throws XMLStreamException {
+        ECBRates older = read(FEED);
+        ECBRates newer = read(FEED.replace("1.0540", "1.0600").replace("2017-03-01", "2017-03-03"));
+        ECBRates merged = older.merge(newer);
+        assertEquals(merged.size(), 3);
+        assertEquals(merged.getRate(merged.indexOf(LocalDate.of(2017, 3, 2)), "USD").getFactor()
+                .numberValue(BigDecimal.class).compareTo(new BigDecimal("1.06")), 0);
+        assertEquals(merged.getRate(merged.indexOf(LocalDate.of(2017, 3, 1)), "USD").getFactor()
+                .numberValue(BigDecimal.class).compareTo(new BigDecimal("1.0568")), 0);
+        assertSame(ECBRates.empty(CONTEXT).merge(older), older);
+    }
+
+    @Test
+    public void shouldReadOnlyDaysAfterGivenDate() throws XMLStreamException {
+        ECBRates rates = new ECBRateReader(CONTEXT).read(new ByteArrayInputStream(FEED.getBytes(StandardCharsets.UTF_8)),
+                LocalDate.of(2017, 3, 1));
+        assertEquals(rates.size(), 1);
+        assertEquals(rates.getDate(0), LocalDate.of(2017, 3, 2));
+        assertEquals(rates.getCurrencyCount(), 2);
+        assertTrue(new ECBRateReader(CONTEXT).read(new ByteArrayInputStream(FEED.getBytes(StandardCharsets.UTF_8)),
+                LocalDate.of(2017, 3, 2)).isEmpty());
+    }
+
+    @Test
+    public void shouldRestoreSnapshot() throws XMLStreamException {
+        ECBRates rates = read(FEED);
+        ECBRates restored = ECBRates.fromSnapshot(CONTEXT, ByteBuffer.wrap(rates.toSnapshot()).asReadOnlyBuffer());
+        assertEquals(restored.size(), 2);
+        assertEquals(restored.getDate(0), LocalDate.of(2017, 3, 1));
+        assertEquals(restored.getCurrencyCount(), 2);
+        assertEquals(restored.getRate(1, "JPY").getFactor().numberValue(BigDecimal.class)
+                .compareTo(new BigDecimal("120.38")), 0);
+        assertNull(restored.getRate(0, "JPY"));
+        assertTrue(ECBRates.fromSnapshot(CONTEXT, ByteBuffer.wrap(ECBRates.empty(CONTEXT).toSnapshot())).isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectTruncatedSnapshot() throws XMLStreamException {
+        byte[] snapshot = read(FEED).toSnapshot();
+        ECBRates.fromSnapshot(CONTEXT, ByteBuffer.wrap(snapshot, 0, snapshot.length - 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectInvalidSnapshot() {
+        ECBRates.fromSnapshot(CONTEXT, ByteBuffer.wrap(FEED.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -19,17 +19,14 @@ import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Currency;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -47,6 +44,7 @@ import org.javamoney.moneta.CurrencyUnitBuilder;
 import org.javamoney.moneta.convert.ExchangeRateBuilder;
 import org.javamoney.moneta.internal.convert.IMFRateReadingHandler.RateIMFResult;
 import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.javamoney.moneta.spi.MonetaryConfig;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
 
 abstract class IMFAbstractRateProvider extends AbstractRateProvider implements LoaderListener {
@@ -54,7 +52,11 @@ abstract class IMFAbstractRateProvider extends AbstractRateProvider implements L
 
     private static final Logger LOG = Logger.getLogger(IMFAbstractRateProvider.class.getName());
 
-    static final Comparator<ExchangeRate> COMPARATOR_EXCHANGE_BY_LOCAL_DATE = Comparator.comparing(c -> c.getContext().get(LocalDate.class));
+    /**
+     * Configuration key to use the rate of the nearest previous day with a rate, if there is no rate
+     * for a date queried.
+     */
+    private static final String NEAREST_PREVIOUS_DATE_KEY = "imf.nearestPreviousDate";
 
 	protected static final Map<String, CurrencyUnit> CURRENCIES_BY_NAME = new HashMap<>();
 
@@ -62,22 +64,30 @@ abstract class IMFAbstractRateProvider extends AbstractRateProvider implements L
             CurrencyUnitBuilder.of("SDR", CurrencyContextBuilder.of(IMFRateProvider.class.getSimpleName()).build())
                     .setDefaultFractionDigits(3).build(true);
 
-	protected Map<CurrencyUnit, List<ExchangeRate>> currencyToSdr = Collections.emptyMap();
+	protected volatile Map<CurrencyUnit, IMFRateSeries> currencyToSdr = Collections.emptyMap();
 
-	protected Map<CurrencyUnit, List<ExchangeRate>> sdrToCurrency = Collections.emptyMap();
+	protected volatile Map<CurrencyUnit, IMFRateSeries> sdrToCurrency = Collections.emptyMap();
 
     protected volatile String loadState;
 
     protected volatile CountDownLatch loadLock = new CountDownLatch(1);
 
+    /**
+     * Completed together with {@link #loadLock}, for callers not to be blocked until data is loaded.
+     */
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
 	protected final IMFRateReadingHandler handler;
 
 	private final ProviderContext context;
 
+	private final boolean nearestPreviousDate;
+
 	public IMFAbstractRateProvider(ProviderContext providerContext) {
 		super(providerContext);
 		this.context = providerContext;
 		handler = new IMFRateReadingHandler(CURRENCIES_BY_NAME, context);
+		nearestPreviousDate = Boolean.parseBoolean(MonetaryConfig.getConfig().get(NEAREST_PREVIOUS_DATE_KEY));
 	}
 
 
@@ -110,18 +120,38 @@ abstract class IMFAbstractRateProvider extends AbstractRateProvider implements L
         try {
             int oldSize = this.sdrToCurrency.size();
         	RateIMFResult result = handler.read(is);
-        	this.sdrToCurrency = result.getSdrToCurrency();
-            this.currencyToSdr = result.getCurrencyToSdr();
+        	this.sdrToCurrency = IMFRateSeries.index(result.getSdrToCurrency());
+            this.currencyToSdr = IMFRateSeries.index(result.getCurrencyToSdr());
             int newSize = this.sdrToCurrency.size();
             loadState = "Loaded " + resourceId + " exchange rates for days:" + (newSize - oldSize);
             LOG.info(loadState);
             loadLock.countDown();
+            loaded.complete(null);
         } catch (Exception e) {
             loadState = "Last Error during data load: " + e.getMessage();
             throw new IllegalArgumentException("Failed to load IMF data provided.", e);
         }
     }
 
+    /**
+     * Access an {@link ExchangeRate} asynchronously. If no data is loaded yet, the rate is evaluated
+     * by the thread completing the load, so the caller is never blocked.
+     *
+     * @param conversionQuery the conversion query, not null.
+     * @return the future rate, completed exceptionally, if no data is loaded within 30 seconds.
+     */
+    @Override
+    public CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+        Objects.requireNonNull(conversionQuery);
+        if (loaded.isDone()) {
+            return super.getExchangeRateAsync(conversionQuery);
+        }
+        // wait on a dependent future, so a timeout does not complete the shared one
+        CompletableFuture<Void> loadedInTime = completeOnTimeout(loaded.thenApply(v -> v), 30, TimeUnit.SECONDS,
+                () -> new MonetaryException("Failed to load currency conversion data: " + loadState));
+        return loadedInTime.thenApply(v -> getExchangeRate(conversionQuery));
+    }
+
     @Override
     public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
         try {
@@ -167,18 +197,21 @@ abstract class IMFAbstractRateProvider extends AbstractRateProvider implements L
         }
     }
 
-    private ExchangeRate getExchangeRate(List<ExchangeRate> rates,final LocalDate[] dates) {
+    private ExchangeRate getExchangeRate(IMFRateSeries rates, final LocalDate[] dates) {
         if (Objects.isNull(rates) ) {
             return null;
         }
         if (Objects.isNull(dates)) {
-        	return rates.stream().sorted(COMPARATOR_EXCHANGE_BY_LOCAL_DATE.reversed()).findFirst().orElseThrow(() -> new MonetaryException("There is not more recent exchange rate to  rate on IMFRateProvider."));
+        	ExchangeRate latest = rates.getLatest();
+        	if (Objects.isNull(latest)) {
+        		throw new MonetaryException("There is not more recent exchange rate to  rate on IMFRateProvider.");
+        	}
+        	return latest;
         } else {
         	for (LocalDate localDate : dates) {
-        		Predicate<ExchangeRate> filter = rate -> rate.getContext().get(LocalDate.class).equals(localDate);
-        		Optional<ExchangeRate> exchangeRateOptional = rates.stream().filter(filter).findFirst();
-        		if(exchangeRateOptional.isPresent()) {
-        			return exchangeRateOptional.get();
+        		ExchangeRate rate = nearestPreviousDate ? rates.getOnOrBefore(localDate) : rates.get(localDate);
+        		if (Objects.nonNull(rate)) {
+        			return rate;
         		}
 			}
           	String datesOnErros = Stream.of(dates).map(date -> date.format(DateTimeFormatter.ISO_LOCAL_DATE)).collect(Collectors.joining(","));
@@ -23,12 +23,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import javax.money.CurrencyUnit;
 import javax.money.convert.ConversionQuery;
 import javax.money.convert.ExchangeRate;
 import javax.money.convert.ProviderContext;
@@ -54,7 +56,7 @@ public class IMFHistoricRateProvider extends IMFAbstractRateProvider {
 	            .set("providerDescription", "Historic International Monetary Fond").set("days", 0).build();
 
 
-	private final List<YearMonth> cachedHistoric = new ArrayList<>();
+	private final Set<YearMonth> cachedHistoric = ConcurrentHashMap.newKeySet();
 	public IMFHistoricRateProvider() {
 		super(CONTEXT);
 		 LoaderService loader = Bootstrap.getService(LoaderService.class);
@@ -85,29 +87,44 @@ public class IMFHistoricRateProvider extends IMFAbstractRateProvider {
 		return super.getExchangeRate(conversionQuery);
 	}
 
-	private void loadFromRemote(Map<IMFHistoricalType, InputStream> resources) {
+	/**
+	 * Access an {@link ExchangeRate} asynchronously. The months not loaded yet are searched remotely
+	 * in the background, so the caller is never blocked.
+	 *
+	 * @param conversionQuery the conversion query, not null.
+	 * @return the future rate.
+	 */
+	@Override
+	public CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+		LocalDate[] times = getQueryDates(conversionQuery);
+		if (Objects.isNull(times)) {
+			return super.getExchangeRateAsync(conversionQuery);
+		}
+		List<CompletableFuture<Void>> searches = new ArrayList<>();
+		for (YearMonth yearMonth : Stream.of(times).map(YearMonth::from)
+				.collect(Collectors.toSet())) {
+			if (!cachedHistoric.contains(yearMonth)) {
+				searches.add(IMFRemoteSearch.INSTANCE.getResourcesAsync(yearMonth).thenAccept(resources -> {
+					loadFromRemote(resources);
+					cachedHistoric.add(yearMonth);
+				}));
+			}
+		}
+		return CompletableFuture.allOf(searches.toArray(new CompletableFuture<?>[searches.size()]))
+				.thenCompose(v -> super.getExchangeRateAsync(conversionQuery));
+	}
+
+	private synchronized void loadFromRemote(Map<IMFHistoricalType, InputStream> resources) {
 		try {
 			for(IMFHistoricalType type: resources.keySet()) {
 				RateIMFResult result = handler.read(resources.get(type));
-				combine(result.getSdrToCurrency(), this.sdrToCurrency);
-				combine(result.getCurrencyToSdr(), this.currencyToSdr);
+				this.sdrToCurrency = IMFRateSeries.merge(this.sdrToCurrency,
+						IMFRateSeries.index(result.getSdrToCurrency()));
+				this.currencyToSdr = IMFRateSeries.merge(this.currencyToSdr,
+						IMFRateSeries.index(result.getCurrencyToSdr()));
 			}
 	    } catch (Exception e) {
 	    	LOG.log(Level.SEVERE, "Error", e);
 	    }
 	}
-
-	private Map<CurrencyUnit, List<ExchangeRate>> combine(Map<CurrencyUnit, List<ExchangeRate>> source, Map<CurrencyUnit, List<ExchangeRate>> destination) {
-		for(CurrencyUnit currency: source.keySet()) {
-			destination.putIfAbsent(currency, new ArrayList<>());
-			List<ExchangeRate> rates = source.get(currency);
-			destination.merge(currency, rates, IMFHistoricRateProvider::merge);
-		}
-		return destination;
-	}
-	private static List<ExchangeRate> merge(List<ExchangeRate> ratesA, List<ExchangeRate> ratesB) {
-		ratesA.addAll(ratesB);
-		ratesA.sort(COMPARATOR_EXCHANGE_BY_LOCAL_DATE.reversed());
-		return ratesA;
-	}
 }
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.convert.ExchangeRate;
+
+/**
+ * Immutable series of the rates of one currency, indexed by date. The dates are kept as sorted
+ * epoch days, so a rate is found by binary search, without creating any objects.
+ *
+ * @since 1.2
+ */
+final class IMFRateSeries {
+
+    private static final IMFRateSeries EMPTY = new IMFRateSeries(new int[0], new ExchangeRate[0]);
+
+    /**
+     * The days, as epoch days in ascending order.
+     */
+    private final int[] epochDays;
+
+    /**
+     * The rates, with the same indices as {@link #epochDays}.
+     */
+    private final ExchangeRate[] rates;
+
+    private IMFRateSeries(int[] epochDays, ExchangeRate[] rates) {
+        this.epochDays = epochDays;
+        this.rates = rates;
+    }
+
+    /**
+     * Creates a series. If there are several rates for a day, the last one is used.
+     *
+     * @param rates the rates, not null. Each rate must have a {@link LocalDate} in its context.
+     * @return the series, never null.
+     */
+    static IMFRateSeries of(Collection<ExchangeRate> rates) {
+        if (rates.isEmpty()) {
+            return EMPTY;
+        }
+        ExchangeRate[] input = rates.toArray(new ExchangeRate[rates.size()]);
+        int[] days = new int[input.length];
+        for (int i = 0; i < input.length; i++) {
+            days[i] = toEpochDay(input[i]);
+        }
+        // object sorting is stable, so the order of the rates of the same day is kept
+        Integer[] order = new Integer[input.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(days[a], days[b]));
+        int[] epochDays = new int[input.length];
+        ExchangeRate[] series = new ExchangeRate[input.length];
+        int size = 0;
+        for (Integer index : order) {
+            if (size > 0 && epochDays[size - 1] == days[index]) {
+                series[size - 1] = input[index];
+            } else {
+                epochDays[size] = days[index];
+                series[size] = input[index];
+                size++;
+            }
+        }
+        return new IMFRateSeries(Arrays.copyOf(epochDays, size), Arrays.copyOf(series, size));
+    }
+
+    /**
+     * Indexes the rates of several currencies.
+     *
+     * @param rates the rates by currency, not null.
+     * @return the series by currency, never null.
+     */
+    static Map<CurrencyUnit, IMFRateSeries> index(Map<CurrencyUnit, List<ExchangeRate>> rates) {
+        Map<CurrencyUnit, IMFRateSeries> result = new HashMap<>(rates.size() * 2);
+        rates.forEach((currency, list) -> result.put(currency, of(list)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Merges the series of several currencies.
+     *
+     * @param older the series, not null.
+     * @param newer the series with the rates used for days contained in both, not null.
+     * @return the merged series by currency, never null.
+     */
+    static Map<CurrencyUnit, IMFRateSeries> merge(Map<CurrencyUnit, IMFRateSeries> older,
+                                                  Map<CurrencyUnit, IMFRateSeries> newer) {
+        Map<CurrencyUnit, IMFRateSeries> result = new HashMap<>(older);
+        newer.forEach((currency, series) -> result.merge(currency, series, IMFRateSeries::merge));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static int toEpochDay(ExchangeRate rate) {
+        return (int) rate.getContext().get(LocalDate.class).toEpochDay();
+    }
+
+    int size() {
+        return epochDays.length;
+    }
+
+    boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    /**
+     * Access the rate of a day.
+     *
+     * @param date the date, not null.
+     * @return the rate, or null, if there is no rate for the date.
+     */
+    ExchangeRate get(LocalDate date) {
+        int index = Arrays.binarySearch(epochDays, (int) date.toEpochDay());
+        return index < 0 ? null : rates[index];
+    }
+
+    /**
+     * Access the rate of a day, or of the nearest previous day with a rate.
+     *
+     * @param date the date, not null.
+     * @return the rate, or null, if there is no rate on or before the date.
+     */
+    ExchangeRate getOnOrBefore(LocalDate date) {
+        int index = Arrays.binarySearch(epochDays, (int) date.toEpochDay());
+        if (index < 0) {
+            // the insertion point is the index of the first later day
+            index = -index - 2;
+        }
+        return index < 0 ? null : rates[index];
+    }
+
+    /**
+     * Access the most recent rate.
+     *
+     * @return the rate, or null, if empty.
+     */
+    ExchangeRate getLatest() {
+        return rates.length == 0 ? null : rates[rates.length - 1];
+    }
+
+    /**
+     * Creates a new series with the rates of this series and the given one.
+     *
+     * @param newer the series, whose rates are used for days contained in both, not null.
+     * @return the merged series.
+     */
+    IMFRateSeries merge(IMFRateSeries newer) {
+        if (isEmpty()) {
+            return newer;
+        }
+        if (newer.isEmpty()) {
+            return this;
+        }
+        int[] days = new int[epochDays.length + newer.epochDays.length];
+        ExchangeRate[] merged = new ExchangeRate[days.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < epochDays.length || j < newer.epochDays.length) {
+            if (j == newer.epochDays.length || (i < epochDays.length && epochDays[i] < newer.epochDays[j])) {
+                days[size] = epochDays[i];
+                merged[size++] = rates[i++];
+            } else {
+                if (i < epochDays.length && epochDays[i] == newer.epochDays[j]) {
+                    i++;
+                }
+                days[size] = newer.epochDays[j];
+                merged[size++] = newer.rates[j++];
+            }
+        }
+        return new IMFRateSeries(Arrays.copyOf(days, size), Arrays.copyOf(merged, size));
+    }
+
+    @Override
+    public String toString() {
+        return "IMFRateSeries [days=" + epochDays.length + ", latest=" + getLatest() + ']';
+    }
+
+}
@@ -22,9 +22,10 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,28 +38,47 @@ public enum IMFRemoteSearch {
 
 	private final ExecutorService executor = Executors.newCachedThreadPool();
 
-	public Map<IMFHistoricalType, InputStream> getResources(YearMonth yearMonth) {
+	/**
+	 * Loads the resources of all types for the given month, without blocking the caller.
+	 *
+	 * @param yearMonth the month, not null.
+	 * @return the future resources found, never completed exceptionally.
+	 */
+	public CompletableFuture<Map<IMFHistoricalType, InputStream>> getResourcesAsync(YearMonth yearMonth) {
 		Objects.requireNonNull(yearMonth);
-
-		Map<IMFHistoricalType, InputStream> map = new EnumMap<>(IMFHistoricalType.class);
-		try {
-			List<Future<IMFRemoteSearchResult>> results = new ArrayList<>(2);
-			for (IMFHistoricalType type : IMFHistoricalType.values()) {
-				results.add(executor.submit(new IMFRemoteSearchCallable(type,
-						yearMonth)));
-			}
-
-			for (Future<IMFRemoteSearchResult> result : results) {
-				IMFRemoteSearchResult imfRemoteSearchResult = result.get();
-				if (Objects.nonNull(imfRemoteSearchResult)) {
-					map.put(imfRemoteSearchResult.getType(),
-							imfRemoteSearchResult.getStream());
+		List<CompletableFuture<IMFRemoteSearchResult>> results = new ArrayList<>(2);
+		for (IMFHistoricalType type : IMFHistoricalType.values()) {
+			IMFRemoteSearchCallable callable = new IMFRemoteSearchCallable(type, yearMonth);
+			results.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					return callable.call();
+				} catch (Exception e) {
+					throw new CompletionException(e);
 				}
-			}
-		} catch (Exception exception) {
-			LOG.log(Level.INFO, "Failed to load resource input for find resource from date " + yearMonth, exception);
+			}, executor));
 		}
-		return map;
+		return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[results.size()]))
+				.handle((done, exception) -> {
+					Map<IMFHistoricalType, InputStream> map = new EnumMap<>(IMFHistoricalType.class);
+					for (CompletableFuture<IMFRemoteSearchResult> result : results) {
+						if (result.isCompletedExceptionally()) {
+							continue;
+						}
+						IMFRemoteSearchResult imfRemoteSearchResult = result.join();
+						if (Objects.nonNull(imfRemoteSearchResult)) {
+							map.put(imfRemoteSearchResult.getType(), imfRemoteSearchResult.getStream());
+						}
+					}
+					if (Objects.nonNull(exception)) {
+						LOG.log(Level.INFO, "Failed to load resource input for find resource from date " + yearMonth,
+								exception);
+					}
+					return map;
+				});
+	}
+
+	public Map<IMFHistoricalType, InputStream> getResources(YearMonth yearMonth) {
+		return getResourcesAsync(yearMonth).join();
 	}
 
 
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.convert;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionContextBuilder;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.convert.ExchangeRateBuilder;
+import org.javamoney.moneta.spi.DefaultNumberValue;
+import org.testng.annotations.Test;
+
+public class IMFRateSeriesTest {
+
+    private static final ProviderContext CONTEXT = ProviderContextBuilder.of("IMF-TEST", RateType.HISTORIC).build();
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private static final LocalDate MONDAY = LocalDate.of(2017, 7, 24);
+
+    private static ExchangeRate rate(LocalDate date, double factor) {
+        return new ExchangeRateBuilder(ConversionContextBuilder.create(CONTEXT, RateType.HISTORIC).set(date).build())
+                .setBase(EUR).setTerm(IMFAbstractRateProvider.SDR).setFactor(DefaultNumberValue.of(factor)).build();
+    }
+
+    @Test
+    public void shouldFindRatesByDate() {
+        ExchangeRate friday = rate(MONDAY.plusDays(4), 0.83);
+        ExchangeRate monday = rate(MONDAY, 0.82);
+        ExchangeRate tuesday = rate(MONDAY.plusDays(1), 0.84);
+        IMFRateSeries series = IMFRateSeries.of(Arrays.asList(friday, monday, tuesday));
+        assertEquals(series.size(), 3);
+        assertSame(series.get(MONDAY), monday);
+        assertSame(series.get(MONDAY.plusDays(1)), tuesday);
+        assertNull(series.get(MONDAY.plusDays(2)));
+        assertSame(series.getLatest(), friday);
+    }
+
+    @Test
+    public void shouldFindNearestPreviousDate() {
+        ExchangeRate monday = rate(MONDAY, 0.82);
+        ExchangeRate friday = rate(MONDAY.plusDays(4), 0.83);
+        IMFRateSeries series = IMFRateSeries.of(Arrays.asList(monday, friday));
+        assertNull(series.getOnOrBefore(MONDAY.minusDays(1)));
+        assertSame(series.getOnOrBefore(MONDAY), monday);
+        assertSame(series.getOnOrBefore(MONDAY.plusDays(3)), monday);
+        assertSame(series.getOnOrBefore(MONDAY.plusDays(4)), friday);
+        assertSame(series.getOnOrBefore(MONDAY.plusDays(30)), friday);
+    }
+
+    @Test
+    public void shouldMergeWithNewerRatesWinning() {
+        ExchangeRate monday = rate(MONDAY, 0.82);
+        ExchangeRate tuesday = rate(MONDAY.plusDays(1), 0.84);
+        ExchangeRate newTuesday = rate(MONDAY.plusDays(1), 0.85);
+        ExchangeRate wednesday = rate(MONDAY.plusDays(2), 0.86);
+        IMFRateSeries merged = IMFRateSeries.of(Arrays.asList(monday, tuesday))
+                .merge(IMFRateSeries.of(Arrays.asList(wednesday, newTuesday)));
+        assertEquals(merged.size(), 3);
+        assertSame(merged.get(MONDAY), monday);
+        assertSame(merged.get(MONDAY.plusDays(1)), newTuesday);
+        assertSame(merged.getLatest(), wednesday);
+        assertSame(IMFRateSeries.of(Collections.emptyList()).merge(merged), merged);
+    }
+
+    @Test
+    public void shouldIndexAndMergeCurrencies() {
+        ExchangeRate monday = rate(MONDAY, 0.82);
+        ExchangeRate tuesday = rate(MONDAY.plusDays(1), 0.84);
+        Map<CurrencyUnit, List<ExchangeRate>> older = Collections.singletonMap(EUR, Collections.singletonList(monday));
+        Map<CurrencyUnit, List<ExchangeRate>> newer = Collections.singletonMap(EUR, Collections.singletonList(tuesday));
+        Map<CurrencyUnit, IMFRateSeries> merged = IMFRateSeries.merge(IMFRateSeries.index(older),
+                IMFRateSeries.index(newer));
+        assertEquals(merged.get(EUR).size(), 2);
+        assertTrue(IMFRateSeries.of(Collections.emptyList()).isEmpty());
+    }
+
+}
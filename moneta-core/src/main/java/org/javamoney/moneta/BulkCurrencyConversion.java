@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
+import javax.money.convert.ExchangeRateProvider;
+
+/**
+ * Converts columnar data, i.e. arrays of amounts in minor units (e.g. cents) of mixed currencies, into the
+ * minor units of a single term currency. The currencies are given by ids, indexing a currency table defined
+ * when the instance is created.
+ * <p>
+ * The exchange rate of each source currency is only evaluated once, the first time the currency is found in
+ * the data converted, and then reused for all further calls. Each call first collects the currencies present,
+ * and then converts with a tight loop over the primitive arrays. If all amounts are in the same currency, the
+ * {@code double} conversion is a plain multiplication by a constant, which the JIT can vectorise.
+ * <p>
+ * The minor units of a currency are derived from its default fraction digits, currencies with negative
+ * default fraction digits are treated as having none. Instances are thread-safe, as long as the arrays passed
+ * are not shared.
+ *
+ * @since 1.2
+ */
+public final class BulkCurrencyConversion {
+
+    private final CurrencyConversion conversion;
+
+    private final CurrencyUnit[] currencies;
+
+    /**
+     * The factors from minor units of a currency into minor units of the term currency, indexed by currency id,
+     * null until first used. Races are benign, as the factors are immutable.
+     */
+    private final Factor[] factors;
+
+    private BulkCurrencyConversion(CurrencyConversion conversion, CurrencyUnit[] currencies) {
+        this.conversion = Objects.requireNonNull(conversion);
+        this.currencies = currencies.clone();
+        for (CurrencyUnit currency : this.currencies) {
+            Objects.requireNonNull(currency, "Currency required.");
+        }
+        this.factors = new Factor[currencies.length];
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param conversion the conversion, defining the term currency and providing the exchange rates, not null.
+     * @param currencies the currency table, indexed by the currency ids of the data converted, not null.
+     * @return the new instance.
+     */
+    public static BulkCurrencyConversion of(CurrencyConversion conversion, CurrencyUnit... currencies) {
+        return new BulkCurrencyConversion(conversion, currencies);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param rateProvider the provider of the exchange rates, not null.
+     * @param termCurrency the term currency, not null.
+     * @param currencies   the currency table, indexed by the currency ids of the data converted, not null.
+     * @return the new instance.
+     */
+    public static BulkCurrencyConversion of(ExchangeRateProvider rateProvider, CurrencyUnit termCurrency,
+                                            CurrencyUnit... currencies) {
+        return new BulkCurrencyConversion(rateProvider.getCurrencyConversion(termCurrency), currencies);
+    }
+
+    /**
+     * Access the term currency.
+     *
+     * @return the term currency, never null.
+     */
+    public CurrencyUnit getCurrency() {
+        return conversion.getCurrency();
+    }
+
+    /**
+     * Access the currency table.
+     *
+     * @return a copy of the currency table, indexed by currency id.
+     */
+    public CurrencyUnit[] getCurrencies() {
+        return currencies.clone();
+    }
+
+    /**
+     * Converts amounts in minor units. Factors with an unscaled value fitting into a {@code long} and at most 36
+     * decimal digits, e.g. reciprocal rates evaluated with {@link java.math.MathContext#DECIMAL64}, are applied
+     * exactly with 128 bit {@code long} arithmetic, others with {@link BigDecimal}.
+     *
+     * @param minorUnits   the amounts, in minor units of their currency, not null.
+     * @param currencyIds  the currency ids of the amounts, not null.
+     * @param result       the array receiving the converted amounts, in minor units of the term currency, not
+     *                     null. It may be {@code minorUnits}.
+     * @param roundingMode the rounding mode used to round to minor units, not null.
+     * @throws CurrencyConversionException if no exchange rate is available for a currency.
+     * @throws ArithmeticException         if a converted amount exceeds the range of a {@code long}, or
+     *                                     rounding is necessary with {@link RoundingMode#UNNECESSARY}.
+     * @throws IllegalArgumentException    if the arrays differ in length or a currency id is unknown.
+     */
+    public void convert(long[] minorUnits, int[] currencyIds, long[] result, RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode);
+        checkLengths(minorUnits.length, currencyIds, result.length);
+        Factor[] used = resolveFactors(currencyIds);
+        for (int i = 0; i < minorUnits.length; i++) {
+            Factor factor = used[currencyIds[i]];
+            if (factor.longArithmetic) {
+                result[i] = LongArithmetic.multiplyDividePowerOfTen(minorUnits[i], factor.unscaled, factor.scale,
+                        roundingMode);
+            } else {
+                result[i] = BigDecimal.valueOf(minorUnits[i]).multiply(factor.exact).setScale(0, roundingMode)
+                        .longValueExact();
+            }
+        }
+    }
+
+    /**
+     * Converts amounts in minor units, using {@code double} arithmetic. The results are not rounded.
+     *
+     * @param minorUnits  the amounts, in minor units of their currency, not null.
+     * @param currencyIds the currency ids of the amounts, not null.
+     * @param result      the array receiving the converted amounts, in minor units of the term currency, not
+     *                    null. It may be {@code minorUnits}.
+     * @throws CurrencyConversionException if no exchange rate is available for a currency.
+     * @throws IllegalArgumentException    if the arrays differ in length or a currency id is unknown.
+     */
+    public void convert(double[] minorUnits, int[] currencyIds, double[] result) {
+        checkLengths(minorUnits.length, currencyIds, result.length);
+        Factor[] used = resolveFactors(currencyIds);
+        if (isSingleCurrency(currencyIds)) {
+            double factor = used[currencyIds[0]].approximate;
+            for (int i = 0; i < minorUnits.length; i++) {
+                result[i] = minorUnits[i] * factor;
+            }
+            return;
+        }
+        double[] approximate = new double[used.length];
+        for (int id = 0; id < used.length; id++) {
+            approximate[id] = Objects.isNull(used[id]) ? Double.NaN : used[id].approximate;
+        }
+        for (int i = 0; i < minorUnits.length; i++) {
+            result[i] = minorUnits[i] * approximate[currencyIds[i]];
+        }
+    }
+
+    private void checkLengths(int length, int[] currencyIds, int resultLength) {
+        if (currencyIds.length != length || resultLength != length) {
+            throw new IllegalArgumentException("Arrays must have the same length: amounts=" + length
+                    + ", currencyIds=" + currencyIds.length + ", result=" + resultLength);
+        }
+    }
+
+    private static boolean isSingleCurrency(int[] currencyIds) {
+        for (int i = 1; i < currencyIds.length; i++) {
+            if (currencyIds[i] != currencyIds[0]) {
+                return false;
+            }
+        }
+        return currencyIds.length > 0;
+    }
+
+    /**
+     * Evaluates the factors of all currencies present in the data, so the conversion loop does not need to
+     * check for missing factors.
+     *
+     * @param currencyIds the currency ids, not null.
+     * @return the factors, indexed by currency id, null for currencies not present.
+     */
+    private Factor[] resolveFactors(int[] currencyIds) {
+        Factor[] used = new Factor[factors.length];
+        for (int currencyId : currencyIds) {
+            if (currencyId < 0 || currencyId >= factors.length) {
+                throw new IllegalArgumentException("Unknown currency id: " + currencyId);
+            }
+            if (Objects.isNull(used[currencyId])) {
+                Factor factor = factors[currencyId];
+                if (Objects.isNull(factor)) {
+                    factor = evalFactor(currencies[currencyId]);
+                    factors[currencyId] = factor;
+                }
+                used[currencyId] = factor;
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Checks if amounts of a currency are converted with {@code long} arithmetic by
+     * {@link #convert(long[], int[], long[], RoundingMode)}, evaluating its factor, if not yet done.
+     *
+     * @param currencyId the currency id.
+     * @return true, if no {@link BigDecimal} is used.
+     */
+    boolean isLongArithmetic(int currencyId) {
+        return resolveFactors(new int[]{currencyId})[currencyId].longArithmetic;
+    }
+
+    private Factor evalFactor(CurrencyUnit base) {
+        BigDecimal factor = MonetaryAmountArray.evalFactor(conversion, base).scaleByPowerOfTen(
+                minorUnitDigits(getCurrency()) - minorUnitDigits(base)).stripTrailingZeros();
+        return new Factor(factor.scale() < 0 ? factor.setScale(0) : factor);
+    }
+
+    private static int minorUnitDigits(CurrencyUnit currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCurrencyConversion [conversion=" + conversion + ", currencies=" + currencies.length + ']';
+    }
+
+    /**
+     * The factor from minor units of a currency into minor units of the term currency.
+     */
+    private static final class Factor {
+
+        private final BigDecimal exact;
+
+        private final double approximate;
+
+        /**
+         * True, if the factor is applied as {@link #unscaled} and {@link #scale}, false, if it must be applied with
+         * {@link BigDecimal}.
+         */
+        private final boolean longArithmetic;
+
+        private final long unscaled;
+
+        private final int scale;
+
+        Factor(BigDecimal exact) {
+            this.exact = exact;
+            this.approximate = exact.doubleValue();
+            this.longArithmetic = exact.scale() <= LongArithmetic.MAX_POWER_OF_TEN_SCALE
+                    && exact.unscaledValue().bitLength() < 64;
+            this.unscaled = longArithmetic ? exact.unscaledValue().longValue() : 0L;
+            this.scale = exact.scale();
+        }
+    }
+
+}
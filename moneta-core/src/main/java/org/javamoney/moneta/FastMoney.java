@@ -26,6 +26,8 @@ import javax.money.format.MonetaryAmountFormat;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -75,6 +77,14 @@ import java.util.logging.Logger;
  * </p><p>
  * Basically, when mixing amount implementations, the performance of the amount, on which most of
  * the operations are operated, has the most significant impact on the overall performance behavior.
+ * </p><p>
+ * Multiplication and division are calculated exactly and rounded to the scale of this class
+ * using {@link RoundingMode#HALF_EVEN}, or the {@link RoundingMode} passed explicitly. The default
+ * can be reconfigured by adding a file {@code /javamoney.properties} to the classpath:
+ * </p>
+ * <pre>
+ * org.javamoney.moneta.FastMoney.defaults.roundingMode=HALF_UP
+ * </pre>
  *
  * @author Anatole Tresch
  * @author Werner Keil
@@ -127,6 +137,37 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
      * Minimum possible numeric value supported.
      */
     private static final BigDecimal MIN_BD = MIN_VALUE.getBigDecimal();
+    /**
+     * Maximum possible integral value supported.
+     */
+    private static final long MAX_LONG = MAX_BD.longValue();
+
+    /**
+     * The factor between a value and its internal representation, {@code 10^SCALE}.
+     */
+    private static final long SCALE_FACTOR = 100000L;
+
+    /**
+     * Marker returned by {@code toScaledLong}, if a value can not be represented exactly with
+     * {@link #SCALE} decimal digits.
+     */
+    private static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    /**
+     * Absolute limit for doubles, below which a {@code double} with at most {@link #SCALE} decimal
+     * digits can be distinguished from all other such values.
+     */
+    private static final double MAX_EXACT_DOUBLE = 1.0E10;
+
+    /**
+     * Absolute limit for integral doubles, that are converted to a {@code long}.
+     */
+    private static final double MAX_INTEGRAL_DOUBLE = 1.0E18;
+
+    /**
+     * The {@link RoundingMode} applied by multiplication and division, if none is passed explicitly.
+     */
+    static final RoundingMode DEFAULT_ROUNDING_MODE = evalDefaultRoundingMode();
 
 
     /**
@@ -284,11 +325,40 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     	return of(BigDecimal.valueOf(amountMinor, factionDigits), currency);
     }
 
+    /**
+     * Obtains an instance of {@code FastMoney} from its internal representation, which is the amount
+     * in units of {@code 10^-5}. For example, {@code ofUnscaled(USD, 1234500)} creates the instance
+     * {@code USD 12.345}.
+     * @param currency  the currency, not null
+     * @param unscaledValue the amount in units of {@code 10^-5}
+     * @return the monetary amount, never null
+     * @see #getUnscaledValue()
+     * @throws NullPointerException when the currency is null
+     * @since 1.2
+     */
+    public static FastMoney ofUnscaled(CurrencyUnit currency, long unscaledValue) {
+        return new FastMoney(unscaledValue, currency);
+    }
+
+    /**
+     * Access the internal representation of this amount, which is the amount in units of
+     * {@code 10^-5}, without creating a {@link NumberValue}.
+     * @return the unscaled value, so that {@code getNumber()} equals {@code getUnscaledValue() * 10^-5}.
+     * @see #ofUnscaled(CurrencyUnit, long)
+     * @since 1.2
+     */
+    public long getUnscaledValue() {
+        return number;
+    }
+
     @Override
     public int compareTo(MonetaryAmount o) {
         Objects.requireNonNull(o);
         int compare = getCurrency().getCurrencyCode().compareTo(o.getCurrency().getCurrencyCode());
         if (compare == 0) {
+            if (o instanceof FastMoney) {
+                return Long.compare(this.number, ((FastMoney) o).number);
+            }
             compare = getNumber().numberValue(BigDecimal.class).compareTo(o.getNumber().numberValue(BigDecimal.class));
         }
         return compare;
@@ -296,7 +366,8 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
 
     @Override
     public int hashCode() {
-        return Objects.hash(currency, number);
+        // same value as Objects.hash(currency, number), without boxing
+        return 31 * (31 + Objects.hashCode(currency)) + Long.hashCode(number);
     }
 
     @Override
@@ -306,7 +377,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
         }
         if (obj instanceof FastMoney) {
             FastMoney other = (FastMoney) obj;
-            return Objects.equals(currency, other.currency) && Objects.equals(number, other.number);
+            return this.number == other.number && Objects.equals(currency, other.currency);
         }
         return false;
     }
@@ -326,11 +397,15 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
         if (amount.isZero()) {
             return this;
         }
-        return new FastMoney(Math.addExact(this.number, getInternalNumber(amount.getNumber(), false)), getCurrency());
+        return new FastMoney(Math.addExact(this.number, getInternalNumber(amount)), getCurrency());
     }
 
     private void checkAmountParameter(MonetaryAmount amount) {
         MoneyUtils.checkAmountParameter(amount, this.currency);
+        if (amount instanceof FastMoney) {
+            // always within scale and precision, no need to create its number value
+            return;
+        }
         // numeric check for overflow...
         if (amount.getNumber().getScale() > SCALE) {
             throw new ArithmeticException("Parameter exceeds maximal scale: " + SCALE);
@@ -343,14 +418,40 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
 
     @Override
     public FastMoney divide(Number divisor) {
+        return divide(divisor, DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * Returns a {@code FastMoney} whose value is {@code this / divisor}, rounded to the scale of
+     * this class with the given {@link RoundingMode}. Integral divisors and divisors with at most
+     * five decimal digits are divided exactly with {@code long} arithmetic.
+     *
+     * @param divisor      value by which this {@code FastMoney} is to be divided, not null.
+     * @param roundingMode the rounding mode to apply, not null.
+     * @return {@code this / divisor}, rounded
+     * @throws ArithmeticException if the divisor is zero, the result exceeds the numeric capabilities
+     *                             of this class, or rounding is necessary with
+     *                             {@link RoundingMode#UNNECESSARY}.
+     * @since 1.2
+     */
+    public FastMoney divide(Number divisor, RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode, "RoundingMode is required.");
         if (NumberVerifier.isInfinityAndNotNaN(divisor)) {
             return new FastMoney(0L, getCurrency());
         }
         checkNumber(divisor);
-        if (isOne(divisor)) {
-            return this;
+        if (isIntegral(divisor)) {
+            return divide(divisor.longValue(), roundingMode);
+        }
+        if (divisor instanceof Double) {
+            return divide(divisor.doubleValue(), roundingMode);
         }
-        return new FastMoney(Math.round(this.number / divisor.doubleValue()), getCurrency());
+        BigDecimal bd = MoneyUtils.getBigDecimal(divisor);
+        long scaledDivisor = toScaledLong(bd);
+        if (scaledDivisor != NOT_REPRESENTABLE) {
+            return divideScaled(scaledDivisor, roundingMode);
+        }
+        return new FastMoney(toInternalNumber(getBigDecimal().divide(bd, SCALE, roundingMode)), getCurrency());
     }
 
     @Override
@@ -380,12 +481,42 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
 
     @Override
     public FastMoney multiply(Number multiplicand) {
-    	NumberVerifier.checkNoInfinityOrNaN(multiplicand);
+        return multiply(multiplicand, DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * Returns a {@code FastMoney} whose value is {@code this * multiplicand}, rounded to the scale of
+     * this class with the given {@link RoundingMode}. Integral factors and factors with at most five
+     * decimal digits are multiplied exactly with {@code long} arithmetic, using a 128 bit intermediate
+     * product.
+     *
+     * @param multiplicand value to be multiplied by this {@code FastMoney}, not null.
+     * @param roundingMode the rounding mode to apply, not null.
+     * @return {@code this * multiplicand}, rounded
+     * @throws ArithmeticException if the result exceeds the numeric capabilities of this class, or
+     *                             rounding is necessary with {@link RoundingMode#UNNECESSARY}.
+     * @since 1.2
+     */
+    public FastMoney multiply(Number multiplicand, RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode, "RoundingMode is required.");
+        NumberVerifier.checkNoInfinityOrNaN(multiplicand);
         checkNumber(multiplicand);
-        if (isOne(multiplicand)) {
+        if (isIntegral(multiplicand)) {
+            return multiply(multiplicand.longValue());
+        }
+        if (multiplicand instanceof Double) {
+            return multiply(multiplicand.doubleValue(), roundingMode);
+        }
+        BigDecimal bd = MoneyUtils.getBigDecimal(multiplicand);
+        long scaledMultiplicand = toScaledLong(bd);
+        if (scaledMultiplicand == SCALE_FACTOR) {
             return this;
         }
-        return new FastMoney(Math.multiplyExact(this.number, getInternalNumber(multiplicand, false)) / 100000L,
+        if (scaledMultiplicand != NOT_REPRESENTABLE) {
+            return new FastMoney(LongArithmetic.multiplyDivide(this.number, scaledMultiplicand, SCALE_FACTOR,
+                    roundingMode), getCurrency());
+        }
+        return new FastMoney(toInternalNumber(getBigDecimal().multiply(bd).setScale(SCALE, roundingMode)),
                 getCurrency());
     }
 
@@ -405,8 +536,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
         if (subtrahend.isZero()) {
             return this;
         }
-        return new FastMoney(Math.subtractExact(this.number, getInternalNumber(subtrahend.getNumber(), false)),
-                getCurrency());
+        return new FastMoney(Math.subtractExact(this.number, getInternalNumber(subtrahend)), getCurrency());
     }
 
     @Override
@@ -478,7 +608,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     @Override
     public boolean isLessThan(MonetaryAmount amount) {
         checkAmountParameter(amount);
-        return getBigDecimal().compareTo(amount.getNumber().numberValue(BigDecimal.class)) < 0;
+        return compareNumber(amount) < 0;
     }
 
     public boolean isLessThan(Number number) {
@@ -489,7 +619,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     @Override
     public boolean isLessThanOrEqualTo(MonetaryAmount amount) {
         checkAmountParameter(amount);
-        return getBigDecimal().compareTo(amount.getNumber().numberValue(BigDecimal.class)) <= 0;
+        return compareNumber(amount) <= 0;
     }
 
     public boolean isLessThanOrEqualTo(Number number) {
@@ -501,7 +631,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     @Override
     public boolean isGreaterThan(MonetaryAmount amount) {
         checkAmountParameter(amount);
-        return getBigDecimal().compareTo(amount.getNumber().numberValue(BigDecimal.class)) > 0;
+        return compareNumber(amount) > 0;
     }
 
     public boolean isGreaterThan(Number number) {
@@ -512,7 +642,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     @Override
     public boolean isGreaterThanOrEqualTo(MonetaryAmount amount) {
         checkAmountParameter(amount);
-        return getBigDecimal().compareTo(amount.getNumber().numberValue(BigDecimal.class)) >= 0;
+        return compareNumber(amount) >= 0;
     }
 
     public boolean isGreaterThanOrEqualTo(Number number) {
@@ -523,7 +653,7 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     @Override
     public boolean isEqualTo(MonetaryAmount amount) {
         checkAmountParameter(amount);
-        return getBigDecimal().compareTo(amount.getNumber().numberValue(BigDecimal.class)) == 0;
+        return compareNumber(amount) == 0;
     }
 
     public boolean hasSameNumberAs(Number number) {
@@ -563,9 +693,13 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
     protected void checkNumber(Number number) {
         Objects.requireNonNull(number, "Number is required.");
         // numeric check for overflow...
-        if (number.longValue() > MAX_BD.longValue()) {
+        if (number.longValue() > MAX_LONG) {
             throw new ArithmeticException("Value exceeds maximal value: " + MAX_BD);
         }
+        if (isIntegral(number)) {
+            // precision and scale always fit
+            return;
+        }
         BigDecimal bd = MoneyUtils.getBigDecimal(number);
         if (bd.precision() > MAX_BD.precision()) {
             throw new ArithmeticException("Precision exceeds maximal precision: " + MAX_BD.precision());
@@ -649,35 +783,241 @@ public final class FastMoney implements MonetaryAmount, Comparable<MonetaryAmoun
         return BigDecimal.valueOf(this.number).movePointLeft(SCALE);
     }
 
+    /**
+     * Evaluates the internal long representation of the given amount's number. If the amount is a
+     * {@link FastMoney} its internal number is used directly, so no {@link NumberValue} is created.
+     *
+     * @param amount the amount, already checked with {@link #checkAmountParameter(MonetaryAmount)}.
+     * @return the number of the amount, in units of {@code 10^-SCALE}.
+     */
+    private long getInternalNumber(MonetaryAmount amount) {
+        if (amount instanceof FastMoney) {
+            return ((FastMoney) amount).number;
+        }
+        return getInternalNumber(amount.getNumber(), false);
+    }
+
+    /**
+     * Compares the number of this instance with the number of the given amount. If the amount is a
+     * {@link FastMoney} the internal long values are compared, without any {@link BigDecimal} involved.
+     *
+     * @param amount the amount, already checked with {@link #checkAmountParameter(MonetaryAmount)}.
+     * @return a negative integer, zero, or a positive integer as this number is less than, equal to,
+     * or greater than the amount's number.
+     */
+    private int compareNumber(MonetaryAmount amount) {
+        if (amount instanceof FastMoney) {
+            return Long.compare(this.number, ((FastMoney) amount).number);
+        }
+        return getBigDecimal().compareTo(amount.getNumber().numberValue(BigDecimal.class));
+    }
+
     @Override
     public FastMoney multiply(double multiplicand) {
-    	NumberVerifier.checkNoInfinityOrNaN(multiplicand);
+        return multiply(multiplicand, DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * Returns a {@code FastMoney} whose value is {@code this * multiplicand}, rounded to the scale of
+     * this class with the given {@link RoundingMode}. The {@code double} is interpreted as its decimal
+     * representation (as {@link BigDecimal#valueOf(double)} does), so e.g. {@code 0.1} is exactly
+     * one tenth.
+     *
+     * @param multiplicand value to be multiplied by this {@code FastMoney}, neither NaN nor infinite.
+     * @param roundingMode the rounding mode to apply, not null.
+     * @return {@code this * multiplicand}, rounded
+     * @throws ArithmeticException if the multiplicand is NaN or infinite, the result exceeds the
+     *                             numeric capabilities of this class, or rounding is necessary with
+     *                             {@link RoundingMode#UNNECESSARY}.
+     * @since 1.2
+     */
+    public FastMoney multiply(double multiplicand, RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode, "RoundingMode is required.");
+        NumberVerifier.checkNoInfinityOrNaN(multiplicand);
         if (multiplicand == 1.0) {
             return this;
         }
         if (multiplicand == 0.0) {
             return new FastMoney(0, this.currency);
         }
-        return new FastMoney(Math.round(this.number * multiplicand), this.currency);
+        if (isIntegral(multiplicand)) {
+            return multiply((long) multiplicand);
+        }
+        long scaledMultiplicand = toScaledLong(multiplicand);
+        if (scaledMultiplicand != NOT_REPRESENTABLE) {
+            return new FastMoney(LongArithmetic.multiplyDivide(this.number, scaledMultiplicand, SCALE_FACTOR,
+                    roundingMode), this.currency);
+        }
+        return new FastMoney(toInternalNumber(getBigDecimal().multiply(BigDecimal.valueOf(multiplicand))
+                .setScale(SCALE, roundingMode)), this.currency);
     }
 
     @Override
     public FastMoney divide(long divisor) {
+        return divide(divisor, DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * Returns a {@code FastMoney} whose value is {@code this / divisor}, rounded to the scale of
+     * this class with the given {@link RoundingMode}.
+     *
+     * @param divisor      value by which this {@code FastMoney} is to be divided.
+     * @param roundingMode the rounding mode to apply, not null.
+     * @return {@code this / divisor}, rounded
+     * @throws ArithmeticException if the divisor is zero, or rounding is necessary with
+     *                             {@link RoundingMode#UNNECESSARY}.
+     * @since 1.2
+     */
+    public FastMoney divide(long divisor, RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode, "RoundingMode is required.");
         if (divisor == 1L) {
             return this;
         }
-        return new FastMoney(this.number / divisor, this.currency);
+        return new FastMoney(LongArithmetic.divide(this.number, divisor, roundingMode), this.currency);
     }
 
     @Override
     public FastMoney divide(double divisor) {
+        return divide(divisor, DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * Returns a {@code FastMoney} whose value is {@code this / divisor}, rounded to the scale of
+     * this class with the given {@link RoundingMode}. The {@code double} is interpreted as its decimal
+     * representation (as {@link BigDecimal#valueOf(double)} does). Dividing by an infinite value
+     * returns zero.
+     *
+     * @param divisor      value by which this {@code FastMoney} is to be divided, not NaN.
+     * @param roundingMode the rounding mode to apply, not null.
+     * @return {@code this / divisor}, rounded
+     * @throws ArithmeticException if the divisor is zero or NaN, the result exceeds the numeric
+     *                             capabilities of this class, or rounding is necessary with
+     *                             {@link RoundingMode#UNNECESSARY}.
+     * @since 1.2
+     */
+    public FastMoney divide(double divisor, RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode, "RoundingMode is required.");
         if (NumberVerifier.isInfinityAndNotNaN(divisor)) {
             return new FastMoney(0L, getCurrency());
         }
         if (divisor == 1.0d) {
             return this;
         }
-        return new FastMoney(Math.round(this.number / divisor), getCurrency());
+        long scaledDivisor = toScaledLong(divisor);
+        if (scaledDivisor != NOT_REPRESENTABLE) {
+            return divideScaled(scaledDivisor, roundingMode);
+        }
+        if (isIntegral(divisor)) {
+            return divide((long) divisor, roundingMode);
+        }
+        return new FastMoney(toInternalNumber(getBigDecimal().divide(BigDecimal.valueOf(divisor), SCALE,
+                roundingMode)), getCurrency());
+    }
+
+    /**
+     * Divides this amount by a divisor given in the internal representation of this class.
+     *
+     * @param scaledDivisor the divisor multiplied by {@code 10^SCALE}.
+     * @param roundingMode  the rounding mode to apply, not null.
+     * @return {@code this / divisor}, rounded
+     */
+    private FastMoney divideScaled(long scaledDivisor, RoundingMode roundingMode) {
+        if (scaledDivisor % SCALE_FACTOR == 0L) {
+            return divide(scaledDivisor / SCALE_FACTOR, roundingMode);
+        }
+        if (Math.abs(scaledDivisor) <= LongArithmetic.MAX_DIVISOR) {
+            return new FastMoney(LongArithmetic.multiplyDivide(this.number, SCALE_FACTOR, scaledDivisor,
+                    roundingMode), getCurrency());
+        }
+        return new FastMoney(toInternalNumber(getBigDecimal().divide(BigDecimal.valueOf(scaledDivisor, SCALE),
+                SCALE, roundingMode)), getCurrency());
+    }
+
+    /**
+     * Checks if the number is of an integral type, which can be used as {@code long} without any loss.
+     *
+     * @param number the number, not null.
+     * @return true, if the number is a {@link Long}, {@link Integer}, {@link Short} or {@link Byte}.
+     */
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short
+                || number instanceof Byte;
+    }
+
+    /**
+     * Checks if the double is integral and small enough to be converted to a {@code long} without
+     * any loss.
+     *
+     * @param value the value
+     * @return true, if {@code (long) value} equals the value.
+     */
+    private static boolean isIntegral(double value) {
+        return Math.abs(value) < MAX_INTEGRAL_DOUBLE && value == Math.rint(value);
+    }
+
+    /**
+     * Converts the double to the internal representation of this class, if its decimal representation
+     * has at most {@link #SCALE} decimal digits.
+     *
+     * @param value the value
+     * @return the value multiplied by {@code 10^SCALE}, or {@link #NOT_REPRESENTABLE}.
+     */
+    private static long toScaledLong(double value) {
+        if (Math.abs(value) < MAX_EXACT_DOUBLE) {
+            long scaled = Math.round(value * SCALE_FACTOR);
+            // value is the double closest to scaled / 10^SCALE
+            if (scaled / (double) SCALE_FACTOR == value) {
+                return scaled;
+            }
+        }
+        return NOT_REPRESENTABLE;
+    }
+
+    /**
+     * Converts the {@link BigDecimal} to the internal representation of this class, if it has at most
+     * {@link #SCALE} decimal digits and is small enough.
+     *
+     * @param value the value, not null.
+     * @return the value multiplied by {@code 10^SCALE}, or {@link #NOT_REPRESENTABLE}.
+     */
+    private static long toScaledLong(BigDecimal value) {
+        if (value.scale() > SCALE || value.precision() - value.scale() + SCALE > 18) {
+            return NOT_REPRESENTABLE;
+        }
+        if (value.scale() == 0) {
+            return value.longValue() * SCALE_FACTOR;
+        }
+        return value.movePointRight(SCALE).longValue();
+    }
+
+    /**
+     * Converts the {@link BigDecimal}, which must not have more than {@link #SCALE} decimal digits,
+     * to the internal representation of this class.
+     *
+     * @param value the value, not null.
+     * @return the value multiplied by {@code 10^SCALE}
+     * @throws ArithmeticException if the value exceeds the numeric capabilities of this class.
+     */
+    private static long toInternalNumber(BigDecimal value) {
+        if (value.compareTo(MIN_BD) < 0) {
+            throw new ArithmeticException("Overflow: " + value + " < " + MIN_BD);
+        } else if (value.compareTo(MAX_BD) > 0) {
+            throw new ArithmeticException("Overflow: " + value + " > " + MAX_BD);
+        }
+        return value.movePointRight(SCALE).longValueExact();
+    }
+
+    private static RoundingMode evalDefaultRoundingMode() {
+        String value = MonetaryConfig.getConfig().get("org.javamoney.moneta.FastMoney.defaults.roundingMode");
+        if (value == null) {
+            return RoundingMode.HALF_EVEN;
+        }
+        try {
+            return RoundingMode.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            LOG.warning("Invalid RoundingMode configured for FastMoney: " + value + ", using HALF_EVEN.");
+            return RoundingMode.HALF_EVEN;
+        }
     }
 
     @Override
@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import java.math.RoundingMode;
+
+/**
+ * Exact {@code long} arithmetic with explicit rounding, as used by {@link FastMoney}. Products are
+ * evaluated with a 128 bit intermediate result, so {@code a * b / c} only fails, if the final result
+ * does not fit into a {@code long}.
+ *
+ * @since 1.2
+ */
+final class LongArithmetic {
+
+    /**
+     * The maximal absolute divisor supported by {@link #multiplyDivide(long, long, long, RoundingMode)}.
+     */
+    static final long MAX_DIVISOR = 0xFFFFFFFFL;
+
+    /**
+     * The maximal scale supported by {@link #multiplyDividePowerOfTen(long, long, int, RoundingMode)}.
+     */
+    static final int MAX_POWER_OF_TEN_SCALE = 36;
+
+    private static final long LOWER_32_BITS = 0xFFFFFFFFL;
+
+    private static final long BASE = 1L << 32;
+
+    /**
+     * The maximal power of ten fitting into a {@code long}.
+     */
+    private static final int MAX_LONG_POWER_OF_TEN = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_POWER_OF_TEN + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private LongArithmetic() {
+    }
+
+    /**
+     * Returns the high 64 bits of the 128 bit product of two signed longs. This is the same as
+     * {@code Math.multiplyHigh}, which is not available on Java 8.
+     *
+     * @param x the first value
+     * @param y the second value
+     * @return the most significant 64 bits of {@code x * y}
+     */
+    static long multiplyHigh(long x, long y) {
+        // Hacker's Delight, section 8-2, signed multiply high
+        long x1 = x >> 32;
+        long x2 = x & LOWER_32_BITS;
+        long y1 = y >> 32;
+        long y2 = y & LOWER_32_BITS;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & LOWER_32_BITS;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * Divides two longs, rounding the quotient with the given {@link RoundingMode}.
+     *
+     * @param dividend     the dividend
+     * @param divisor      the divisor, not zero.
+     * @param roundingMode the rounding mode, not null.
+     * @return the rounded quotient.
+     * @throws ArithmeticException if the divisor is zero, the result overflows or rounding is
+     *                             necessary with {@link RoundingMode#UNNECESSARY}.
+     */
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        if (divisor == -1L) {
+            return Math.negateExact(dividend);
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend - quotient * divisor;
+        if (remainder == 0L) {
+            return quotient;
+        }
+        boolean negative = (dividend ^ divisor) < 0;
+        // -Long.MIN_VALUE remains Long.MIN_VALUE, which is 2^63 when treated as unsigned
+        long absDivisor = divisor < 0 ? -divisor : divisor;
+        if (isRoundingAway(negative, quotient, compareHalf(Math.abs(remainder), absDivisor), roundingMode)) {
+            return negative ? quotient - 1 : quotient + 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Evaluates {@code a * b / divisor}, rounded with the given {@link RoundingMode}. The product is
+     * calculated exactly with 128 bits, so only the final result must fit into a {@code long}.
+     *
+     * @param a            the first factor
+     * @param b            the second factor
+     * @param divisor      the divisor, not zero and with an absolute value not greater than
+     *                     {@link #MAX_DIVISOR}.
+     * @param roundingMode the rounding mode, not null.
+     * @return the rounded result.
+     * @throws ArithmeticException if the divisor is zero, the result overflows or rounding is
+     *                             necessary with {@link RoundingMode#UNNECESSARY}.
+     */
+    static long multiplyDivide(long a, long b, long divisor, RoundingMode roundingMode) {
+        if (divisor == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (divisor > MAX_DIVISOR || divisor < -MAX_DIVISOR) {
+            throw new IllegalArgumentException("Divisor exceeds " + MAX_DIVISOR + ": " + divisor);
+        }
+        long low = a * b;
+        long high = multiplyHigh(a, b);
+        if (high == (low >> 63)) {
+            // the product fits into a long
+            return divide(low, divisor, roundingMode);
+        }
+        boolean negative = (high < 0) != (divisor < 0);
+        if (high < 0) {
+            // two's complement of the 128 bit value
+            low = -low;
+            high = low == 0L ? -high : ~high;
+        }
+        long absDivisor = Math.abs(divisor);
+        // schoolbook division of the unsigned 128 bit value in 32 bit digits
+        long quotientHigh = Long.divideUnsigned(high, absDivisor);
+        long remainder = Long.remainderUnsigned(high, absDivisor);
+        long digit = (remainder << 32) | (low >>> 32);
+        long quotient = Long.divideUnsigned(digit, absDivisor) << 32;
+        remainder = Long.remainderUnsigned(digit, absDivisor);
+        digit = (remainder << 32) | (low & LOWER_32_BITS);
+        quotient |= Long.divideUnsigned(digit, absDivisor);
+        remainder = Long.remainderUnsigned(digit, absDivisor);
+        if (remainder != 0L && isRoundingAway(negative, quotient, compareHalf(remainder, absDivisor), roundingMode)) {
+            quotient++;
+            if (quotient == 0L) {
+                quotientHigh++;
+            }
+        }
+        // the unsigned quotient must be at most 2^63 - 1, or 2^63 for a negative result
+        if (quotientHigh != 0L || (quotient < 0L && !(negative && quotient == Long.MIN_VALUE))) {
+            throw new ArithmeticException("Overflow: " + a + " * " + b + " / " + divisor);
+        }
+        return negative ? -quotient : quotient;
+    }
+
+    /**
+     * Evaluates {@code a * b / 10^scale}, rounded with the given {@link RoundingMode}, e.g. to apply a decimal
+     * factor with unscaled value {@code b}. Unlike {@link #multiplyDivide(long, long, long, RoundingMode)} the
+     * divisor is not limited to 32 bits, the 128 bit product is divided by 64 bit powers of ten.
+     *
+     * @param a            the first factor
+     * @param b            the second factor
+     * @param scale        the power of ten to divide by, from 0 to {@link #MAX_POWER_OF_TEN_SCALE}.
+     * @param roundingMode the rounding mode, not null.
+     * @return the rounded result.
+     * @throws ArithmeticException if the result overflows or rounding is necessary with
+     *                             {@link RoundingMode#UNNECESSARY}.
+     */
+    static long multiplyDividePowerOfTen(long a, long b, int scale, RoundingMode roundingMode) {
+        if (scale < 0 || scale > MAX_POWER_OF_TEN_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_POWER_OF_TEN_SCALE + ": "
+                    + scale);
+        }
+        long low = a * b;
+        long high = multiplyHigh(a, b);
+        boolean negative = high < 0;
+        if (negative) {
+            // two's complement of the 128 bit value
+            low = -low;
+            high = low == 0L ? -high : ~high;
+        }
+        // divide by 10^scale in at most two steps of 64 bit divisors, keeping the remainders for rounding
+        long divisor = POWERS_OF_TEN[Math.min(scale, MAX_LONG_POWER_OF_TEN)];
+        long quotientHigh = Long.divideUnsigned(high, divisor);
+        long quotient = divideUnsigned(Long.remainderUnsigned(high, divisor), low, divisor);
+        long remainder = low - quotient * divisor;
+        int half = compareHalf(remainder, divisor);
+        if (scale > MAX_LONG_POWER_OF_TEN) {
+            long firstRemainder = remainder;
+            long firstDivisor = divisor;
+            divisor = POWERS_OF_TEN[scale - MAX_LONG_POWER_OF_TEN];
+            long dividendLow = quotient;
+            quotient = divideUnsigned(Long.remainderUnsigned(quotientHigh, divisor), dividendLow, divisor);
+            quotientHigh = Long.divideUnsigned(quotientHigh, divisor);
+            remainder = dividendLow - quotient * divisor;
+            // the total remainder is remainder * firstDivisor + firstRemainder, compare twice its value with
+            // divisor * firstDivisor, the first remainder contributing a carry, if not less than half its divisor
+            long twiceFirst = firstRemainder << 1;
+            long carry = Long.compareUnsigned(twiceFirst, firstDivisor) >= 0 ? 1L : 0L;
+            long twice = (remainder << 1) + carry;
+            half = twice != divisor ? Long.compare(twice, divisor) : (twiceFirst - carry * firstDivisor != 0L ? 1 : 0);
+            remainder |= firstRemainder;
+        }
+        if (remainder != 0L && isRoundingAway(negative, quotient, half, roundingMode)) {
+            quotient++;
+            if (quotient == 0L) {
+                quotientHigh++;
+            }
+        }
+        // the unsigned quotient must be at most 2^63 - 1, or 2^63 for a negative result
+        if (quotientHigh != 0L || (quotient < 0L && !(negative && quotient == Long.MIN_VALUE))) {
+            throw new ArithmeticException("Overflow: " + a + " * " + b + " / 10^" + scale);
+        }
+        return negative ? -quotient : quotient;
+    }
+
+    /**
+     * Divides the unsigned 128 bit value {@code high:low} by an unsigned 64 bit divisor, as in Hacker's Delight,
+     * section 9-4, {@code divlu}. The remainder is {@code low - quotient * divisor}.
+     *
+     * @param high    the most significant 64 bits of the dividend, less than the divisor when treated as unsigned.
+     * @param low     the least significant 64 bits of the dividend.
+     * @param divisor the divisor, not zero.
+     * @return the unsigned quotient.
+     */
+    private static long divideUnsigned(long high, long low, long divisor) {
+        if (high == 0L) {
+            return Long.divideUnsigned(low, divisor);
+        }
+        // normalize, so the most significant bit of the divisor is set
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << shift;
+        long vHigh = v >>> 32;
+        long vLow = v & LOWER_32_BITS;
+        long u32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+        long u10 = low << shift;
+        long u1 = u10 >>> 32;
+        long u0 = u10 & LOWER_32_BITS;
+
+        long q1 = Long.divideUnsigned(u32, vHigh);
+        long rHat = u32 - q1 * vHigh;
+        while (Long.compareUnsigned(q1, BASE) >= 0
+                || Long.compareUnsigned(q1 * vLow, (rHat << 32) + u1) > 0) {
+            q1--;
+            rHat += vHigh;
+            if (Long.compareUnsigned(rHat, BASE) >= 0) {
+                break;
+            }
+        }
+        long u21 = (u32 << 32) + u1 - q1 * v;
+
+        long q0 = Long.divideUnsigned(u21, vHigh);
+        rHat = u21 - q0 * vHigh;
+        while (Long.compareUnsigned(q0, BASE) >= 0
+                || Long.compareUnsigned(q0 * vLow, (rHat << 32) + u0) > 0) {
+            q0--;
+            rHat += vHigh;
+            if (Long.compareUnsigned(rHat, BASE) >= 0) {
+                break;
+            }
+        }
+        return (q1 << 32) + q0;
+    }
+
+    /**
+     * Compares a remainder with half of the divisor.
+     *
+     * @param remainder the remainder, treated as unsigned.
+     * @param divisor   the divisor, treated as unsigned, greater than the remainder.
+     * @return a negative value, zero or a positive value, if the remainder is less than, equal to or greater
+     * than half of the divisor.
+     */
+    private static int compareHalf(long remainder, long divisor) {
+        return Long.compareUnsigned(remainder, divisor - remainder);
+    }
+
+    /**
+     * Evaluates if a truncated, inexact quotient must be rounded away from zero.
+     *
+     * @param negative     true, if the exact quotient is negative.
+     * @param quotient     the truncated quotient, only its parity is used.
+     * @param half         the comparison of the remainder, which is not zero, with half of the divisor, as
+     *                     evaluated by {@link #compareHalf(long, long)}.
+     * @param roundingMode the rounding mode, not null.
+     * @return true, if the absolute value of the quotient must be incremented by one.
+     */
+    private static boolean isRoundingAway(boolean negative, long quotient, int half, RoundingMode roundingMode) {
+        switch (roundingMode) {
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return !negative;
+            case FLOOR:
+                return negative;
+            case HALF_UP:
+            case HALF_DOWN:
+            case HALF_EVEN:
+                if (half != 0) {
+                    return half > 0;
+                }
+                if (roundingMode == RoundingMode.HALF_UP) {
+                    return true;
+                }
+                return roundingMode == RoundingMode.HALF_EVEN && (quotient & 1L) != 0L;
+            case UNNECESSARY:
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+    }
+
+}
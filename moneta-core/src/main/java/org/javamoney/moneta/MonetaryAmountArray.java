@@ -0,0 +1,596 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
+import javax.money.convert.ExchangeRate;
+
+/**
+ * Columnar, primitive backed storage for a large number of {@link MonetaryAmount}s. Other than a
+ * {@code List<FastMoney>}, which needs an object with header, currency reference and number per
+ * element, this class stores each amount as a {@code long} in units of {@code 10^-5} (the
+ * representation used by {@link FastMoney}) and a {@code short} index into a table of the
+ * currencies used, i.e. 10 bytes per element.
+ * <p>
+ * The bulk operations {@link #sum(CurrencyUnit)}, {@link #min(CurrencyUnit)},
+ * {@link #max(CurrencyUnit)}, {@link #sort()}, {@link #filter(CurrencyUnit)},
+ * {@link #convert(CurrencyConversion)} and {@link #round(RoundingMode)} operate on the primitive
+ * arrays directly, {@link MonetaryAmount} instances are only created for results and by
+ * {@link #get(int)}. As with {@link FastMoney}, all amounts must fit into a {@code long} with a
+ * scale of 5, otherwise an {@link ArithmeticException} is thrown.
+ * <p>
+ * {@link #sort()} and {@link #round(RoundingMode)} modify this array, {@link #filter(LongPredicate)}
+ * and {@link #convert(CurrencyConversion)} return a new instance. Instances are not thread-safe.
+ *
+ * @since 1.2
+ */
+public final class MonetaryAmountArray {
+
+    /**
+     * The scale of the stored values, the same as used by {@link FastMoney}.
+     */
+    private static final int SCALE = 5;
+
+    /**
+     * The maximal number of different currencies, limited by the {@code short} index.
+     */
+    private static final int MAX_CURRENCIES = 1 << 16;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L};
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The currency table, indexed by the (unsigned) values of {@link #currencyIds}.
+     */
+    private CurrencyUnit[] currencies;
+
+    private int currencyCount;
+
+    private final Map<String, Integer> currencyIndex;
+
+    /**
+     * The values in units of {@code 10^-SCALE}.
+     */
+    private long[] values;
+
+    private short[] currencyIds;
+
+    private int size;
+
+    private MonetaryAmountArray(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        this.currencies = new CurrencyUnit[4];
+        this.currencyIndex = new HashMap<>();
+        this.values = new long[initialCapacity];
+        this.currencyIds = new short[initialCapacity];
+    }
+
+    /**
+     * Creates a new, empty instance with the same currency table as the given array.
+     *
+     * @param template        the array, whose currency table is copied.
+     * @param initialCapacity the initial number of elements, that can be added without growing.
+     */
+    private MonetaryAmountArray(MonetaryAmountArray template, int initialCapacity) {
+        this.currencies = template.currencies.clone();
+        this.currencyCount = template.currencyCount;
+        this.currencyIndex = new HashMap<>(template.currencyIndex);
+        this.values = new long[initialCapacity];
+        this.currencyIds = new short[initialCapacity];
+    }
+
+    /**
+     * Creates a new, empty instance.
+     *
+     * @param initialCapacity the initial number of elements, that can be added without growing.
+     * @return a new instance, never null.
+     */
+    public static MonetaryAmountArray of(int initialCapacity) {
+        return new MonetaryAmountArray(initialCapacity);
+    }
+
+    /**
+     * Creates a new instance containing the given amounts.
+     *
+     * @param amounts the amounts, not null.
+     * @return a new instance, never null.
+     * @throws ArithmeticException if an amount can not be represented with a scale of 5.
+     */
+    public static MonetaryAmountArray of(Iterable<? extends MonetaryAmount> amounts) {
+        MonetaryAmountArray array = new MonetaryAmountArray(DEFAULT_CAPACITY);
+        for (MonetaryAmount amount : amounts) {
+            array.add(amount);
+        }
+        return array;
+    }
+
+    /**
+     * Access the number of amounts stored.
+     *
+     * @return the number of amounts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if no amounts are stored.
+     *
+     * @return true, if this array is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends an amount.
+     *
+     * @param amount the amount, not null.
+     * @return this instance, for chaining.
+     * @throws ArithmeticException if the amount can not be represented with a scale of 5.
+     */
+    public MonetaryAmountArray add(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "Amount must not be null.");
+        return addUnscaled(amount.getCurrency(), FastMoney.from(amount).getUnscaledValue());
+    }
+
+    /**
+     * Appends an amount, given by its currency and its value in units of {@code 10^-5}.
+     *
+     * @param currency      the currency, not null.
+     * @param unscaledValue the value in units of {@code 10^-5}.
+     * @return this instance, for chaining.
+     * @see FastMoney#ofUnscaled(CurrencyUnit, long)
+     */
+    public MonetaryAmountArray addUnscaled(CurrencyUnit currency, long unscaledValue) {
+        append(intern(currency), unscaledValue);
+        return this;
+    }
+
+    /**
+     * Appends all amounts of another array, without creating {@link MonetaryAmount} instances.
+     *
+     * @param other the array to append, not null.
+     * @return this instance, for chaining.
+     */
+    public MonetaryAmountArray addAll(MonetaryAmountArray other) {
+        Objects.requireNonNull(other, "Array must not be null.");
+        int otherSize = other.size;
+        int[] ids = new int[other.currencyCount];
+        for (int id = 0; id < ids.length; id++) {
+            ids[id] = intern(other.currencies[id]);
+        }
+        if (size + otherSize > values.length) {
+            values = Arrays.copyOf(values, size + otherSize);
+            currencyIds = Arrays.copyOf(currencyIds, size + otherSize);
+        }
+        System.arraycopy(other.values, 0, values, size, otherSize);
+        for (int i = 0; i < otherSize; i++) {
+            currencyIds[size + i] = (short) ids[other.currencyIds[i] & 0xFFFF];
+        }
+        size += otherSize;
+        return this;
+    }
+
+    /**
+     * Access the amount at the given index.
+     *
+     * @param index the index.
+     * @return the amount, never null.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, size())}.
+     */
+    public FastMoney get(int index) {
+        checkIndex(index);
+        return FastMoney.ofUnscaled(currencies[currencyIds[index] & 0xFFFF], values[index]);
+    }
+
+    /**
+     * Access the currency of the amount at the given index.
+     *
+     * @param index the index.
+     * @return the currency, never null.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, size())}.
+     */
+    public CurrencyUnit getCurrency(int index) {
+        checkIndex(index);
+        return currencies[currencyIds[index] & 0xFFFF];
+    }
+
+    /**
+     * Access the value of the amount at the given index, in units of {@code 10^-5}.
+     *
+     * @param index the index.
+     * @return the unscaled value.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, size())}.
+     * @see FastMoney#getUnscaledValue()
+     */
+    public long getUnscaledValue(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Replaces the amount at the given index.
+     *
+     * @param index  the index.
+     * @param amount the amount, not null.
+     * @return this instance, for chaining.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, size())}.
+     * @throws ArithmeticException       if the amount can not be represented with a scale of 5.
+     */
+    public MonetaryAmountArray set(int index, MonetaryAmount amount) {
+        checkIndex(index);
+        Objects.requireNonNull(amount, "Amount must not be null.");
+        long value = FastMoney.from(amount).getUnscaledValue();
+        currencyIds[index] = (short) intern(amount.getCurrency());
+        values[index] = value;
+        return this;
+    }
+
+    /**
+     * Evaluates the currencies of the amounts stored, in the order of their first use.
+     *
+     * @return the currencies, never null.
+     */
+    public Set<CurrencyUnit> getCurrencies() {
+        boolean[] used = new boolean[currencyCount];
+        for (int i = 0; i < size; i++) {
+            used[currencyIds[i] & 0xFFFF] = true;
+        }
+        Set<CurrencyUnit> result = new LinkedHashSet<>();
+        for (int id = 0; id < currencyCount; id++) {
+            if (used[id]) {
+                result.add(currencies[id]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sums up all amounts with the given currency.
+     *
+     * @param currency the currency, not null.
+     * @return the sum, zero if there is no amount with the currency.
+     * @throws ArithmeticException if the sum exceeds the range of {@link FastMoney}.
+     */
+    public FastMoney sum(CurrencyUnit currency) {
+        int id = indexOf(currency);
+        long sum = 0L;
+        if (id >= 0) {
+            short currencyId = (short) id;
+            for (int i = 0; i < size; i++) {
+                if (currencyIds[i] == currencyId) {
+                    sum = Math.addExact(sum, values[i]);
+                }
+            }
+        }
+        return FastMoney.ofUnscaled(currency, sum);
+    }
+
+    /**
+     * Evaluates the smallest amount with the given currency.
+     *
+     * @param currency the currency, not null.
+     * @return the minimum, or an empty {@link Optional}, if there is no amount with the currency.
+     */
+    public Optional<FastMoney> min(CurrencyUnit currency) {
+        return extremum(currency, true);
+    }
+
+    /**
+     * Evaluates the greatest amount with the given currency.
+     *
+     * @param currency the currency, not null.
+     * @return the maximum, or an empty {@link Optional}, if there is no amount with the currency.
+     */
+    public Optional<FastMoney> max(CurrencyUnit currency) {
+        return extremum(currency, false);
+    }
+
+    private Optional<FastMoney> extremum(CurrencyUnit currency, boolean min) {
+        int id = indexOf(currency);
+        if (id < 0) {
+            return Optional.empty();
+        }
+        short currencyId = (short) id;
+        boolean found = false;
+        long result = min ? Long.MAX_VALUE : Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (currencyIds[i] == currencyId) {
+                found = true;
+                result = min ? Math.min(result, values[i]) : Math.max(result, values[i]);
+            }
+        }
+        return found ? Optional.of(FastMoney.ofUnscaled(currency, result)) : Optional.empty();
+    }
+
+    /**
+     * Sorts the amounts by currency and then by value, both ascending, the same order as
+     * {@code MonetaryFunctions.sortCurrencyUnit().thenComparing(MonetaryFunctions.sortNumber())}.
+     * The amounts are grouped by currency with a counting sort, so only the values of each currency
+     * are compared.
+     *
+     * @return this instance, for chaining.
+     */
+    public MonetaryAmountArray sort() {
+        Integer[] order = new Integer[currencyCount];
+        for (int id = 0; id < currencyCount; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, (a, b) -> currencies[a].compareTo(currencies[b]));
+        int[] offsets = new int[currencyCount];
+        for (int i = 0; i < size; i++) {
+            offsets[currencyIds[i] & 0xFFFF]++;
+        }
+        int[] starts = new int[currencyCount + 1];
+        int offset = 0;
+        for (int k = 0; k < currencyCount; k++) {
+            int id = order[k];
+            int count = offsets[id];
+            starts[k] = offset;
+            offsets[id] = offset;
+            offset += count;
+        }
+        starts[currencyCount] = size;
+        long[] sortedValues = new long[values.length];
+        short[] sortedIds = new short[currencyIds.length];
+        for (int i = 0; i < size; i++) {
+            int target = offsets[currencyIds[i] & 0xFFFF]++;
+            sortedValues[target] = values[i];
+            sortedIds[target] = currencyIds[i];
+        }
+        for (int k = 0; k < currencyCount; k++) {
+            Arrays.sort(sortedValues, starts[k], starts[k + 1]);
+        }
+        this.values = sortedValues;
+        this.currencyIds = sortedIds;
+        return this;
+    }
+
+    /**
+     * Selects the amounts with the given currency.
+     *
+     * @param currency the currency, not null.
+     * @return a new instance with the matching amounts, never null.
+     */
+    public MonetaryAmountArray filter(CurrencyUnit currency) {
+        int id = indexOf(currency);
+        MonetaryAmountArray result = new MonetaryAmountArray(this, DEFAULT_CAPACITY);
+        if (id >= 0) {
+            short currencyId = (short) id;
+            for (int i = 0; i < size; i++) {
+                if (currencyIds[i] == currencyId) {
+                    result.append(currencyId, values[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects the amounts, whose value in units of {@code 10^-5} matches the given predicate, e.g.
+     * {@code filter(v -> v > 0)} selects all positive amounts.
+     *
+     * @param unscaledValuePredicate the predicate, evaluated with the unscaled values, not null.
+     * @return a new instance with the matching amounts, never null.
+     */
+    public MonetaryAmountArray filter(LongPredicate unscaledValuePredicate) {
+        Objects.requireNonNull(unscaledValuePredicate);
+        MonetaryAmountArray result = new MonetaryAmountArray(this, DEFAULT_CAPACITY);
+        for (int i = 0; i < size; i++) {
+            if (unscaledValuePredicate.test(values[i])) {
+                result.append(currencyIds[i], values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts all amounts into the term currency of the given conversion, rounding with the default
+     * {@link RoundingMode} of {@link FastMoney}.
+     *
+     * @param conversion the conversion, not null.
+     * @return a new instance with the converted amounts, never null.
+     * @see #convert(CurrencyConversion, RoundingMode)
+     */
+    public MonetaryAmountArray convert(CurrencyConversion conversion) {
+        return convert(conversion, FastMoney.DEFAULT_ROUNDING_MODE);
+    }
+
+    /**
+     * Converts all amounts into the term currency of the given conversion. The exchange rate is only
+     * evaluated once per source currency. Factors with an unscaled value fitting into a {@code long}
+     * and at most 36 decimal digits are applied exactly with 128 bit {@code long} arithmetic, others
+     * with {@link BigDecimal}.
+     *
+     * @param conversion   the conversion, not null.
+     * @param roundingMode the rounding mode used to round the converted values to a scale of 5, not
+     *                     null.
+     * @return a new instance with the converted amounts, never null.
+     * @throws CurrencyConversionException if no exchange rate is available for a currency.
+     * @throws ArithmeticException         if a converted amount exceeds the range of {@link FastMoney}.
+     */
+    public MonetaryAmountArray convert(CurrencyConversion conversion, RoundingMode roundingMode) {
+        Objects.requireNonNull(conversion);
+        Objects.requireNonNull(roundingMode);
+        CurrencyUnit term = conversion.getCurrency();
+        MonetaryAmountArray result = new MonetaryAmountArray(values.length);
+        short termId = (short) result.intern(term);
+        BigDecimal[] factors = new BigDecimal[currencyCount];
+        long[] unscaledFactors = new long[currencyCount];
+        // the scales of the unscaled factors, or -1, if a factor must be applied with BigDecimal
+        int[] factorScales = new int[currencyCount];
+        for (int i = 0; i < size; i++) {
+            int id = currencyIds[i] & 0xFFFF;
+            if (factors[id] == null) {
+                factors[id] = evalFactor(conversion, currencies[id]);
+                BigDecimal factor = factors[id];
+                if (factor.scale() <= LongArithmetic.MAX_POWER_OF_TEN_SCALE
+                        && factor.unscaledValue().bitLength() < 64) {
+                    unscaledFactors[id] = factor.unscaledValue().longValue();
+                    factorScales[id] = factor.scale();
+                } else {
+                    factorScales[id] = -1;
+                }
+            }
+            long value;
+            if (factorScales[id] >= 0) {
+                value = LongArithmetic.multiplyDividePowerOfTen(values[i], unscaledFactors[id], factorScales[id],
+                        roundingMode);
+            } else {
+                value = BigDecimal.valueOf(values[i]).multiply(factors[id]).setScale(0, roundingMode)
+                        .longValueExact();
+            }
+            result.append(termId, value);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the factor of the rate from the given currency, with trailing zeros removed.
+     *
+     * @param conversion the conversion, not null.
+     * @param base       the base currency, not null.
+     * @return the factor, with a scale of at least 0.
+     * @throws CurrencyConversionException if no exchange rate is available.
+     */
+    static BigDecimal evalFactor(CurrencyConversion conversion, CurrencyUnit base) {
+        if (base.getCurrencyCode().equals(conversion.getCurrency().getCurrencyCode())) {
+            return BigDecimal.ONE;
+        }
+        ExchangeRate rate = conversion.getExchangeRate(FastMoney.ofUnscaled(base, POWERS_OF_TEN[SCALE]));
+        if (rate == null || !base.equals(rate.getBaseCurrency())) {
+            throw new CurrencyConversionException(base, conversion.getCurrency(), null);
+        }
+        BigDecimal factor = rate.getFactor().numberValue(BigDecimal.class).stripTrailingZeros();
+        return factor.scale() < 0 ? factor.setScale(0) : factor;
+    }
+
+    /**
+     * Rounds all amounts to the default fraction digits of their currency. Amounts of currencies
+     * with negative or more than 5 default fraction digits are not changed.
+     *
+     * @param roundingMode the rounding mode, not null.
+     * @return this instance, for chaining.
+     * @throws ArithmeticException if a rounded amount exceeds the range of {@link FastMoney}, or
+     *                             rounding is necessary with {@link RoundingMode#UNNECESSARY}.
+     */
+    public MonetaryAmountArray round(RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode);
+        long[] divisors = new long[currencyCount];
+        for (int id = 0; id < currencyCount; id++) {
+            int fractionDigits = currencies[id].getDefaultFractionDigits();
+            divisors[id] = fractionDigits >= 0 && fractionDigits < SCALE ? POWERS_OF_TEN[SCALE - fractionDigits] : 1L;
+        }
+        for (int i = 0; i < size; i++) {
+            long divisor = divisors[currencyIds[i] & 0xFFFF];
+            if (divisor != 1L) {
+                values[i] = roundValue(values[i], divisor, roundingMode);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Rounds all amounts to the given scale.
+     *
+     * @param scale        the scale, not negative. Scales of 5 or more do not change any amount.
+     * @param roundingMode the rounding mode, not null.
+     * @return this instance, for chaining.
+     * @throws ArithmeticException if a rounded amount exceeds the range of {@link FastMoney}, or
+     *                             rounding is necessary with {@link RoundingMode#UNNECESSARY}.
+     */
+    public MonetaryAmountArray round(int scale, RoundingMode roundingMode) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must not be negative: " + scale);
+        }
+        Objects.requireNonNull(roundingMode);
+        if (scale >= SCALE) {
+            return this;
+        }
+        long divisor = POWERS_OF_TEN[SCALE - scale];
+        for (int i = 0; i < size; i++) {
+            values[i] = roundValue(values[i], divisor, roundingMode);
+        }
+        return this;
+    }
+
+    private static long roundValue(long value, long divisor, RoundingMode roundingMode) {
+        return Math.multiplyExact(LongArithmetic.divide(value, divisor, roundingMode), divisor);
+    }
+
+    private void append(int currencyId, long value) {
+        if (size == values.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            values = Arrays.copyOf(values, capacity);
+            currencyIds = Arrays.copyOf(currencyIds, capacity);
+        }
+        values[size] = value;
+        currencyIds[size] = (short) currencyId;
+        size++;
+    }
+
+    private int indexOf(CurrencyUnit currency) {
+        Integer id = currencyIndex.get(Objects.requireNonNull(currency, "Currency is required.").getCurrencyCode());
+        return id == null ? -1 : id;
+    }
+
+    private int intern(CurrencyUnit currency) {
+        int id = indexOf(currency);
+        if (id >= 0) {
+            return id;
+        }
+        if (currencyCount == MAX_CURRENCIES) {
+            throw new IllegalStateException("Too many currencies, maximum is " + MAX_CURRENCIES);
+        }
+        if (currencyCount == currencies.length) {
+            currencies = Arrays.copyOf(currencies, currencyCount * 2);
+        }
+        currencies[currencyCount] = currency;
+        currencyIndex.put(currency.getCurrencyCode(), currencyCount);
+        return currencyCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MonetaryAmountArray [size=" + size + ", currencies=" + getCurrencies() + ']';
+    }
+
+}
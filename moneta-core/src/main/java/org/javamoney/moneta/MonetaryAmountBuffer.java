@@ -0,0 +1,710 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Currency;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryAmountFactory;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryException;
+import javax.money.MonetaryOperator;
+import javax.money.MonetaryQuery;
+import javax.money.NumberValue;
+
+/**
+ * Off-heap storage for {@link MonetaryAmount}s in {@link ByteBuffer}s, e.g. in a memory mapped file.
+ * Each amount is stored as a fixed-width record of {@value #RECORD_SIZE} bytes: the value in units
+ * of {@code 10^-5} (the representation used by {@link FastMoney}) as {@code long}, followed by the
+ * ISO 4217 numeric code of the currency as {@code short}, both in big-endian byte order. A record
+ * with the numeric code {@code 0} is empty. As the records do not depend on any state of the JVM,
+ * files can be written and read by different processes.
+ * <p>
+ * Files larger than 2 GB are mapped in several segments, so all indices are {@code long}s. The
+ * {@link AmountView} returned by {@link #view(long)} implements {@link MonetaryAmount} directly on a
+ * record, so large files can be aggregated without creating an amount per record, e.g.:
+ * <pre>
+ * MonetaryAmountBuffer buffer = MonetaryAmountBuffer.map(positionsFile);
+ * FastMoney total = buffer.sum(Monetary.getCurrency("EUR"));
+ * </pre>
+ * Only currencies with a unique ISO numeric code, as provided by {@link Currency}, can be stored.
+ * Reading is thread-safe, concurrent writes must be synchronized externally.
+ *
+ * @since 1.2
+ */
+public final class MonetaryAmountBuffer {
+
+    /**
+     * The size of a record in bytes.
+     */
+    public static final int RECORD_SIZE = 10;
+
+    private static final int CURRENCY_OFFSET = 8;
+
+    /**
+     * Each segment holds {@code 2^SEGMENT_SHIFT} records, which are less than 2 GB.
+     */
+    private static final int SEGMENT_SHIFT = 27;
+
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private static final long SEGMENT_RECORDS = 1L << SEGMENT_SHIFT;
+
+    private final ByteBuffer[] segments;
+
+    private final long capacity;
+
+    private MonetaryAmountBuffer(ByteBuffer[] segments, long capacity) {
+        this.segments = segments;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Allocates a new, direct buffer with the given number of empty records.
+     *
+     * @param capacity the number of records.
+     * @return a new instance, never null.
+     */
+    public static MonetaryAmountBuffer allocate(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(capacity)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect((int) (segmentRecords(capacity, i) * RECORD_SIZE));
+        }
+        return new MonetaryAmountBuffer(segments, capacity);
+    }
+
+    /**
+     * Creates an instance on the remaining bytes of the given buffer, without copying. The position
+     * and limit of the buffer are not changed, trailing bytes not forming a complete record are
+     * ignored.
+     *
+     * @param buffer the buffer, not null.
+     * @return a new instance, never null.
+     */
+    public static MonetaryAmountBuffer wrap(ByteBuffer buffer) {
+        long capacity = buffer.remaining() / RECORD_SIZE;
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(capacity)];
+        for (int i = 0; i < segments.length; i++) {
+            ByteBuffer segment = buffer.duplicate();
+            int start = buffer.position() + (int) (i * SEGMENT_RECORDS * RECORD_SIZE);
+            segment.position(start);
+            segment.limit(start + (int) (segmentRecords(capacity, i) * RECORD_SIZE));
+            segments[i] = segment.slice();
+        }
+        return new MonetaryAmountBuffer(segments, capacity);
+    }
+
+    /**
+     * Maps the given file read-only.
+     *
+     * @param file the file, not null.
+     * @return a new instance, never null.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static MonetaryAmountBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return map(channel, FileChannel.MapMode.READ_ONLY, channel.size() / RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Maps the given file for reading and writing, creating or extending it to hold the given number
+     * of records. Records added by extending the file are empty.
+     *
+     * @param file     the file, not null.
+     * @param capacity the number of records.
+     * @return a new instance, never null.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static MonetaryAmountBuffer map(Path file, long capacity) throws IOException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return map(channel, FileChannel.MapMode.READ_WRITE, capacity);
+        }
+    }
+
+    /**
+     * Maps the given number of records of a channel, starting at position zero. The mapping remains
+     * valid after the channel has been closed.
+     *
+     * @param channel  the channel, not null.
+     * @param mode     the map mode, not null.
+     * @param capacity the number of records.
+     * @return a new instance, never null.
+     * @throws IOException if the channel can not be mapped.
+     */
+    public static MonetaryAmountBuffer map(FileChannel channel, FileChannel.MapMode mode, long capacity)
+            throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(capacity)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = channel.map(mode, i * SEGMENT_RECORDS * RECORD_SIZE, segmentRecords(capacity, i) * RECORD_SIZE);
+        }
+        return new MonetaryAmountBuffer(segments, capacity);
+    }
+
+    private static int segmentCount(long capacity) {
+        return (int) ((capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    }
+
+    private static long segmentRecords(long capacity, int segment) {
+        return Math.min(SEGMENT_RECORDS, capacity - (segment * SEGMENT_RECORDS));
+    }
+
+    /**
+     * Access the number of records.
+     *
+     * @return the number of records, including empty ones.
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Checks if the record at the given index contains an amount.
+     *
+     * @param index the index.
+     * @return false, if the record is empty.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, capacity())}.
+     */
+    public boolean isSet(long index) {
+        return getCurrencyId(index) != 0;
+    }
+
+    /**
+     * Access the currency of the amount at the given index.
+     *
+     * @param index the index.
+     * @return the currency, never null.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, capacity())}.
+     * @throws MonetaryException         if the record is empty or contains an unknown currency.
+     */
+    public CurrencyUnit getCurrency(long index) {
+        return NumericCurrencies.getCurrency(getCurrencyId(index));
+    }
+
+    /**
+     * Access the value of the amount at the given index, in units of {@code 10^-5}.
+     *
+     * @param index the index.
+     * @return the unscaled value.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, capacity())}.
+     * @see FastMoney#getUnscaledValue()
+     */
+    public long getUnscaledValue(long index) {
+        return segment(index).getLong(offset(index));
+    }
+
+    /**
+     * Creates a {@link FastMoney} with the amount at the given index.
+     *
+     * @param index the index.
+     * @return the amount, never null.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, capacity())}.
+     * @throws MonetaryException         if the record is empty or contains an unknown currency.
+     */
+    public FastMoney get(long index) {
+        return FastMoney.ofUnscaled(getCurrency(index), getUnscaledValue(index));
+    }
+
+    /**
+     * Creates a view on the amount at the given index, which can be moved to other records with
+     * {@link AmountView#moveTo(long)}.
+     *
+     * @param index the index.
+     * @return a new view, never null.
+     * @throws IndexOutOfBoundsException if the index is not within {@code [0, capacity())}.
+     */
+    public AmountView view(long index) {
+        return new AmountView().moveTo(index);
+    }
+
+    /**
+     * Stores an amount at the given index.
+     *
+     * @param index  the index.
+     * @param amount the amount, not null.
+     * @return this instance, for chaining.
+     * @throws IndexOutOfBoundsException      if the index is not within {@code [0, capacity())}.
+     * @throws MonetaryException              if the currency has no unique ISO numeric code.
+     * @throws ArithmeticException            if the amount can not be represented with a scale of 5.
+     * @throws java.nio.ReadOnlyBufferException if this buffer is read-only.
+     */
+    public MonetaryAmountBuffer set(long index, MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "Amount must not be null.");
+        return setUnscaled(index, amount.getCurrency(), FastMoney.from(amount).getUnscaledValue());
+    }
+
+    /**
+     * Stores an amount, given by its currency and its value in units of {@code 10^-5}, at the given
+     * index.
+     *
+     * @param index         the index.
+     * @param currency      the currency, not null.
+     * @param unscaledValue the value in units of {@code 10^-5}.
+     * @return this instance, for chaining.
+     * @throws IndexOutOfBoundsException      if the index is not within {@code [0, capacity())}.
+     * @throws MonetaryException              if the currency has no unique ISO numeric code.
+     * @throws java.nio.ReadOnlyBufferException if this buffer is read-only.
+     */
+    public MonetaryAmountBuffer setUnscaled(long index, CurrencyUnit currency, long unscaledValue) {
+        short currencyId = NumericCurrencies.getId(currency);
+        ByteBuffer segment = segment(index);
+        int offset = offset(index);
+        segment.putLong(offset, unscaledValue);
+        segment.putShort(offset + CURRENCY_OFFSET, currencyId);
+        return this;
+    }
+
+    /**
+     * Empties the record at the given index.
+     *
+     * @param index the index.
+     * @return this instance, for chaining.
+     * @throws IndexOutOfBoundsException      if the index is not within {@code [0, capacity())}.
+     * @throws java.nio.ReadOnlyBufferException if this buffer is read-only.
+     */
+    public MonetaryAmountBuffer clear(long index) {
+        ByteBuffer segment = segment(index);
+        int offset = offset(index);
+        segment.putLong(offset, 0L);
+        segment.putShort(offset + CURRENCY_OFFSET, (short) 0);
+        return this;
+    }
+
+    /**
+     * Sums up all amounts with the given currency, reading the records in place.
+     *
+     * @param currency the currency, not null.
+     * @return the sum, zero if there is no amount with the currency.
+     * @throws ArithmeticException if the sum exceeds the range of {@link FastMoney}.
+     */
+    public FastMoney sum(CurrencyUnit currency) {
+        short currencyId = NumericCurrencies.findId(currency);
+        long sum = 0L;
+        if (currencyId != 0) {
+            for (ByteBuffer segment : segments) {
+                int limit = segment.limit();
+                for (int offset = 0; offset < limit; offset += RECORD_SIZE) {
+                    if (segment.getShort(offset + CURRENCY_OFFSET) == currencyId) {
+                        sum = Math.addExact(sum, segment.getLong(offset));
+                    }
+                }
+            }
+        }
+        return FastMoney.ofUnscaled(currency, sum);
+    }
+
+    /**
+     * Writes changes of a memory mapped file to the storage device. Does nothing for other buffers.
+     */
+    public void force() {
+        for (ByteBuffer segment : segments) {
+            if (segment instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+    }
+
+    private short getCurrencyId(long index) {
+        return segment(index).getShort(offset(index) + CURRENCY_OFFSET);
+    }
+
+    private ByteBuffer segment(long index) {
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", capacity: " + capacity);
+        }
+        return segments[(int) (index >>> SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "MonetaryAmountBuffer [capacity=" + capacity + ']';
+    }
+
+    /**
+     * A flyweight {@link MonetaryAmount} on a record of the enclosing buffer. The currency and
+     * number are read from the buffer on each access, so the view reflects changes of the record.
+     * Arithmetic operations return {@link FastMoney} instances. Comparisons with a {@link FastMoney} or
+     * another view in the same currency are evaluated on the unscaled values, without creating instances.
+     * Views are not thread-safe.
+     * <p>
+     * Views are equal, if they view the same amount, and have the hash code of the equal {@link FastMoney}.
+     * As {@link FastMoney#equals(Object)} only accepts instances of {@link FastMoney}, a view is never equal
+     * to a {@link FastMoney}. Since moving a view changes its hash code, views should not be used as keys.
+     */
+    public final class AmountView implements MonetaryAmount, Comparable<MonetaryAmount> {
+
+        private ByteBuffer segment;
+
+        private int offset;
+
+        private long index;
+
+        private AmountView() {
+        }
+
+        /**
+         * Moves this view to another record.
+         *
+         * @param index the index of the record.
+         * @return this view, for chaining.
+         * @throws IndexOutOfBoundsException if the index is not within {@code [0, capacity())}.
+         */
+        public AmountView moveTo(long index) {
+            this.segment = segment(index);
+            this.offset = offset(index);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Access the index of the record viewed.
+         *
+         * @return the index.
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Access the value of the record viewed, in units of {@code 10^-5}.
+         *
+         * @return the unscaled value.
+         */
+        public long getUnscaledValue() {
+            return segment.getLong(offset);
+        }
+
+        /**
+         * Creates a {@link FastMoney} with the amount of the record viewed.
+         *
+         * @return the amount, never null.
+         */
+        public FastMoney toFastMoney() {
+            return FastMoney.ofUnscaled(getCurrency(), getUnscaledValue());
+        }
+
+        @Override
+        public CurrencyUnit getCurrency() {
+            return NumericCurrencies.getCurrency(getCurrencyId());
+        }
+
+        private short getCurrencyId() {
+            return segment.getShort(offset + CURRENCY_OFFSET);
+        }
+
+        /**
+         * Checks if an amount can be compared on its unscaled value, without creating instances.
+         *
+         * @param amount the amount, not null.
+         * @return true, if the amount is a {@link FastMoney} or a view in the currency of this view.
+         */
+        private boolean hasSameCurrencyId(MonetaryAmount amount) {
+            if (amount instanceof AmountView) {
+                return ((AmountView) amount).getCurrencyId() == getCurrencyId();
+            }
+            return amount instanceof FastMoney && NumericCurrencies.findId(amount.getCurrency()) == getCurrencyId();
+        }
+
+        private long unscaledValueOf(MonetaryAmount amount) {
+            return amount instanceof AmountView ? ((AmountView) amount).getUnscaledValue()
+                    : ((FastMoney) amount).getUnscaledValue();
+        }
+
+        @Override
+        public MonetaryContext getContext() {
+            return FastMoney.MAX_VALUE.getContext();
+        }
+
+        @Override
+        public NumberValue getNumber() {
+            return toFastMoney().getNumber();
+        }
+
+        @Override
+        public <R> R query(MonetaryQuery<R> query) {
+            return toFastMoney().query(query);
+        }
+
+        @Override
+        public MonetaryAmount with(MonetaryOperator operator) {
+            return toFastMoney().with(operator);
+        }
+
+        @Override
+        public MonetaryAmountFactory<? extends MonetaryAmount> getFactory() {
+            return toFastMoney().getFactory();
+        }
+
+        @Override
+        public boolean isGreaterThan(MonetaryAmount amount) {
+            if (hasSameCurrencyId(amount)) {
+                return getUnscaledValue() > unscaledValueOf(amount);
+            }
+            return toFastMoney().isGreaterThan(amount);
+        }
+
+        @Override
+        public boolean isGreaterThanOrEqualTo(MonetaryAmount amount) {
+            if (hasSameCurrencyId(amount)) {
+                return getUnscaledValue() >= unscaledValueOf(amount);
+            }
+            return toFastMoney().isGreaterThanOrEqualTo(amount);
+        }
+
+        @Override
+        public boolean isLessThan(MonetaryAmount amount) {
+            if (hasSameCurrencyId(amount)) {
+                return getUnscaledValue() < unscaledValueOf(amount);
+            }
+            return toFastMoney().isLessThan(amount);
+        }
+
+        @Override
+        public boolean isLessThanOrEqualTo(MonetaryAmount amount) {
+            if (hasSameCurrencyId(amount)) {
+                return getUnscaledValue() <= unscaledValueOf(amount);
+            }
+            return toFastMoney().isLessThanOrEqualTo(amount);
+        }
+
+        @Override
+        public boolean isEqualTo(MonetaryAmount amount) {
+            if (hasSameCurrencyId(amount)) {
+                return getUnscaledValue() == unscaledValueOf(amount);
+            }
+            return toFastMoney().isEqualTo(amount);
+        }
+
+        @Override
+        public int signum() {
+            return Long.signum(getUnscaledValue());
+        }
+
+        @Override
+        public FastMoney add(MonetaryAmount amount) {
+            return toFastMoney().add(amount);
+        }
+
+        @Override
+        public FastMoney subtract(MonetaryAmount amount) {
+            return toFastMoney().subtract(amount);
+        }
+
+        @Override
+        public FastMoney multiply(long multiplicand) {
+            return toFastMoney().multiply(multiplicand);
+        }
+
+        @Override
+        public FastMoney multiply(double multiplicand) {
+            return toFastMoney().multiply(multiplicand);
+        }
+
+        @Override
+        public FastMoney multiply(Number multiplicand) {
+            return toFastMoney().multiply(multiplicand);
+        }
+
+        @Override
+        public FastMoney divide(long divisor) {
+            return toFastMoney().divide(divisor);
+        }
+
+        @Override
+        public FastMoney divide(double divisor) {
+            return toFastMoney().divide(divisor);
+        }
+
+        @Override
+        public FastMoney divide(Number divisor) {
+            return toFastMoney().divide(divisor);
+        }
+
+        @Override
+        public FastMoney remainder(long divisor) {
+            return toFastMoney().remainder(divisor);
+        }
+
+        @Override
+        public FastMoney remainder(double divisor) {
+            return toFastMoney().remainder(divisor);
+        }
+
+        @Override
+        public FastMoney remainder(Number divisor) {
+            return toFastMoney().remainder(divisor);
+        }
+
+        @Override
+        public FastMoney[] divideAndRemainder(long divisor) {
+            return toFastMoney().divideAndRemainder(divisor);
+        }
+
+        @Override
+        public FastMoney[] divideAndRemainder(double divisor) {
+            return toFastMoney().divideAndRemainder(divisor);
+        }
+
+        @Override
+        public FastMoney[] divideAndRemainder(Number divisor) {
+            return toFastMoney().divideAndRemainder(divisor);
+        }
+
+        @Override
+        public FastMoney divideToIntegralValue(long divisor) {
+            return toFastMoney().divideToIntegralValue(divisor);
+        }
+
+        @Override
+        public FastMoney divideToIntegralValue(double divisor) {
+            return toFastMoney().divideToIntegralValue(divisor);
+        }
+
+        @Override
+        public FastMoney divideToIntegralValue(Number divisor) {
+            return toFastMoney().divideToIntegralValue(divisor);
+        }
+
+        @Override
+        public FastMoney scaleByPowerOfTen(int power) {
+            return toFastMoney().scaleByPowerOfTen(power);
+        }
+
+        @Override
+        public FastMoney abs() {
+            return toFastMoney().abs();
+        }
+
+        @Override
+        public FastMoney negate() {
+            return toFastMoney().negate();
+        }
+
+        @Override
+        public FastMoney plus() {
+            return toFastMoney();
+        }
+
+        @Override
+        public FastMoney stripTrailingZeros() {
+            return toFastMoney();
+        }
+
+        @Override
+        public int compareTo(MonetaryAmount o) {
+            if (hasSameCurrencyId(o)) {
+                return Long.compare(getUnscaledValue(), unscaledValueOf(o));
+            }
+            return toFastMoney().compareTo(o);
+        }
+
+        @Override
+        public int hashCode() {
+            // same value as FastMoney.hashCode()
+            return 31 * (31 + getCurrency().hashCode()) + Long.hashCode(getUnscaledValue());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof AmountView) {
+                AmountView other = (AmountView) obj;
+                return getCurrencyId() == other.getCurrencyId() && getUnscaledValue() == other.getUnscaledValue();
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return toFastMoney().toString();
+        }
+    }
+
+    /**
+     * Maps currencies to and from their ISO 4217 numeric codes, loaded lazily on first use.
+     */
+    private static final class NumericCurrencies {
+
+        private static final CurrencyUnit[] CURRENCIES = loadCurrencies();
+
+        private static CurrencyUnit[] loadCurrencies() {
+            CurrencyUnit[] result = new CurrencyUnit[1000];
+            boolean[] ambiguous = new boolean[result.length];
+            for (Currency currency : Currency.getAvailableCurrencies()) {
+                int code = currency.getNumericCode();
+                if (code <= 0 || code >= result.length) {
+                    continue;
+                }
+                ambiguous[code] |= result[code] != null;
+                result[code] = Monetary.getCurrency(currency.getCurrencyCode());
+            }
+            for (int code = 0; code < result.length; code++) {
+                if (ambiguous[code]) {
+                    result[code] = null;
+                }
+            }
+            return result;
+        }
+
+        static CurrencyUnit getCurrency(short id) {
+            CurrencyUnit currency = id > 0 && id < CURRENCIES.length ? CURRENCIES[id] : null;
+            if (currency == null) {
+                throw new MonetaryException(id == 0 ? "Empty record." : "Unknown currency id: " + id);
+            }
+            return currency;
+        }
+
+        static short getId(CurrencyUnit currency) {
+            short id = findId(currency);
+            if (id == 0) {
+                throw new MonetaryException("Currency has no unique ISO numeric code: " + currency);
+            }
+            return id;
+        }
+
+        static short findId(CurrencyUnit currency) {
+            int code = Objects.requireNonNull(currency, "Currency is required.").getNumericCode();
+            if (code > 0 && code < CURRENCIES.length && CURRENCIES[code] != null
+                    && CURRENCIES[code].getCurrencyCode().equals(currency.getCurrencyCode())) {
+                return (short) code;
+            }
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,582 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryParseException;
+
+import org.javamoney.moneta.function.FastMoneyProducer;
+import org.javamoney.moneta.function.MonetaryAmountProducer;
+
+/**
+ * Reads amounts from large delimited (e.g. CSV) or fixed width files, with one amount per line.
+ * The bytes read are decoded in place using a {@link MonetaryAmountParser}, so no {@link String}
+ * is created per line. Amounts are either passed to an {@link UnscaledAmountConsumer} as currency
+ * and value in units of {@code 10^-5}, created using a {@link MonetaryAmountProducer}, or collected
+ * into a {@link MonetaryAmountArray}. Files are memory mapped and can be split at line boundaries,
+ * so their parts are parsed in parallel.
+ * <p>
+ * Lines are terminated by {@code \n} or {@code \r\n}, empty lines are ignored. The bytes of the
+ * currency code and the number must be ASCII, e.g. UTF-8 or ISO-8859-1 encoded. Fields of delimited
+ * files are trimmed of spaces and enclosing double quotes, quoted fields containing the delimiter
+ * are not supported. If the currency and the amount column are the same, the field must contain
+ * both, e.g. {@code EUR 25.25}.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 1.2
+ */
+public final class MonetaryAmountFileReader {
+
+    /**
+     * The scale of {@link FastMoney}.
+     */
+    private static final int FAST_MONEY_SCALE = 5;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The maximal number of bytes of a file mapped at once.
+     */
+    private static final long MAP_WINDOW = 1L << 30;
+
+    private final boolean fixedWidth;
+    private final char delimiter;
+    private final int currencyColumn;
+    private final int amountColumn;
+    private final int currencyOffset;
+    private final int currencyLength;
+    private final int amountOffset;
+    private final int amountLength;
+    private final int skippedLines;
+    private final int parallelism;
+    private final MonetaryAmountParser parser;
+
+    private MonetaryAmountFileReader(boolean fixedWidth, char delimiter, int currencyColumn, int amountColumn,
+                                     int currencyOffset, int currencyLength, int amountOffset, int amountLength,
+                                     int skippedLines, int parallelism, MonetaryAmountParser parser) {
+        this.fixedWidth = fixedWidth;
+        this.delimiter = delimiter;
+        this.currencyColumn = currencyColumn;
+        this.amountColumn = amountColumn;
+        this.currencyOffset = currencyOffset;
+        this.currencyLength = currencyLength;
+        this.amountOffset = amountOffset;
+        this.amountLength = amountLength;
+        this.skippedLines = skippedLines;
+        this.parallelism = parallelism;
+        this.parser = Objects.requireNonNull(parser);
+    }
+
+    /**
+     * Creates a reader for delimited files, such as CSV files.
+     *
+     * @param delimiter      the ASCII character separating the columns, e.g. {@code ','} or {@code ';'}.
+     * @param currencyColumn the zero based index of the column containing the currency code.
+     * @param amountColumn   the zero based index of the column containing the number.
+     * @return the new reader.
+     */
+    public static MonetaryAmountFileReader ofDelimited(char delimiter, int currencyColumn, int amountColumn) {
+        if (delimiter == 0 || delimiter > 0x7F || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character: " + (int) delimiter);
+        }
+        if (currencyColumn < 0 || amountColumn < 0) {
+            throw new IllegalArgumentException("Columns must not be negative: " + currencyColumn + ", " + amountColumn);
+        }
+        return new MonetaryAmountFileReader(false, delimiter, currencyColumn, amountColumn, 0, 0, 0, 0, 0, 1,
+                MonetaryAmountParser.of());
+    }
+
+    /**
+     * Creates a reader for fixed width files. Fields are trimmed of spaces, fields exceeding the end of
+     * a line are cut off.
+     *
+     * @param currencyOffset the index of the currency code within a line.
+     * @param currencyLength the width of the currency code field.
+     * @param amountOffset   the index of the number within a line.
+     * @param amountLength   the width of the number field.
+     * @return the new reader.
+     */
+    public static MonetaryAmountFileReader ofFixedWidth(int currencyOffset, int currencyLength, int amountOffset,
+                                                        int amountLength) {
+        if (currencyOffset < 0 || currencyLength <= 0 || amountOffset < 0 || amountLength <= 0) {
+            throw new IllegalArgumentException("Invalid fields: " + currencyOffset + '+' + currencyLength + ", "
+                    + amountOffset + '+' + amountLength);
+        }
+        return new MonetaryAmountFileReader(true, '\0', 0, 0, currencyOffset, currencyLength, amountOffset,
+                amountLength, 0, 1, MonetaryAmountParser.of());
+    }
+
+    /**
+     * Creates a reader ignoring the given number of lines at the start, e.g. a header.
+     *
+     * @param lines the number of lines to skip, not negative.
+     * @return the new reader.
+     */
+    public MonetaryAmountFileReader withSkippedLines(int lines) {
+        if (lines < 0) {
+            throw new IllegalArgumentException("Lines must not be negative: " + lines);
+        }
+        return new MonetaryAmountFileReader(fixedWidth, delimiter, currencyColumn, amountColumn, currencyOffset,
+                currencyLength, amountOffset, amountLength, lines, parallelism, parser);
+    }
+
+    /**
+     * Creates a reader splitting files into the given number of parts, which are parsed in parallel by
+     * {@link #readArray(Path)}.
+     *
+     * @param parallelism the number of parts, positive.
+     * @return the new reader.
+     */
+    public MonetaryAmountFileReader withParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        return new MonetaryAmountFileReader(fixedWidth, delimiter, currencyColumn, amountColumn, currencyOffset,
+                currencyLength, amountOffset, amountLength, skippedLines, parallelism, parser);
+    }
+
+    /**
+     * Creates a reader using the given parser, e.g. resolving a specific set of currencies.
+     *
+     * @param parser the parser, not null.
+     * @return the new reader.
+     */
+    public MonetaryAmountFileReader withParser(MonetaryAmountParser parser) {
+        return new MonetaryAmountFileReader(fixedWidth, delimiter, currencyColumn, amountColumn, currencyOffset,
+                currencyLength, amountOffset, amountLength, skippedLines, parallelism, parser);
+    }
+
+    /**
+     * Reads all amounts from a channel, passing them to the given consumer in the order read.
+     *
+     * @param channel  the channel, not null. The channel is not closed.
+     * @param consumer the consumer, not null.
+     * @return the number of amounts read.
+     * @throws IOException            if reading fails.
+     * @throws MonetaryParseException if a line can not be parsed, or its number can not be represented
+     *                                by {@link FastMoney}.
+     */
+    public long read(ReadableByteChannel channel, UnscaledAmountConsumer consumer) throws IOException {
+        Objects.requireNonNull(consumer);
+        return read(channel, new LineParser(skippedLines) {
+            @Override
+            void accept(CharSequence line, int currencyStart, int currencyEnd, int amountStart, int amountEnd) {
+                consumer.accept(parser.parseCurrency(line, currencyStart, currencyEnd - currencyStart),
+                        parser.parseUnscaled(line, amountStart, amountEnd - amountStart, FAST_MONEY_SCALE));
+            }
+        });
+    }
+
+    /**
+     * Reads all amounts from a channel, creating them with the given producer. For a
+     * {@link FastMoneyProducer} the amounts are created from their unscaled value, for other producers
+     * the number is passed as {@link java.math.BigDecimal} with the scale read.
+     *
+     * @param channel  the channel, not null. The channel is not closed.
+     * @param producer the producer, not null.
+     * @param consumer the consumer of the amounts, not null.
+     * @return the number of amounts read.
+     * @throws IOException            if reading fails.
+     * @throws MonetaryParseException if a line can not be parsed.
+     */
+    public long read(ReadableByteChannel channel, MonetaryAmountProducer producer,
+                     Consumer<? super MonetaryAmount> consumer) throws IOException {
+        Objects.requireNonNull(producer);
+        Objects.requireNonNull(consumer);
+        if (producer instanceof FastMoneyProducer) {
+            return read(channel, (currency, unscaledValue) -> consumer.accept(FastMoney.ofUnscaled(currency,
+                    unscaledValue)));
+        }
+        return read(channel, new LineParser(skippedLines) {
+            @Override
+            void accept(CharSequence line, int currencyStart, int currencyEnd, int amountStart, int amountEnd) {
+                consumer.accept(producer.create(parser.parseCurrency(line, currencyStart, currencyEnd - currencyStart),
+                        parser.parseNumber(line, amountStart, amountEnd - amountStart)));
+            }
+        });
+    }
+
+    /**
+     * Reads all amounts from a channel into a new {@link MonetaryAmountArray}.
+     *
+     * @param channel the channel, not null. The channel is not closed.
+     * @return the amounts read, never null.
+     * @throws IOException            if reading fails.
+     * @throws MonetaryParseException if a line can not be parsed, or its number can not be represented
+     *                                by {@link FastMoney}.
+     */
+    public MonetaryAmountArray readArray(ReadableByteChannel channel) throws IOException {
+        MonetaryAmountArray array = MonetaryAmountArray.of(BUFFER_SIZE);
+        read(channel, array::addUnscaled);
+        return array;
+    }
+
+    /**
+     * Reads all amounts from a memory mapped file, passing them to the given consumer in the order read.
+     *
+     * @param file     the file, not null.
+     * @param consumer the consumer, not null.
+     * @return the number of amounts read.
+     * @throws IOException            if reading fails.
+     * @throws MonetaryParseException if a line can not be parsed, or its number can not be represented
+     *                                by {@link FastMoney}.
+     */
+    public long read(Path file, UnscaledAmountConsumer consumer) throws IOException {
+        Objects.requireNonNull(consumer);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readRange(channel, 0L, channel.size(), skippedLines, consumer);
+        }
+    }
+
+    /**
+     * Reads all amounts from a memory mapped file into a new {@link MonetaryAmountArray}. If a
+     * parallelism greater than one is configured, the file is split at line boundaries and the parts are
+     * parsed in parallel; the amounts are still returned in the order of the file.
+     *
+     * @param file the file, not null.
+     * @return the amounts read, never null.
+     * @throws IOException            if reading fails.
+     * @throws MonetaryParseException if a line can not be parsed, or its number can not be represented
+     *                                by {@link FastMoney}.
+     */
+    public MonetaryAmountArray readArray(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = split(channel, channel.size(), parallelism);
+            if (bounds.length == 2) {
+                MonetaryAmountArray array = MonetaryAmountArray.of(BUFFER_SIZE);
+                readRange(channel, 0L, bounds[1], skippedLines, array::addUnscaled);
+                return array;
+            }
+            List<MonetaryAmountArray> parts;
+            try {
+                parts = IntStream.range(0, bounds.length - 1).parallel().mapToObj(i -> {
+                    MonetaryAmountArray part = MonetaryAmountArray.of(BUFFER_SIZE);
+                    try {
+                        readRange(channel, bounds[i], bounds[i + 1], i == 0 ? skippedLines : 0, part::addUnscaled);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return part;
+                }).collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            MonetaryAmountArray array = parts.get(0);
+            for (int i = 1; i < parts.size(); i++) {
+                array.addAll(parts.get(i));
+            }
+            return array;
+        }
+    }
+
+    private long read(ReadableByteChannel channel, LineParser lineParser) throws IOException {
+        Objects.requireNonNull(channel);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0L;
+        int scanned = 0;
+        while (true) {
+            boolean eof = channel.read(buffer) < 0;
+            int limit = buffer.position();
+            int lineStart = 0;
+            for (int i = scanned; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    lineParser.parse(buffer, lineStart, i, position + lineStart);
+                    lineStart = i + 1;
+                }
+            }
+            if (eof) {
+                if (lineStart < limit) {
+                    lineParser.parse(buffer, lineStart, limit, position + lineStart);
+                }
+                return lineParser.count;
+            }
+            // keep the incomplete line, growing the buffer if it is not long enough
+            position += lineStart;
+            buffer.flip();
+            buffer.position(lineStart);
+            buffer.compact();
+            scanned = buffer.position();
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+
+    private long readRange(FileChannel channel, long start, long end, int skip, UnscaledAmountConsumer consumer)
+            throws IOException {
+        LineParser lineParser = new LineParser(skip) {
+            @Override
+            void accept(CharSequence line, int currencyStart, int currencyEnd, int amountStart, int amountEnd) {
+                consumer.accept(parser.parseCurrency(line, currencyStart, currencyEnd - currencyStart),
+                        parser.parseUnscaled(line, amountStart, amountEnd - amountStart, FAST_MONEY_SCALE));
+            }
+        };
+        long position = start;
+        while (position < end) {
+            long windowEnd = Math.min(end, position + MAP_WINDOW);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowEnd - position);
+            int limit = buffer.limit();
+            int lineStart = 0;
+            for (int i = 0; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    lineParser.parse(buffer, lineStart, i, position + lineStart);
+                    lineStart = i + 1;
+                }
+            }
+            if (windowEnd == end) {
+                if (lineStart < limit) {
+                    lineParser.parse(buffer, lineStart, limit, position + lineStart);
+                }
+                break;
+            }
+            if (lineStart == 0) {
+                throw new IOException("Line exceeds " + MAP_WINDOW + " bytes at offset " + position);
+            }
+            position += lineStart;
+        }
+        return lineParser.count;
+    }
+
+    /**
+     * Splits a file into parts of about the same size, starting at line boundaries.
+     *
+     * @return the offsets of the parts, followed by the size of the file.
+     */
+    private static long[] split(FileChannel channel, long size, int parts) throws IOException {
+        int count = (int) Math.max(1L, Math.min(parts, size / BUFFER_SIZE));
+        long[] bounds = new long[count + 1];
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        for (int i = 1; i < count; i++) {
+            long position = Math.max(bounds[i - 1], size / count * i);
+            bounds[i] = size;
+            search:
+            while (position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int j = 0; j < read; j++) {
+                    if (buffer.get(j) == '\n') {
+                        bounds[i] = position + j + 1;
+                        break search;
+                    }
+                }
+                position += read;
+            }
+        }
+        bounds[count] = size;
+        return bounds;
+    }
+
+    /**
+     * Consumer of the amounts read, given by their currency and their value in units of {@code 10^-5}.
+     *
+     * @see FastMoney#ofUnscaled(CurrencyUnit, long)
+     */
+    @FunctionalInterface
+    public interface UnscaledAmountConsumer {
+
+        /**
+         * Accepts an amount.
+         *
+         * @param currency      the currency, not null.
+         * @param unscaledValue the value in units of {@code 10^-5}.
+         */
+        void accept(CurrencyUnit currency, long unscaledValue);
+    }
+
+    /**
+     * Locates the fields of the lines of a buffer, passing them to {@link #accept}. Each instance is
+     * used by a single thread.
+     */
+    private abstract class LineParser {
+
+        private final Line line = new Line();
+
+        private int skip;
+
+        long count;
+
+        LineParser(int skip) {
+            this.skip = skip;
+        }
+
+        void parse(ByteBuffer buffer, int start, int end, long offset) {
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end == start) {
+                return;
+            }
+            if (skip > 0) {
+                skip--;
+                return;
+            }
+            line.set(buffer, start, end - start);
+            try {
+                if (fixedWidth) {
+                    parseFixedWidth();
+                } else {
+                    parseDelimited();
+                }
+            } catch (MonetaryParseException | ArithmeticException e) {
+                int index = e instanceof MonetaryParseException ? ((MonetaryParseException) e).getErrorIndex() : 0;
+                throw new MonetaryParseException("Invalid amount at byte offset " + offset + ": " + e.getMessage(),
+                        line.toString(), Math.max(0, index));
+            }
+            count++;
+        }
+
+        private void parseFixedWidth() {
+            int length = line.length();
+            int currencyStart = Math.min(currencyOffset, length);
+            int currencyEnd = Math.min(currencyOffset + currencyLength, length);
+            int amountStart = Math.min(amountOffset, length);
+            int amountEnd = Math.min(amountOffset + amountLength, length);
+            while (currencyStart < currencyEnd && line.charAt(currencyStart) == ' ') {
+                currencyStart++;
+            }
+            while (currencyEnd > currencyStart && line.charAt(currencyEnd - 1) == ' ') {
+                currencyEnd--;
+            }
+            while (amountStart < amountEnd && line.charAt(amountStart) == ' ') {
+                amountStart++;
+            }
+            while (amountEnd > amountStart && line.charAt(amountEnd - 1) == ' ') {
+                amountEnd--;
+            }
+            accept(line, currencyStart, currencyEnd, amountStart, amountEnd);
+        }
+
+        private void parseDelimited() {
+            int length = line.length();
+            int column = 0;
+            int fieldStart = 0;
+            int currencyStart = -1;
+            int currencyEnd = -1;
+            int amountStart = -1;
+            int amountEnd = -1;
+            int lastColumn = Math.max(currencyColumn, amountColumn);
+            for (int i = 0; i <= length && column <= lastColumn; i++) {
+                if (i == length || line.charAt(i) == delimiter) {
+                    int start = fieldStart;
+                    int end = i;
+                    while (start < end && (line.charAt(start) == ' ' || line.charAt(start) == '"')) {
+                        start++;
+                    }
+                    while (end > start && (line.charAt(end - 1) == ' ' || line.charAt(end - 1) == '"')) {
+                        end--;
+                    }
+                    if (column == currencyColumn) {
+                        currencyStart = start;
+                        currencyEnd = end;
+                    }
+                    if (column == amountColumn) {
+                        amountStart = start;
+                        amountEnd = end;
+                    }
+                    column++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (column <= lastColumn) {
+                throw new MonetaryParseException("Column " + lastColumn + " expected.", line, length);
+            }
+            if (currencyColumn == amountColumn) {
+                // the field contains the currency and the number, separated by a space
+                int separator = currencyStart;
+                while (separator < currencyEnd && line.charAt(separator) != ' ') {
+                    separator++;
+                }
+                currencyEnd = separator;
+                amountStart = separator;
+                while (amountStart < amountEnd && line.charAt(amountStart) == ' ') {
+                    amountStart++;
+                }
+            }
+            accept(line, currencyStart, currencyEnd, amountStart, amountEnd);
+        }
+
+        abstract void accept(CharSequence line, int currencyStart, int currencyEnd, int amountStart, int amountEnd);
+    }
+
+    /**
+     * A reusable view of a line of single byte characters within a buffer.
+     */
+    private static final class Line implements CharSequence {
+
+        private ByteBuffer buffer;
+        private int start;
+        private int length;
+
+        void set(ByteBuffer buffer, int start, int length) {
+            this.buffer = buffer;
+            this.start = start;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+            }
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length || from > to) {
+                throw new IndexOutOfBoundsException("Range: " + from + '-' + to + ", length: " + length);
+            }
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + from + i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length).toString();
+        }
+    }
+
+}
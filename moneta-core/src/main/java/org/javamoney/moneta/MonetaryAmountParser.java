@@ -0,0 +1,444 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryException;
+import javax.money.format.MonetaryParseException;
+
+/**
+ * Parses amounts in the format used by {@link Money#toString()} and {@link FastMoney#toString()},
+ * e.g. {@code EUR 25.25}, in place from a region of a {@link CharSequence}. No intermediate
+ * {@link String}s or {@link BigDecimal}s are created: currency codes are resolved with a
+ * precomputed perfect hash table, and the digits are accumulated into a {@code long}, which is
+ * the internal representation of {@link FastMoney}, or the unscaled value of a {@link Money}.
+ * Numbers exceeding 18 significant digits or using an exponent are parsed with
+ * {@link BigDecimal#BigDecimal(String)}, currencies not known when the parser was created are
+ * accessed using {@link Monetary#getCurrency(String, String...)}.
+ * <p>
+ * Besides whole amounts, currency codes and numbers can be parsed separately, e.g. from the
+ * columns of a file. Instances are immutable and thread-safe.
+ *
+ * @since 1.2
+ */
+public final class MonetaryAmountParser {
+
+    /**
+     * The scale of {@link FastMoney}.
+     */
+    private static final int FAST_MONEY_SCALE = 5;
+
+    /**
+     * The maximal number of decimal digits always fitting into a {@code long}.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private final CurrencyTable currencies;
+
+    private MonetaryAmountParser(Collection<CurrencyUnit> currencies) {
+        this.currencies = CurrencyTable.of(currencies);
+    }
+
+    /**
+     * Creates a parser, resolving the currencies currently available from {@link Monetary} in
+     * constant time.
+     *
+     * @return the new parser.
+     */
+    public static MonetaryAmountParser of() {
+        return new MonetaryAmountParser(Monetary.getCurrencies());
+    }
+
+    /**
+     * Creates a parser, resolving the given currencies in constant time.
+     *
+     * @param currencies the currencies, not null.
+     * @return the new parser.
+     */
+    public static MonetaryAmountParser of(Collection<CurrencyUnit> currencies) {
+        return new MonetaryAmountParser(Objects.requireNonNull(currencies));
+    }
+
+    /**
+     * Parses a {@link FastMoney} from a text such as {@code EUR 25.25}.
+     *
+     * @param text the text, not null.
+     * @return the amount parsed.
+     * @throws MonetaryParseException if the text can not be parsed.
+     * @throws ArithmeticException    if the number exceeds the range or scale of {@link FastMoney}.
+     */
+    public FastMoney parseFastMoney(CharSequence text) {
+        return parseFastMoney(text, 0, text.length());
+    }
+
+    /**
+     * Parses a {@link FastMoney} from a region of a text, e.g. {@code EUR 25.25}.
+     *
+     * @param text   the text, not null.
+     * @param offset the index of the currency code.
+     * @param length the length of the region, trailing spaces are ignored.
+     * @return the amount parsed.
+     * @throws MonetaryParseException if the text can not be parsed.
+     * @throws ArithmeticException    if the number exceeds the range or scale of {@link FastMoney}.
+     */
+    public FastMoney parseFastMoney(CharSequence text, int offset, int length) {
+        int end = trimEnd(text, offset, length);
+        int separator = separatorIndex(text, offset, end);
+        CurrencyUnit currency = parseCurrency(text, offset, separator - offset);
+        return FastMoney.ofUnscaled(currency, parseUnscaled(text, separator + 1, end - separator - 1, FAST_MONEY_SCALE));
+    }
+
+    /**
+     * Parses a {@link Money} from a text such as {@code EUR 25.25}.
+     *
+     * @param text the text, not null.
+     * @return the amount parsed.
+     * @throws MonetaryParseException if the text can not be parsed.
+     */
+    public Money parseMoney(CharSequence text) {
+        return parseMoney(text, 0, text.length());
+    }
+
+    /**
+     * Parses a {@link Money} from a region of a text, e.g. {@code EUR 25.25}.
+     *
+     * @param text   the text, not null.
+     * @param offset the index of the currency code.
+     * @param length the length of the region, trailing spaces are ignored.
+     * @return the amount parsed.
+     * @throws MonetaryParseException if the text can not be parsed.
+     */
+    public Money parseMoney(CharSequence text, int offset, int length) {
+        int end = trimEnd(text, offset, length);
+        int separator = separatorIndex(text, offset, end);
+        CurrencyUnit currency = parseCurrency(text, offset, separator - offset);
+        return Money.of(parseNumber(text, separator + 1, end - separator - 1), currency);
+    }
+
+    /**
+     * Resolves the currency with the code contained in a region of a text.
+     *
+     * @param text   the text, not null.
+     * @param offset the index of the currency code.
+     * @param length the length of the currency code.
+     * @return the currency, never null.
+     * @throws MonetaryParseException if the currency is unknown.
+     */
+    public CurrencyUnit parseCurrency(CharSequence text, int offset, int length) {
+        checkRegion(text, offset, length);
+        if (length == 3) {
+            CurrencyUnit currency = currencies.get(text.charAt(offset), text.charAt(offset + 1),
+                    text.charAt(offset + 2));
+            if (Objects.nonNull(currency)) {
+                return currency;
+            }
+        }
+        String code = text.subSequence(offset, offset + length).toString();
+        if (length != 3) {
+            CurrencyUnit currency = currencies.get(code);
+            if (Objects.nonNull(currency)) {
+                return currency;
+            }
+        }
+        try {
+            return Monetary.getCurrency(code);
+        } catch (MonetaryException e) {
+            throw new MonetaryParseException("Unknown currency: " + code, text, offset);
+        }
+    }
+
+    /**
+     * Parses a decimal number, such as {@code -1234.56}, from a region of a text and returns it
+     * multiplied by {@code 10^scale}, e.g. {@code -123456} for a scale of {@code 2}.
+     *
+     * @param text   the text, not null.
+     * @param offset the index of the number.
+     * @param length the length of the number.
+     * @param scale  the scale of the value returned, not negative.
+     * @return the unscaled value of the number with the given scale.
+     * @throws MonetaryParseException if the text is not a number.
+     * @throws ArithmeticException    if the number has more fraction digits than {@code scale} or
+     *                                does not fit into a {@code long} with the given scale.
+     */
+    public long parseUnscaled(CharSequence text, int offset, int length, int scale) {
+        checkRegion(text, offset, length);
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must not be negative: " + scale);
+        }
+        int end = offset + length;
+        int numberScale = scaleOf(text, offset, end);
+        if (numberScale <= scale) {
+            long unscaled = unscaledOf(text, offset, end, scale - numberScale);
+            if (unscaled != Long.MIN_VALUE) {
+                return unscaled;
+            }
+        }
+        BigDecimal number = parseBigDecimal(text, offset, end);
+        try {
+            return number.setScale(scale).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException(number + " can not be represented with a long and scale " + scale);
+        }
+    }
+
+    /**
+     * Parses a decimal number, such as {@code -1234.56}, from a region of a text.
+     *
+     * @param text   the text, not null.
+     * @param offset the index of the number.
+     * @param length the length of the number.
+     * @return the number, with the scale given by the fraction digits of the text.
+     * @throws MonetaryParseException if the text is not a number.
+     */
+    public BigDecimal parseNumber(CharSequence text, int offset, int length) {
+        checkRegion(text, offset, length);
+        int end = offset + length;
+        int numberScale = scaleOf(text, offset, end);
+        long unscaled = unscaledOf(text, offset, end, 0);
+        if (unscaled != Long.MIN_VALUE) {
+            return BigDecimal.valueOf(unscaled, numberScale);
+        }
+        return parseBigDecimal(text, offset, end);
+    }
+
+    private static void checkRegion(CharSequence text, int offset, int length) {
+        Objects.requireNonNull(text);
+        if (offset < 0 || length < 0 || offset + length > text.length()) {
+            throw new IndexOutOfBoundsException("Invalid region: " + offset + ", length " + length
+                    + " of a text with length " + text.length());
+        }
+    }
+
+    /**
+     * Evaluates the end of the region given, ignoring trailing spaces.
+     */
+    private static int trimEnd(CharSequence text, int offset, int length) {
+        checkRegion(text, offset, length);
+        int end = offset + length;
+        while (end > offset && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Evaluates the index of the space separating the currency code and the number.
+     */
+    private static int separatorIndex(CharSequence text, int offset, int end) {
+        for (int i = offset; i < end; i++) {
+            if (text.charAt(i) == ' ') {
+                if (i == offset || i == end - 1) {
+                    break;
+                }
+                return i;
+            }
+        }
+        throw new MonetaryParseException("A currency code and a number separated by a space expected.", text,
+                offset);
+    }
+
+    /**
+     * Evaluates the number of fraction digits, i.e. the digits following the decimal point.
+     */
+    private static int scaleOf(CharSequence text, int offset, int end) {
+        for (int i = offset; i < end; i++) {
+            if (text.charAt(i) == '.') {
+                return end - i - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Accumulates the digits of a decimal number into a {@code long}, appending the given number of
+     * zeros.
+     *
+     * @return the value, or {@link Long#MIN_VALUE}, if the number must be parsed as {@link BigDecimal},
+     * because of its size or an exponent.
+     * @throws MonetaryParseException if the number is invalid.
+     */
+    private static long unscaledOf(CharSequence text, int offset, int end, int zeros) {
+        int index = offset;
+        boolean negative = false;
+        if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            index++;
+        }
+        long value = 0L;
+        int digits = 0;
+        int significantDigits = 0;
+        boolean point = false;
+        for (; index < end; index++) {
+            char ch = text.charAt(index);
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+                if (value != 0L || ch != '0') {
+                    if (++significantDigits > MAX_LONG_DIGITS) {
+                        return Long.MIN_VALUE;
+                    }
+                }
+                value = value * 10L + (ch - '0');
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else if (ch == 'e' || ch == 'E') {
+                return Long.MIN_VALUE;
+            } else {
+                throw new MonetaryParseException("Invalid character in number: " + ch, text, index);
+            }
+        }
+        if (digits == 0) {
+            throw new MonetaryParseException("Number expected.", text, offset);
+        }
+        if (zeros > 0) {
+            if (value != 0L && significantDigits + zeros > MAX_LONG_DIGITS) {
+                return Long.MIN_VALUE;
+            }
+            value *= POWERS_OF_TEN[Math.min(zeros, MAX_LONG_DIGITS)];
+        }
+        return negative ? -value : value;
+    }
+
+    private static BigDecimal parseBigDecimal(CharSequence text, int offset, int end) {
+        try {
+            return new BigDecimal(text.subSequence(offset, end).toString());
+        } catch (NumberFormatException e) {
+            throw new MonetaryParseException("Invalid number.", text, offset);
+        }
+    }
+
+    /**
+     * Immutable table of currencies, resolving three letter codes with a perfect hash and other codes
+     * with a {@link Map}.
+     */
+    static final class CurrencyTable {
+
+        /**
+         * The golden ratio, used to derive the multipliers tried for the perfect hash.
+         */
+        private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+        private static final int MAX_TRIES = 64;
+
+        private final long multiplier;
+        private final int shift;
+        private final long[] keys;
+        private final CurrencyUnit[] units;
+        private final Map<String, CurrencyUnit> otherUnits;
+
+        private CurrencyTable(long multiplier, int bits, long[] keys, CurrencyUnit[] units,
+                              Map<String, CurrencyUnit> otherUnits) {
+            this.multiplier = multiplier;
+            this.shift = Long.SIZE - bits;
+            this.keys = keys;
+            this.units = units;
+            this.otherUnits = otherUnits;
+        }
+
+        /**
+         * Creates a table, searching a multiplicative hash function mapping the three letter codes of
+         * the currencies to distinct slots. The table grows until such a function is found.
+         *
+         * @param currencies the currencies, not null.
+         * @return the new table.
+         */
+        static CurrencyTable of(Collection<CurrencyUnit> currencies) {
+            Map<Long, CurrencyUnit> codes = new LinkedHashMap<>();
+            Map<String, CurrencyUnit> otherUnits = new HashMap<>();
+            for (CurrencyUnit currency : currencies) {
+                String code = currency.getCurrencyCode();
+                if (code.length() == 3) {
+                    codes.putIfAbsent(key(code.charAt(0), code.charAt(1), code.charAt(2)), currency);
+                } else {
+                    otherUnits.putIfAbsent(code, currency);
+                }
+            }
+            int bits = 1;
+            while ((1 << bits) < codes.size() * 2) {
+                bits++;
+            }
+            for (; bits < Integer.SIZE - 1; bits++) {
+                for (int i = 1; i <= MAX_TRIES; i++) {
+                    long multiplier = GOLDEN_RATIO * i | 1L;
+                    long[] keys = new long[1 << bits];
+                    CurrencyUnit[] units = new CurrencyUnit[1 << bits];
+                    if (fill(codes, multiplier, bits, keys, units)) {
+                        return new CurrencyTable(multiplier, bits, keys, units, otherUnits);
+                    }
+                }
+            }
+            throw new IllegalStateException("No perfect hash found for " + codes.size() + " currencies.");
+        }
+
+        private static boolean fill(Map<Long, CurrencyUnit> codes, long multiplier, int bits, long[] keys,
+                                    CurrencyUnit[] units) {
+            for (Map.Entry<Long, CurrencyUnit> entry : codes.entrySet()) {
+                long key = entry.getKey();
+                int slot = (int) ((key * multiplier) >>> (Long.SIZE - bits));
+                if (Objects.nonNull(units[slot])) {
+                    return false;
+                }
+                keys[slot] = key;
+                units[slot] = entry.getValue();
+            }
+            return true;
+        }
+
+        private static long key(char c0, char c1, char c2) {
+            return ((long) c0 << 32) | ((long) c1 << 16) | c2;
+        }
+
+        /**
+         * Resolves a three letter currency code.
+         *
+         * @return the currency, or {@code null}.
+         */
+        CurrencyUnit get(char c0, char c1, char c2) {
+            long key = key(c0, c1, c2);
+            int slot = (int) ((key * multiplier) >>> shift);
+            return keys[slot] == key ? units[slot] : null;
+        }
+
+        /**
+         * Resolves any currency code.
+         *
+         * @return the currency, or {@code null}.
+         */
+        CurrencyUnit get(String code) {
+            if (code.length() == 3) {
+                return get(code.charAt(0), code.charAt(1), code.charAt(2));
+            }
+            return otherUnits.get(code);
+        }
+    }
+
+}
@@ -25,6 +25,14 @@ class NumberVerifier {
 	private NumberVerifier() {
 	}
 
+	public static void checkNoInfinityOrNaN(double number) {
+		if (Double.isNaN(number)) {
+			throw new ArithmeticException("Not a valid input: NaN.");
+		} else if (Double.isInfinite(number)) {
+			throw new ArithmeticException("Not a valid input: INFINITY: " + number);
+		}
+	}
+
 	public static void checkNoInfinityOrNaN(Number number) {
 		if (Double.class == number.getClass() || Float.class == number.getClass()) {
 			double dValue = number.doubleValue();
@@ -36,6 +44,13 @@ class NumberVerifier {
 		}
 	}
 
+	public static boolean isInfinityAndNotNaN(double number) {
+		if (Double.isNaN(number)) {
+			throw new ArithmeticException("Not a valid input: NaN.");
+		}
+		return Double.isInfinite(number);
+	}
+
 	public static boolean isInfinityAndNotNaN(Number number) {
 		if (Double.class == number.getClass() || Float.class == number.getClass()) {
 			double dValue = number.doubleValue();
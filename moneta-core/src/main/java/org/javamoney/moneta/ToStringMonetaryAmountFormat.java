@@ -20,9 +20,7 @@ import java.math.BigDecimal;
 import java.util.Objects;
 import java.util.Optional;
 
-import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
-import javax.money.Monetary;
 import javax.money.format.AmountFormatContext;
 import javax.money.format.AmountFormatContextBuilder;
 import javax.money.format.MonetaryAmountFormat;
@@ -78,32 +76,21 @@ public final class ToStringMonetaryAmountFormat implements MonetaryAmountFormat
     @Override
     public MonetaryAmount parse(CharSequence text)
             throws MonetaryParseException {
+        Objects.requireNonNull(text);
 		try {
-			ParserMonetaryAmount amount = parserMonetaryAmount(text);
-			return style.to(amount);
+			return style.parse(DefaultParser.INSTANCE, text);
+		} catch (MonetaryParseException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new MonetaryParseException(e.getMessage(), text, 0);
 		}
     }
 
-    private ParserMonetaryAmount parserMonetaryAmount(CharSequence text) throws Exception {
-        String[] array = Objects.requireNonNull(text).toString().split(" ");
-        if(array.length != 2) {
-        	throw new MonetaryParseException("An error happened when try to parse the Monetary Amount.",text,0);
-        }
-        CurrencyUnit currencyUnit = Monetary.getCurrency(array[0]);
-        BigDecimal number = new BigDecimal(array[1]);
-        return new ParserMonetaryAmount(currencyUnit, number);
-    }
-
-    private static class ParserMonetaryAmount {
-        ParserMonetaryAmount(CurrencyUnit currencyUnit, BigDecimal number) {
-            this.currencyUnit = currencyUnit;
-            this.number = number;
-        }
-
-        private final CurrencyUnit currencyUnit;
-        private final BigDecimal number;
+    /**
+     * Holds the parser shared by all instances, created when first used.
+     */
+    private static final class DefaultParser {
+        static final MonetaryAmountParser INSTANCE = MonetaryAmountParser.of();
     }
 
     /**
@@ -116,8 +103,8 @@ public final class ToStringMonetaryAmountFormat implements MonetaryAmountFormat
     	 */
         MONEY {
             @Override
-            MonetaryAmount to(ParserMonetaryAmount amount) {
-                return Money.of(amount.number, amount.currencyUnit);
+            MonetaryAmount parse(MonetaryAmountParser parser, CharSequence text) {
+                return parser.parseMoney(text);
             }
         },
         /**
@@ -125,8 +112,8 @@ public final class ToStringMonetaryAmountFormat implements MonetaryAmountFormat
     	 */
         FAST_MONEY {
             @Override
-            MonetaryAmount to(ParserMonetaryAmount amount) {
-                return FastMoney.of(amount.number, amount.currencyUnit);
+            MonetaryAmount parse(MonetaryAmountParser parser, CharSequence text) {
+                return parser.parseFastMoney(text);
             }
         },
         /**
@@ -134,13 +121,14 @@ public final class ToStringMonetaryAmountFormat implements MonetaryAmountFormat
     	 */
         ROUNDED_MONEY {
             @Override
-            MonetaryAmount to(ParserMonetaryAmount amount) {
-                return RoundedMoney.of(amount.number, amount.currencyUnit);
+            MonetaryAmount parse(MonetaryAmountParser parser, CharSequence text) {
+                Money amount = parser.parseMoney(text);
+                return RoundedMoney.of(amount.getNumber().numberValue(BigDecimal.class), amount.getCurrency());
             }
         };
 
         private static final long serialVersionUID = 6606016328162974467L;
-        abstract MonetaryAmount to(ParserMonetaryAmount amount);
+        abstract MonetaryAmount parse(MonetaryAmountParser parser, CharSequence text);
     }
 
 }
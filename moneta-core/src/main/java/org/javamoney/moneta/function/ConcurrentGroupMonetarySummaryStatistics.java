@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+
+/**
+ * Concurrent container used by {@link MonetaryFunctions#groupBySummarizingMonetaryConcurrent()}.
+ * The amounts of each currency are accumulated in a number of stripes, selected by the accepting
+ * thread, so threads of a parallel stream hardly contend. Each stripe sums up into a
+ * {@link MonetaryAccumulator} and keeps references to its minimal and maximal amount, so accepting
+ * an amount does not create any objects. The stripes are only merged once, by
+ * {@link #toGroupMonetarySummaryStatistics()}.
+ */
+final class ConcurrentGroupMonetarySummaryStatistics {
+
+    private static final int STRIPES = stripeCount(Runtime.getRuntime().availableProcessors());
+
+    private final ConcurrentMap<CurrencyUnit, Stripe[]> groupStripes = new ConcurrentHashMap<>();
+
+    private static int stripeCount(int processors) {
+        int count = Integer.highestOneBit(Math.max(1, processors));
+        if (count < processors) {
+            count <<= 1;
+        }
+        return Math.min(count, 64);
+    }
+
+    ConcurrentGroupMonetarySummaryStatistics accept(MonetaryAmount amount) {
+        CurrencyUnit currency = Objects.requireNonNull(amount).getCurrency();
+        Stripe[] stripes = groupStripes.get(currency);
+        if (stripes == null) {
+            stripes = groupStripes.computeIfAbsent(currency, ConcurrentGroupMonetarySummaryStatistics::newStripes);
+        }
+        stripes[(int) Thread.currentThread().getId() & (STRIPES - 1)].accept(amount);
+        return this;
+    }
+
+    ConcurrentGroupMonetarySummaryStatistics combine(ConcurrentGroupMonetarySummaryStatistics another) {
+        Objects.requireNonNull(another);
+        for (Map.Entry<CurrencyUnit, Stripe[]> entry : another.groupStripes.entrySet()) {
+            Stripe[] stripes = groupStripes.computeIfAbsent(entry.getKey(),
+                    ConcurrentGroupMonetarySummaryStatistics::newStripes);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i].combine(entry.getValue()[i]);
+            }
+        }
+        return this;
+    }
+
+    GroupMonetarySummaryStatistics toGroupMonetarySummaryStatistics() {
+        GroupMonetarySummaryStatistics result = new GroupMonetarySummaryStatistics();
+        for (Map.Entry<CurrencyUnit, Stripe[]> entry : groupStripes.entrySet()) {
+            Stripe total = new Stripe(entry.getKey());
+            for (Stripe stripe : entry.getValue()) {
+                total.combine(stripe);
+            }
+            if (total.count > 0) {
+                result.get().put(entry.getKey(), total.toSummaryStatistics());
+            }
+        }
+        return result;
+    }
+
+    private static Stripe[] newStripes(CurrencyUnit currency) {
+        Stripe[] stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(currency);
+        }
+        return stripes;
+    }
+
+    /**
+     * The statistics of one currency accumulated by one stripe. Stripes are mostly used by one
+     * thread, so their monitor is hardly ever contended.
+     */
+    private static final class Stripe {
+
+        private final CurrencyUnit currency;
+
+        private final MonetaryAccumulator sum;
+
+        private long count;
+
+        private MonetaryAmount min;
+
+        private MonetaryAmount max;
+
+        Stripe(CurrencyUnit currency) {
+            this.currency = currency;
+            this.sum = MonetaryAccumulator.of(currency);
+        }
+
+        synchronized void accept(MonetaryAmount amount) {
+            sum.add(amount);
+            if (count++ == 0) {
+                min = amount;
+                max = amount;
+            } else {
+                min = MonetaryFunctions.min(min, amount);
+                max = MonetaryFunctions.max(max, amount);
+            }
+        }
+
+        /**
+         * Adds the statistics of another stripe, which must not be modified concurrently.
+         */
+        synchronized void combine(Stripe another) {
+            if (another.count == 0) {
+                return;
+            }
+            sum.merge(another.sum);
+            min = count == 0 ? another.min : MonetaryFunctions.min(min, another.min);
+            max = count == 0 ? another.max : MonetaryFunctions.max(max, another.max);
+            count += another.count;
+        }
+
+        DefaultMonetarySummaryStatistics toSummaryStatistics() {
+            DefaultMonetarySummaryStatistics statistics = new DefaultMonetarySummaryStatistics(currency);
+            // the sum has the type of the amounts summed up, as with DefaultMonetarySummaryStatistics
+            statistics.sum = sum.toAmount();
+            statistics.min = min;
+            statistics.max = max;
+            statistics.count = count;
+            statistics.average = statistics.sum.divide(count);
+            return statistics;
+        }
+    }
+
+}
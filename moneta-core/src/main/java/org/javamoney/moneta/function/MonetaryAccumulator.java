@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.spi.MoneyUtils;
+
+/**
+ * Mutable accumulator for summing up {@link MonetaryAmount}s of one currency. Other than
+ * {@link MonetaryFunctions#sum()}, adding an amount does not create a new amount instance: the
+ * sum is kept as a primitive {@code long} with the scale of {@link FastMoney}, i.e. in units of
+ * {@code 10^-5}. If the sum overflows or an amount with a higher scale is added, the accumulator
+ * switches to an exact {@link BigDecimal} sum, so the result is never rounded.
+ * <p>
+ * Instances are not thread-safe, e.g. use {@link MonetaryFunctions#summingMonetary(CurrencyUnit)}
+ * to sum up a (parallel) stream:
+ * <pre>
+ * MonetaryAmount total = amounts.stream().collect(MonetaryFunctions.summingMonetary(euro));
+ * </pre>
+ *
+ * @since 1.2
+ */
+public final class MonetaryAccumulator {
+
+    /**
+     * The scale of the primitive sum, the same as used by {@link FastMoney}.
+     */
+    private static final int SCALE = 5;
+
+    private final CurrencyUnit currency;
+
+    /**
+     * The factor between a minor unit of the currency and a unit of the primitive sum, or zero, if
+     * the currency has more than {@link #SCALE} fraction digits.
+     */
+    private final long minorFactor;
+
+    /**
+     * The sum in units of {@code 10^-SCALE}, as long as {@link #bigSum} is null.
+     */
+    private long sum;
+
+    /**
+     * The exact sum, once the primitive sum has been promoted.
+     */
+    private BigDecimal bigSum;
+
+    /**
+     * The first amount added, defining the type of {@link #toAmount()}, or null.
+     */
+    private MonetaryAmount first;
+
+    /**
+     * Creates a new, empty accumulator.
+     *
+     * @param currency the currency of the amounts to be summed up, not null.
+     */
+    private MonetaryAccumulator(CurrencyUnit currency) {
+        this.currency = Objects.requireNonNull(currency, "Currency is required.");
+        int fractionDigits = currency.getDefaultFractionDigits();
+        if (fractionDigits >= 0 && fractionDigits <= SCALE) {
+            this.minorFactor = BigDecimal.ONE.scaleByPowerOfTen(SCALE - fractionDigits).longValueExact();
+        } else {
+            this.minorFactor = 0L;
+        }
+    }
+
+    /**
+     * Creates a new, empty accumulator.
+     *
+     * @param currency the currency of the amounts to be summed up, not null.
+     * @return a new accumulator, with a sum of zero.
+     */
+    public static MonetaryAccumulator of(CurrencyUnit currency) {
+        return new MonetaryAccumulator(currency);
+    }
+
+    /**
+     * Access the currency of this accumulator.
+     *
+     * @return the currency, never null.
+     */
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Adds the given amount to the sum.
+     *
+     * @param amount the amount, not null.
+     * @return this accumulator, for chaining.
+     * @throws MonetaryException if the amount has another currency.
+     */
+    public MonetaryAccumulator add(MonetaryAmount amount) {
+        MoneyUtils.checkAmountParameter(amount, currency);
+        if (first == null) {
+            first = amount;
+        }
+        if (amount instanceof FastMoney) {
+            addUnscaled(((FastMoney) amount).getUnscaledValue());
+            return this;
+        }
+        BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+        if (bigSum == null && number.scale() <= SCALE && number.precision() - number.scale() + SCALE <= 18) {
+            // at most 18 digits always fit into a long
+            addUnscaled(number.movePointRight(SCALE).longValue());
+        } else {
+            bigSum = getNumber().add(number);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given amount, given in minor units of the currency, to the sum. For example, for
+     * {@code USD} {@code addMinor(1234)} adds {@code USD 12.34}.
+     *
+     * @param amountMinor the amount in the minor division of the currency.
+     * @return this accumulator, for chaining.
+     * @throws IllegalArgumentException when {@link CurrencyUnit#getDefaultFractionDigits()} is lesser
+     *                                  than zero.
+     * @see FastMoney#ofMinor(CurrencyUnit, long)
+     */
+    public MonetaryAccumulator addMinor(long amountMinor) {
+        if (bigSum == null && minorFactor != 0L) {
+            long unscaled = amountMinor * minorFactor;
+            if (unscaled / minorFactor == amountMinor) {
+                addUnscaled(unscaled);
+                return this;
+            }
+        }
+        int fractionDigits = currency.getDefaultFractionDigits();
+        if (fractionDigits < 0) {
+            throw new IllegalArgumentException("The default fraction digits of " + currency + " are negative.");
+        }
+        bigSum = getNumber().add(BigDecimal.valueOf(amountMinor, fractionDigits));
+        return this;
+    }
+
+    /**
+     * Adds the sum of another accumulator to the sum of this accumulator, e.g. for combining the
+     * partial results of a parallel stream. The other accumulator is not changed.
+     *
+     * @param other the other accumulator, not null.
+     * @return this accumulator, for chaining.
+     * @throws MonetaryException if the other accumulator has another currency.
+     */
+    public MonetaryAccumulator merge(MonetaryAccumulator other) {
+        Objects.requireNonNull(other, "Accumulator is required.");
+        if (!currency.getCurrencyCode().equals(other.currency.getCurrencyCode())) {
+            throw new MonetaryException("Currency mismatch: " + currency + '/' + other.currency);
+        }
+        if (first == null) {
+            first = other.first;
+        }
+        if (bigSum == null && other.bigSum == null) {
+            addUnscaled(other.sum);
+        } else {
+            bigSum = getNumber().add(other.getNumber());
+        }
+        return this;
+    }
+
+    /**
+     * Creates an amount with the current sum, of the same type as the first amount added by
+     * {@link #add(MonetaryAmount)}, as {@code reduce(MonetaryFunctions.sum())} does. If no amount was
+     * added, a {@link Money} is created.
+     *
+     * @return the sum, never null.
+     * @throws ArithmeticException if the sum can not be represented by the type of the first amount,
+     *                             e.g. {@link FastMoney}.
+     */
+    public MonetaryAmount toAmount() {
+        if (first == null || first instanceof Money) {
+            return toMoney();
+        }
+        if (first instanceof FastMoney) {
+            return toFastMoney();
+        }
+        return first.getFactory().setCurrency(currency).setNumber(getNumber()).create();
+    }
+
+    /**
+     * Creates a {@link Money} with the current sum.
+     *
+     * @return the sum, never null.
+     */
+    public Money toMoney() {
+        return Money.of(getNumber(), currency);
+    }
+
+    /**
+     * Creates a {@link FastMoney} with the current sum.
+     *
+     * @return the sum, never null.
+     * @throws ArithmeticException if the sum can not be represented by {@link FastMoney}.
+     */
+    public FastMoney toFastMoney() {
+        if (bigSum == null) {
+            return FastMoney.ofUnscaled(currency, sum);
+        }
+        return FastMoney.of(bigSum, currency);
+    }
+
+    /**
+     * Adds a value in units of {@code 10^-SCALE}, promoting the sum to a {@link BigDecimal} on
+     * overflow.
+     *
+     * @param unscaled the value to be added.
+     */
+    private void addUnscaled(long unscaled) {
+        if (bigSum != null) {
+            bigSum = bigSum.add(BigDecimal.valueOf(unscaled, SCALE));
+            return;
+        }
+        long result = sum + unscaled;
+        if (((sum ^ result) & (unscaled ^ result)) < 0) {
+            // both operands have the same sign, the result has the other one
+            bigSum = BigDecimal.valueOf(sum, SCALE).add(BigDecimal.valueOf(unscaled, SCALE));
+        } else {
+            sum = result;
+        }
+    }
+
+    private BigDecimal getNumber() {
+        if (bigSum == null) {
+            return BigDecimal.valueOf(sum, SCALE);
+        }
+        return bigSum;
+    }
+
+    @Override
+    public String toString() {
+        return "MonetaryAccumulator [currency=" + currency + ", sum=" + getNumber() + ']';
+    }
+
+}
@@ -90,6 +90,60 @@ public final class MonetaryFunctions {
                             GroupMonetarySummaryStatistics::combine);
     }
 
+    /**
+     * of MonetaryAmount group by MonetarySummary, as {@link #groupBySummarizingMonetary()}, but as
+     * {@link Collector.Characteristics#CONCURRENT} collector for parallel streams. All threads
+     * accumulate into one container, using striped accumulators per currency, so no partial results
+     * must be combined.
+     * @return the MonetarySummaryStatistics
+     * @since 1.2
+     */
+    public static Collector<MonetaryAmount,?,GroupMonetarySummaryStatistics>
+    groupBySummarizingMonetaryConcurrent(){
+        return Collector.of(ConcurrentGroupMonetarySummaryStatistics::new,
+                            ConcurrentGroupMonetarySummaryStatistics::accept,
+                            ConcurrentGroupMonetarySummaryStatistics::combine,
+                            ConcurrentGroupMonetarySummaryStatistics::toGroupMonetarySummaryStatistics,
+                            Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Collector to sum up MonetaryAmounts of one currency into a {@link MonetaryAccumulator}, without
+     * creating an intermediate amount per element.
+     * @param currencyUnit the target {@link javax.money.CurrencyUnit}
+     * @return the Collector to of MonetaryAccumulator
+     * @throws MonetaryException if an element has another currency
+     * @since 1.2
+     */
+    public static Collector<MonetaryAmount, MonetaryAccumulator, MonetaryAccumulator> accumulatingMonetary(
+            CurrencyUnit currencyUnit){
+        Objects.requireNonNull(currencyUnit);
+        return Collector.of(() -> MonetaryAccumulator.of(currencyUnit), MonetaryAccumulator::add,
+                            MonetaryAccumulator::merge, Collector.Characteristics.UNORDERED,
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Collector to sum up MonetaryAmounts of one currency, a replacement for
+     * {@code reduce(MonetaryFunctions.sum())} that does not create an intermediate amount per element.
+     * As with {@code reduce}, the sum has the type of the first element, e.g.
+     * {@link org.javamoney.moneta.FastMoney} for a stream of {@link org.javamoney.moneta.FastMoney}; in
+     * unordered or parallel streams of mixed types, the type of any element.
+     * @param currencyUnit the target {@link javax.money.CurrencyUnit}
+     * @return the Collector to of the sum, which is a zero {@link org.javamoney.moneta.Money} for an empty stream
+     * @throws MonetaryException if an element has another currency
+     * @see #accumulatingMonetary(CurrencyUnit)
+     * @see MonetaryAccumulator#toAmount()
+     * @since 1.2
+     */
+    public static Collector<MonetaryAmount, MonetaryAccumulator, MonetaryAmount> summingMonetary(
+            CurrencyUnit currencyUnit){
+        Objects.requireNonNull(currencyUnit);
+        return Collector.of(() -> MonetaryAccumulator.of(currencyUnit), MonetaryAccumulator::add,
+                            MonetaryAccumulator::merge, MonetaryAccumulator::toAmount,
+                            Collector.Characteristics.UNORDERED);
+    }
+
     /**
      * Get a comparator for sorting CurrencyUnits ascending.
      *
@@ -22,6 +22,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class provides a programmatic singleton for globally registering new {@link java.util.Currency}  into the
@@ -36,6 +37,10 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi {
      * The currency units identified by Locale.
      */
     private static final Map<Locale, CurrencyUnit> CURRENCY_UNITS_BY_LOCALE = new ConcurrentHashMap<>();
+    /**
+     * Incremented on each registration or removal, so cached lookups can be invalidated.
+     */
+    private static final AtomicInteger VERSION = new AtomicInteger();
 
 
     /**
@@ -81,7 +86,11 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi {
      */
     public static CurrencyUnit registerCurrencyUnit(CurrencyUnit currencyUnit) {
         Objects.requireNonNull(currencyUnit);
-        return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS.put(currencyUnit.getCurrencyCode(), currencyUnit);
+        try {
+            return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS.put(currencyUnit.getCurrencyCode(), currencyUnit);
+        } finally {
+            VERSION.incrementAndGet();
+        }
     }
 
     /**
@@ -94,7 +103,11 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi {
     public static CurrencyUnit registerCurrencyUnit(CurrencyUnit currencyUnit, Locale locale) {
         Objects.requireNonNull(locale);
         Objects.requireNonNull(currencyUnit);
-        return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS_BY_LOCALE.put(locale, currencyUnit);
+        try {
+            return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS_BY_LOCALE.put(locale, currencyUnit);
+        } finally {
+            VERSION.incrementAndGet();
+        }
     }
 
     /**
@@ -105,7 +118,11 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi {
      */
     public static CurrencyUnit removeCurrencyUnit(String currencyCode) {
         Objects.requireNonNull(currencyCode);
-        return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS.remove(currencyCode);
+        try {
+            return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS.remove(currencyCode);
+        } finally {
+            VERSION.incrementAndGet();
+        }
     }
 
     /**
@@ -116,7 +133,20 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi {
      */
     public static CurrencyUnit removeCurrencyUnit(Locale locale) {
         Objects.requireNonNull(locale);
-        return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS_BY_LOCALE.remove(locale);
+        try {
+            return ConfigurableCurrencyUnitProvider.CURRENCY_UNITS_BY_LOCALE.remove(locale);
+        } finally {
+            VERSION.incrementAndGet();
+        }
+    }
+
+    /**
+     * Access the modification count of the registered units, changing on each registration or removal.
+     *
+     * @return the current version.
+     */
+    static int getVersion() {
+        return VERSION.get();
     }
 
     /*
@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal;
+
+import org.javamoney.moneta.spi.MonetaryConfig;
+
+import javax.money.CurrencyQuery;
+import javax.money.CurrencyQueryBuilder;
+import javax.money.CurrencyUnit;
+import javax.money.spi.CurrencyProviderSpi;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of the registered {@link CurrencyProviderSpi} instances, as used by
+ * {@link DefaultMonetaryCurrenciesSingletonSpi}. The provider names and the default provider chain are
+ * resolved once, currencies looked up by code, {@link Locale} or {@link CurrencyQuery} are memoized, so
+ * repeated lookups do not query the providers again.
+ * <p>
+ * A snapshot is bound to the provider instances loaded and to the
+ * {@link ConfigurableCurrencyUnitProvider#getVersion() registrations} of the
+ * {@link ConfigurableCurrencyUnitProvider}, a new snapshot must be created, if one of them changes.
+ * <p>
+ * This class is thread safe.
+ *
+ * @since 1.2
+ */
+final class CurrencyRegistry {
+
+    /**
+     * The maximal number of arbitrary {@link CurrencyQuery} results memoized.
+     */
+    static final int MAX_CACHED_QUERIES = 256;
+
+    private static final Logger LOG = Logger.getLogger(CurrencyRegistry.class.getName());
+
+    /**
+     * The provider instances this snapshot was created for, in order.
+     */
+    private final CurrencyProviderSpi[] services;
+    private final int version;
+    private final Map<String, CurrencyProviderSpi> providersByName;
+    private final Set<String> providerNames;
+    private final List<String> defaultProviderChain;
+    private final List<CurrencyProviderSpi> defaultProviders;
+    private final Map<String, Set<CurrencyUnit>> currenciesByCode = new ConcurrentHashMap<>();
+    private final Map<Locale, Set<CurrencyUnit>> currenciesByLocale = new ConcurrentHashMap<>();
+    private final Map<CurrencyQuery, Set<CurrencyUnit>> currenciesByQuery = Collections.synchronizedMap(
+            new LinkedHashMap<CurrencyQuery, Set<CurrencyUnit>>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CurrencyQuery, Set<CurrencyUnit>> eldest) {
+                    return size() > MAX_CACHED_QUERIES;
+                }
+            });
+    private volatile Set<CurrencyUnit> allCurrencies;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param services the provider instances currently loaded, not null.
+     * @param version  the {@link ConfigurableCurrencyUnitProvider#getVersion() version} of the configured units.
+     */
+    CurrencyRegistry(Collection<CurrencyProviderSpi> services, int version) {
+        this.services = services.toArray(new CurrencyProviderSpi[services.size()]);
+        this.version = version;
+        Map<String, CurrencyProviderSpi> byName = new LinkedHashMap<>();
+        for (CurrencyProviderSpi spi : services) {
+            try {
+                byName.putIfAbsent(spi.getProviderName(), spi);
+            } catch (Exception e) {
+                LOG.log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(), e);
+            }
+        }
+        this.providersByName = Collections.unmodifiableMap(byName);
+        this.providerNames = Collections.unmodifiableSet(new HashSet<>(byName.keySet()));
+        List<String> chain = new ArrayList<>();
+        String defaultChain = MonetaryConfig.getConfig().get("currencies.default-chain");
+        if (defaultChain != null) {
+            for (String item : defaultChain.split(",")) {
+                if (byName.containsKey(item.trim())) {
+                    chain.add(item.trim());
+                } else {
+                    LOG.warning("Ignoring non existing default provider: " + item);
+                }
+            }
+        } else {
+            chain.addAll(byName.keySet());
+        }
+        this.defaultProviderChain = Collections.unmodifiableList(chain);
+        this.defaultProviders = Collections.unmodifiableList(getProviders(chain));
+    }
+
+    /**
+     * Checks if this snapshot still reflects the given providers and configured units. The providers are
+     * compared by identity and order, as service providers may return a new collection on each call.
+     *
+     * @param services the provider instances currently loaded.
+     * @param version  the current {@link ConfigurableCurrencyUnitProvider#getVersion() version}.
+     * @return true, if this snapshot can still be used.
+     */
+    boolean isCurrent(Collection<CurrencyProviderSpi> services, int version) {
+        if (this.version != version || this.services.length != services.size()) {
+            return false;
+        }
+        int i = 0;
+        for (CurrencyProviderSpi spi : services) {
+            if (this.services[i++] != spi) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Access the names of the providers loaded.
+     *
+     * @return the provider names, never null.
+     */
+    Set<String> getProviderNames() {
+        return providerNames;
+    }
+
+    /**
+     * Access the provider names used, if a query does not define any providers.
+     *
+     * @return the default provider chain, never null.
+     */
+    List<String> getDefaultProviderChain() {
+        return defaultProviderChain;
+    }
+
+    /**
+     * Access the currencies with the given code from the default provider chain.
+     *
+     * @param currencyCode the currency code, not null.
+     * @return the currencies found, never null.
+     */
+    Set<CurrencyUnit> getCurrencies(String currencyCode) {
+        Set<CurrencyUnit> result = currenciesByCode.get(currencyCode);
+        if (result == null) {
+            result = query(defaultProviders, CurrencyQueryBuilder.of().setCurrencyCodes(currencyCode).build(),
+                    found -> found.isEmpty() ? found : memoize(currenciesByCode, currencyCode, found));
+        }
+        return result;
+    }
+
+    /**
+     * Access the currencies of the given country from the default provider chain.
+     *
+     * @param locale the target {@link Locale}, not null.
+     * @return the currencies found, never null.
+     */
+    Set<CurrencyUnit> getCurrencies(Locale locale) {
+        Set<CurrencyUnit> result = currenciesByLocale.get(locale);
+        if (result == null) {
+            result = query(defaultProviders, CurrencyQueryBuilder.of().setCountries(locale).build(),
+                    found -> found.isEmpty() ? found : memoize(currenciesByLocale, locale, found));
+        }
+        return result;
+    }
+
+    /**
+     * Access all currencies of the default provider chain.
+     *
+     * @return the currencies found, never null.
+     */
+    Set<CurrencyUnit> getCurrencies() {
+        Set<CurrencyUnit> result = allCurrencies;
+        if (result == null) {
+            result = query(defaultProviders, CurrencyQueryBuilder.of().build(), found -> {
+                allCurrencies = found;
+                return found;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Access the currencies matching an arbitrary query, e.g. by numeric code.
+     *
+     * @param query the query, not null.
+     * @return the currencies found, never null.
+     */
+    Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
+        Set<CurrencyUnit> result = currenciesByQuery.get(query);
+        if (result == null) {
+            List<CurrencyProviderSpi> providers = query.getProviderNames().isEmpty() ? defaultProviders :
+                    getProviders(query.getProviderNames());
+            result = query(providers, query, found -> memoize(currenciesByQuery, query, found));
+        }
+        return result;
+    }
+
+    private List<CurrencyProviderSpi> getProviders(Collection<String> names) {
+        List<CurrencyProviderSpi> result = new ArrayList<>(names.size());
+        for (String providerName : names) {
+            CurrencyProviderSpi provider = providersByName.get(providerName);
+            if (provider == null) {
+                LOG.warning("No such currency provider found, ignoring: " + providerName);
+            } else {
+                result.add(provider);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates a query on the given providers. The result is passed to the memoizer, unless a provider
+     * failed, so failures are not memoized.
+     *
+     * @param providers the providers to query, not null.
+     * @param query     the query, not null.
+     * @param memoizer  memoizes the unmodifiable result, returning the instance to be used, not null.
+     * @return the unmodifiable result, never null.
+     */
+    private static Set<CurrencyUnit> query(List<CurrencyProviderSpi> providers, CurrencyQuery query,
+                                           UnaryOperator<Set<CurrencyUnit>> memoizer) {
+        Set<CurrencyUnit> result = new LinkedHashSet<>();
+        boolean complete = true;
+        for (CurrencyProviderSpi spi : providers) {
+            try {
+                result.addAll(spi.getCurrencies(query));
+            } catch (Exception e) {
+                complete = false;
+                LOG.log(Level.SEVERE, "Error loading currencies from " + spi.getClass().getName(), e);
+            }
+        }
+        Set<CurrencyUnit> found = result.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(result);
+        return complete ? memoizer.apply(found) : found;
+    }
+
+    private static <K> Set<CurrencyUnit> memoize(Map<K, Set<CurrencyUnit>> cache, K key, Set<CurrencyUnit> found) {
+        Set<CurrencyUnit> previous = cache.putIfAbsent(key, found);
+        return previous == null ? found : previous;
+    }
+
+}
@@ -12,108 +12,111 @@
  */
 package org.javamoney.moneta.internal;
 
-import org.javamoney.moneta.spi.MonetaryConfig;
-
 import javax.money.CurrencyQuery;
 import javax.money.CurrencyUnit;
+import javax.money.MonetaryException;
+import javax.money.UnknownCurrencyException;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.CurrencyProviderSpi;
 import javax.money.spi.MonetaryCurrenciesSingletonSpi;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Factory singleton for {@link javax.money.CurrencyUnit} instances as provided by the
  * different registered {@link javax.money.spi.CurrencyProviderSpi} instances.
  * <p/>
+ * Lookups are answered from a {@link CurrencyRegistry} snapshot, which is rebuilt, when the providers
+ * loaded or the units registered with the {@link ConfigurableCurrencyUnitProvider} change. The
+ * currency sets returned are unmodifiable.
+ * <p/>
  * This class is thread safe.
  *
  * @author Anatole Tresch
  */
 public class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrenciesSingletonSpi {
 
+    private volatile CurrencyRegistry registry;
+
     @Override
     public Set<CurrencyUnit> getCurrencies(CurrencyQuery query) {
-        Set<CurrencyUnit> result = new HashSet<>();
-        List<CurrencyProviderSpi> providers = collectProviders(query);
-        for (CurrencyProviderSpi spi : providers) {
-            try {
-                result.addAll(spi.getCurrencies(query));
-            } catch (Exception e) {
-                Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
-                        .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
-                                e);
-            }
+        return getRegistry().getCurrencies(query);
+    }
+
+    @Override
+    public CurrencyUnit getCurrency(String currencyCode, String... providers) {
+        if (providers.length > 0) {
+            return MonetaryCurrenciesSingletonSpi.super.getCurrency(currencyCode, providers);
+        }
+        Objects.requireNonNull(currencyCode, "Currency Code may not be null");
+        Set<CurrencyUnit> found = getRegistry().getCurrencies(currencyCode);
+        if (found.isEmpty()) {
+            throw new UnknownCurrencyException(currencyCode);
+        }
+        if (found.size() > 1) {
+            throw new MonetaryException("Ambiguous CurrencyUnit for code: " + currencyCode + ": " + found);
+        }
+        return found.iterator().next();
+    }
+
+    @Override
+    public CurrencyUnit getCurrency(Locale country, String... providers) {
+        if (providers.length > 0) {
+            return MonetaryCurrenciesSingletonSpi.super.getCurrency(country, providers);
+        }
+        Set<CurrencyUnit> found = getRegistry().getCurrencies(country);
+        if (found.isEmpty()) {
+            throw new MonetaryException("No currency unit found for locale: " + country);
+        }
+        if (found.size() > 1) {
+            throw new MonetaryException("Ambiguous CurrencyUnit for locale: " + country + ": " + found);
+        }
+        return found.iterator().next();
+    }
+
+    @Override
+    public Set<CurrencyUnit> getCurrencies(Locale locale, String... providers) {
+        if (providers.length > 0) {
+            return MonetaryCurrenciesSingletonSpi.super.getCurrencies(locale, providers);
         }
-        return result;
+        return getRegistry().getCurrencies(locale);
     }
 
-    private List<CurrencyProviderSpi> collectProviders(CurrencyQuery query) {
-        List<CurrencyProviderSpi> result = new ArrayList<>();
-        if (!query.getProviderNames().isEmpty()) {
-            for (String providerName : query.getProviderNames()) {
-                CurrencyProviderSpi provider = getProvider(providerName);
-                if (provider == null) {
-                    Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName()).warning("No such currenvcy " +
-                            "provider found, ignoring: " + providerName);
-                } else {
-                    result.add(provider);
-                }
-            }
+    @Override
+    public boolean isCurrencyAvailable(String code, String... providers) {
+        if (providers.length > 0) {
+            return MonetaryCurrenciesSingletonSpi.super.isCurrencyAvailable(code, providers);
         }
-        else{
-            for(String providerName:getDefaultProviderChain()){
-                CurrencyProviderSpi provider = getProvider(providerName);
-                if (provider == null) {
-                    Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName()).warning("No such currenvcy " +
-                            "provider found, ignoring: " + providerName);
-                } else {
-                    result.add(provider);
-                }
-            }
+        return !getRegistry().getCurrencies(code).isEmpty();
+    }
+
+    @Override
+    public boolean isCurrencyAvailable(Locale locale, String... providers) {
+        if (providers.length > 0) {
+            return MonetaryCurrenciesSingletonSpi.super.isCurrencyAvailable(locale, providers);
         }
-        return result;
+        return !getRegistry().getCurrencies(locale).isEmpty();
     }
 
-    private CurrencyProviderSpi getProvider(String providerName) {
-        for(CurrencyProviderSpi provider:Bootstrap.getServices(CurrencyProviderSpi.class)){
-            if(provider.getProviderName().equals(providerName)){
-                return provider;
-            }
+    @Override
+    public Set<CurrencyUnit> getCurrencies(String... providers) {
+        if (providers.length > 0) {
+            return MonetaryCurrenciesSingletonSpi.super.getCurrencies(providers);
         }
-        return null;
+        return getRegistry().getCurrencies();
     }
 
     /**
-     * This default implementation simply returns all providers defined in arbitrary order.
+     * Returns the providers configured with {@code currencies.default-chain}, or all providers loaded.
      *
      * @return the default provider chain, never null.
      */
     @Override
     public List<String> getDefaultProviderChain() {
-        List<String> provList = new ArrayList<>();
-        String defaultChain = MonetaryConfig.getConfig().get("currencies.default-chain");
-        if(defaultChain!=null) {
-            String[] items = defaultChain.split(",");
-            for (String item : items) {
-                if (getProviderNames().contains(item.trim())) {
-                    provList.add(item);
-                } else {
-                    Logger.getLogger(getClass().getName())
-                            .warning("Ignoring non existing default provider: " + item);
-                }
-            }
-        }
-        else{
-            Bootstrap.getServices(CurrencyProviderSpi.class).forEach(
-                    p -> provList.add(p.getProviderName())
-            );
-        }
-        return provList;
+        return getRegistry().getDefaultProviderChain();
     }
 
     /**
@@ -123,17 +126,25 @@ public class DefaultMonetaryCurrenciesSingletonSpi implements MonetaryCurrencies
      */
     @Override
     public Set<String> getProviderNames() {
-        Set<String> result = new HashSet<>();
-        for (CurrencyProviderSpi spi : Bootstrap.getServices(CurrencyProviderSpi.class)) {
-            try {
-                result.add(spi.getProviderName());
-            } catch (Exception e) {
-                Logger.getLogger(DefaultMonetaryCurrenciesSingletonSpi.class.getName())
-                        .log(Level.SEVERE, "Error loading currency provider names for " + spi.getClass().getName(),
-                                e);
-            }
+        return getRegistry().getProviderNames();
+    }
+
+    /**
+     * Access the current registry snapshot, rebuilding it, if the providers loaded or the units of the
+     * {@link ConfigurableCurrencyUnitProvider} have changed.
+     *
+     * @return the current snapshot, never null.
+     */
+    private CurrencyRegistry getRegistry() {
+        // read the version first, so a concurrent registration always leaves a stale snapshot behind
+        int version = ConfigurableCurrencyUnitProvider.getVersion();
+        Collection<CurrencyProviderSpi> services = Bootstrap.getServices(CurrencyProviderSpi.class);
+        CurrencyRegistry current = this.registry;
+        if (current == null || !current.isCurrent(services, version)) {
+            current = new CurrencyRegistry(services, version);
+            this.registry = current;
         }
-        return result;
+        return current;
     }
 
 }
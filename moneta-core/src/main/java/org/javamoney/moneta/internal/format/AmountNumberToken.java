@@ -31,7 +31,9 @@ import javax.money.format.AmountFormatContext;
 import javax.money.format.MonetaryParseException;
 
 /**
- * {@link FormatToken} which allows to format a {@link MonetaryAmount} type.
+ * {@link FormatToken} which allows to format a {@link MonetaryAmount} type. Instances are thread-safe:
+ * numbers are printed by an immutable {@link DecimalPrinter}, the {@link DecimalFormat} instances
+ * used for parsing and for patterns not supported by the printer are accessed synchronized.
  *
  * @author Anatole Tresch
  * @author Werner Keil
@@ -40,9 +42,10 @@ final class AmountNumberToken implements FormatToken {
 
     private final AmountFormatContext amountFormatContext;
     private final String partialNumberPattern;
-    private DecimalFormat parseFormat;
-    private DecimalFormat formatFormat;
-    private StringGrouper numberGroup;
+    private final DecimalFormat parseFormat;
+    private final DecimalFormat formatFormat;
+    private final StringGrouper numberGroup;
+    private final DecimalPrinter printer;
 
     AmountNumberToken(AmountFormatContext amountFormatContext, String partialNumberPattern) {
         this.amountFormatContext = Optional.ofNullable(amountFormatContext)
@@ -50,12 +53,8 @@ final class AmountNumberToken implements FormatToken {
                         () -> new IllegalArgumentException(
                                 "amountFormatContext is required."));
         this.partialNumberPattern = partialNumberPattern;
-        initDecimalFormats();
-    }
-
-    private void initDecimalFormats() {
-        formatFormat = (DecimalFormat) DecimalFormat.getInstance(amountFormatContext.get(Locale.class));
-        parseFormat = (DecimalFormat) DecimalFormat.getInstance(amountFormatContext.get(Locale.class));
+        this.formatFormat = (DecimalFormat) DecimalFormat.getInstance(amountFormatContext.get(Locale.class));
+        this.parseFormat = (DecimalFormat) DecimalFormat.getInstance(amountFormatContext.get(Locale.class));
         DecimalFormatSymbols syms = amountFormatContext.get(DecimalFormatSymbols.class);
         if (Objects.nonNull(syms)) {
             formatFormat.setDecimalFormatSymbols(syms);
@@ -63,6 +62,21 @@ final class AmountNumberToken implements FormatToken {
         }
         formatFormat.applyPattern(this.partialNumberPattern);
         parseFormat.applyPattern(this.partialNumberPattern.trim());
+        int[] groupSizes = amountFormatContext.get(AmountFormatParams.GROUPING_SIZES, int[].class);
+        char[] groupChars = null;
+        if (groupSizes == null || groupSizes.length == 0) {
+            this.numberGroup = null;
+        } else {
+            groupChars = amountFormatContext.get(AmountFormatParams.GROUPING_GROUPING_SEPARATORS, char[].class);
+            if (groupChars == null || groupChars.length == 0) {
+                groupChars = new char[]{this.formatFormat
+                        .getDecimalFormatSymbols().getGroupingSeparator()};
+            }
+            // custom grouping is applied on the ungrouped number
+            this.formatFormat.setGroupingUsed(false);
+            this.numberGroup = new StringGrouper(groupChars, groupSizes);
+        }
+        this.printer = DecimalPrinter.of(this.formatFormat, groupChars, groupSizes);
     }
 
     /**
@@ -87,36 +101,27 @@ final class AmountNumberToken implements FormatToken {
     @Override
     public void print(Appendable appendable, MonetaryAmount amount)
             throws IOException {
-        if (amountFormatContext.get(AmountFormatParams.GROUPING_SIZES, int[].class) == null ||
-                amountFormatContext.get(AmountFormatParams.GROUPING_SIZES, int[].class).length == 0) {
-            appendable.append(this.formatFormat.format(amount.getNumber()
-                    .numberValue(BigDecimal.class)));
+        if (Objects.nonNull(printer)) {
+            printer.print(appendable, amount);
+            return;
+        }
+        String preformattedValue;
+        synchronized (this.formatFormat) {
+            preformattedValue = this.formatFormat.format(amount.getNumber()
+                    .numberValue(BigDecimal.class));
+        }
+        if (Objects.isNull(numberGroup)) {
+            appendable.append(preformattedValue);
             return;
         }
-        this.formatFormat.setGroupingUsed(false);
-        String preformattedValue = this.formatFormat.format(amount.getNumber()
-                .numberValue(BigDecimal.class));
         String[] numberParts = splitNumberParts(this.formatFormat,
                 preformattedValue);
         if (numberParts.length != 2) {
             appendable.append(preformattedValue);
         } else {
-            if (Objects.isNull(numberGroup)) {
-                char[] groupChars = amountFormatContext.get(AmountFormatParams.GROUPING_GROUPING_SEPARATORS, char[].class);
-                if (groupChars == null || groupChars.length == 0) {
-                    groupChars = new char[]{this.formatFormat
-                            .getDecimalFormatSymbols().getGroupingSeparator()};
-                }
-                int[] groupSizes = amountFormatContext.get(AmountFormatParams.GROUPING_SIZES, int[].class);
-                if (groupSizes == null) {
-                    groupSizes = new int[0];
-                }
-                numberGroup = new StringGrouper(groupChars, groupSizes);
-            }
-            preformattedValue = numberGroup.group(numberParts[0])
-                    + this.formatFormat.getDecimalFormatSymbols()
-                    .getDecimalSeparator() + numberParts[1];
-            appendable.append(preformattedValue);
+            appendable.append(numberGroup.group(numberParts[0]))
+                    .append(this.formatFormat.getDecimalFormatSymbols().getDecimalSeparator())
+                    .append(numberParts[1]);
         }
     }
 
@@ -147,7 +152,10 @@ final class AmountNumberToken implements FormatToken {
 
     private void parseToken(ParseContext context, String token) {
         try {
-            Number number = this.parseFormat.parse(token);
+            Number number;
+            synchronized (this.parseFormat) {
+                number = this.parseFormat.parse(token);
+            }
             if (Objects.nonNull(number)) {
                 context.setParsedNumber(number);
                 context.consume(token);
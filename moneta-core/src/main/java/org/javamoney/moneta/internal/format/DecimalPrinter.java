@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.format;
+
+import org.javamoney.moneta.FastMoney;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+import javax.money.MonetaryAmount;
+
+/**
+ * Immutable printer for the number part of an amount, producing the same output as a
+ * {@link DecimalFormat} configured with a plain (non currency, non percent, non exponential)
+ * pattern. Digits, grouping and decimal separators are written directly to the target
+ * {@link Appendable}. Amounts with an unscaled value fitting into a {@code long}, such as
+ * {@link FastMoney}, are printed without any intermediate objects being created.
+ * <p>
+ * Instances are thread-safe and can be shared by any number of threads.
+ *
+ * @since 1.2
+ */
+final class DecimalPrinter {
+
+    /**
+     * The maximal number of fraction digits supported, as used by {@link DecimalFormat} for doubles.
+     */
+    private static final int MAX_FRACTION_DIGITS = 340;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private final char zeroDigit;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final int groupingSize;
+    private final boolean decimalSeparatorAlwaysShown;
+    private final int minimumIntegerDigits;
+    private final int maximumIntegerDigits;
+    private final int minimumFractionDigits;
+    private final int maximumFractionDigits;
+    private final RoundingMode roundingMode;
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    /**
+     * The separators for custom grouping, or {@code null}, if the grouping of the format is used.
+     */
+    private final char[] groupChars;
+    /**
+     * The positions of the custom separators, counted in digits from the right, ascending.
+     */
+    private final int[] groupBoundaries;
+    /**
+     * The maximal number of integer digits, which can be grouped with the custom group sizes.
+     */
+    private final int groupLimit;
+
+    private DecimalPrinter(DecimalFormat format, char[] groupChars, int[] groupSizes) {
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        this.zeroDigit = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.decimalSeparatorAlwaysShown = format.isDecimalSeparatorAlwaysShown();
+        this.minimumIntegerDigits = format.getMinimumIntegerDigits();
+        this.maximumIntegerDigits = format.getMaximumIntegerDigits();
+        this.minimumFractionDigits = format.getMinimumFractionDigits();
+        this.maximumFractionDigits = format.getMaximumFractionDigits();
+        this.roundingMode = format.getRoundingMode();
+        this.positivePrefix = format.getPositivePrefix();
+        this.positiveSuffix = format.getPositiveSuffix();
+        this.negativePrefix = format.getNegativePrefix();
+        this.negativeSuffix = format.getNegativeSuffix();
+        if (groupSizes == null || groupSizes.length == 0) {
+            this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+            this.groupChars = null;
+            this.groupBoundaries = null;
+            this.groupLimit = 0;
+        } else {
+            // same semantics as StringGrouper: the last size and separator are repeated, a group
+            // size not greater than zero disables grouping, once it is reached.
+            this.groupingSize = 0;
+            this.groupChars = groupChars.clone();
+            int count = 0;
+            while (count < groupSizes.length && groupSizes[count] > 0) {
+                count++;
+            }
+            this.groupBoundaries = new int[count];
+            int boundary = 0;
+            for (int i = 0; i < count; i++) {
+                boundary += groupSizes[i];
+                this.groupBoundaries[i] = boundary;
+            }
+            this.groupLimit = count == groupSizes.length ? Integer.MAX_VALUE : boundary;
+        }
+    }
+
+    /**
+     * Creates a printer equivalent to the given format.
+     *
+     * @param format     the format, not null.
+     * @param groupChars the custom grouping separators, not null, if custom group sizes are set.
+     * @param groupSizes the custom group sizes, or {@code null}.
+     * @return the printer, or {@code null}, if the format uses features not supported, e.g. an
+     * exponent, a multiplier or a currency sign. {@link RoundingMode#HALF_DOWN} is not supported
+     * either, as {@link DecimalFormat} does not round all ties of it down, e.g. {@code -0.05} with
+     * pattern {@code #0.#} in some locales.
+     */
+    static DecimalPrinter of(DecimalFormat format, char[] groupChars, int[] groupSizes) {
+        String pattern = format.toPattern();
+        if (format.getMultiplier() != 1 || pattern.indexOf('E') >= 0 || pattern.indexOf('\u00A4') >= 0
+                || format.getMaximumFractionDigits() > MAX_FRACTION_DIGITS
+                || format.getRoundingMode() == RoundingMode.HALF_DOWN) {
+            return null;
+        }
+        if (groupSizes != null && groupSizes.length > 0 && (groupChars == null || groupChars.length == 0)) {
+            return null;
+        }
+        return new DecimalPrinter(format, groupChars, groupSizes);
+    }
+
+    /**
+     * Prints the number of the given amount.
+     *
+     * @param appendable the target, not null.
+     * @param amount     the amount, not null.
+     * @throws IOException         if the appendable fails.
+     * @throws ArithmeticException if rounding is required with {@link RoundingMode#UNNECESSARY}.
+     */
+    void print(Appendable appendable, MonetaryAmount amount) throws IOException {
+        if (amount instanceof FastMoney) {
+            long unscaled = ((FastMoney) amount).getUnscaledValue();
+            if (unscaled != Long.MIN_VALUE) {
+                // FastMoney has a fixed scale
+                print(appendable, unscaled, amount.getContext().getMaxScale());
+                return;
+            }
+        }
+        print(appendable, amount.getNumber().numberValue(BigDecimal.class));
+    }
+
+    /**
+     * Prints the given number.
+     *
+     * @param appendable the target, not null.
+     * @param number     the number, not null.
+     * @throws IOException         if the appendable fails.
+     * @throws ArithmeticException if rounding is required with {@link RoundingMode#UNNECESSARY}.
+     */
+    void print(Appendable appendable, BigDecimal number) throws IOException {
+        int scale = number.scale();
+        if (scale >= 0 && scale < POWERS_OF_TEN.length && number.precision() < POWERS_OF_TEN.length) {
+            print(appendable, number.unscaledValue().longValue(), scale);
+            return;
+        }
+        boolean negative = number.signum() < 0;
+        BigDecimal value;
+        if (number.signum() == 0 || number.abs().compareTo(BigDecimal.ONE.movePointLeft(maximumFractionDigits + 1)) < 0) {
+            // DecimalFormat truncates values below a tenth of the last digit, regardless of the rounding mode
+            value = BigDecimal.ZERO;
+        } else {
+            value = number.setScale(maximumFractionDigits, roundingMode).abs().stripTrailingZeros();
+            if (value.scale() < 0) {
+                value = value.setScale(0);
+            }
+        }
+        String digits = value.unscaledValue().toString();
+        int fractionDigits = value.scale();
+        int integerDigits = value.signum() == 0 ? 0 : Math.max(0, digits.length() - fractionDigits);
+        printNumber(appendable, negative, 0L, digits, integerDigits, fractionDigits);
+    }
+
+    /**
+     * Prints the number {@code unscaled * 10^-scale}.
+     *
+     * @param appendable the target, not null.
+     * @param unscaled   the unscaled value, not {@link Long#MIN_VALUE}.
+     * @param scale      the scale, in the range {@code [0, 18]}.
+     * @throws IOException if the appendable fails.
+     */
+    private void print(Appendable appendable, long unscaled, int scale) throws IOException {
+        boolean negative = unscaled < 0;
+        long value = Math.abs(unscaled);
+        int fractionDigits = scale;
+        int gap = scale - maximumFractionDigits;
+        if (gap > 0) {
+            fractionDigits = maximumFractionDigits;
+            if (gap > 1 && (gap > POWERS_OF_TEN.length || value < POWERS_OF_TEN[gap - 1])) {
+                // DecimalFormat truncates values below a tenth of the last digit, regardless of the rounding mode
+                value = 0L;
+            } else if (gap == POWERS_OF_TEN.length) {
+                print(appendable, BigDecimal.valueOf(unscaled, scale));
+                return;
+            } else {
+                value = round(value, POWERS_OF_TEN[gap], negative);
+            }
+        }
+        while (fractionDigits > 0 && value % 10L == 0L) {
+            value /= 10L;
+            fractionDigits--;
+        }
+        long integerPart = value / POWERS_OF_TEN[fractionDigits];
+        int integerDigits = 0;
+        while (integerDigits < POWERS_OF_TEN.length && integerPart >= POWERS_OF_TEN[integerDigits]) {
+            integerDigits++;
+        }
+        printNumber(appendable, negative, value, null, integerDigits, fractionDigits);
+    }
+
+    /**
+     * Divides a non negative value, rounding the result with the rounding mode of this printer.
+     */
+    private long round(long value, long divisor, boolean negative) {
+        long quotient = value / divisor;
+        long remainder = value - quotient * divisor;
+        if (remainder == 0L) {
+            return quotient;
+        }
+        switch (roundingMode) {
+            case UP:
+                return quotient + 1;
+            case DOWN:
+                return quotient;
+            case CEILING:
+                return negative ? quotient : quotient + 1;
+            case FLOOR:
+                return negative ? quotient + 1 : quotient;
+            case HALF_UP:
+            case HALF_EVEN:
+                long half = remainder - (divisor - remainder);
+                if (half != 0L) {
+                    return half > 0L ? quotient + 1 : quotient;
+                }
+                if (roundingMode == RoundingMode.HALF_UP
+                        || (roundingMode == RoundingMode.HALF_EVEN && (quotient & 1L) != 0L)) {
+                    return quotient + 1;
+                }
+                return quotient;
+            case UNNECESSARY:
+            default:
+                throw new ArithmeticException("Rounding needed with the rounding mode being set to RoundingMode.UNNECESSARY");
+        }
+    }
+
+    /**
+     * Prints a non negative number, given either as a long or as a decimal digit string, with trailing
+     * fraction zeros removed.
+     *
+     * @param appendable     the target, not null.
+     * @param negative       true, if the negative prefix and suffix are used.
+     * @param value          the unscaled value, if {@code digits} is null.
+     * @param digits         the digits of the unscaled value, or {@code null}.
+     * @param integerDigits  the number of significant integer digits, zero for numbers below one.
+     * @param fractionDigits the number of fraction digits.
+     * @throws IOException if the appendable fails.
+     */
+    private void printNumber(Appendable appendable, boolean negative, long value, String digits,
+                             int integerDigits, int fractionDigits) throws IOException {
+        appendable.append(negative ? negativePrefix : positivePrefix);
+        int count = Math.min(Math.max(minimumIntegerDigits, integerDigits), maximumIntegerDigits);
+        boolean fractionPresent = minimumFractionDigits > 0 || fractionDigits > 0;
+        boolean decimalShown = decimalSeparatorAlwaysShown || fractionPresent;
+        // as before, custom grouping is only applied, if a decimal separator is printed
+        boolean customGrouping = groupChars != null && decimalShown && count <= groupLimit;
+        for (int i = count - 1; i >= 0; i--) {
+            appendable.append((char) (zeroDigit + digit(value, digits, fractionDigits + i)));
+            if (i > 0) {
+                if (customGrouping) {
+                    int separator = customSeparatorIndex(i);
+                    if (separator >= 0) {
+                        appendable.append(groupChars[Math.min(separator, groupChars.length - 1)]);
+                    }
+                } else if (groupingSize > 0 && i % groupingSize == 0) {
+                    appendable.append(groupingSeparator);
+                }
+            }
+        }
+        if (count == 0 && !fractionPresent) {
+            appendable.append(zeroDigit);
+        }
+        if (decimalShown) {
+            appendable.append(decimalSeparator);
+        }
+        int printedFractionDigits = Math.max(minimumFractionDigits, fractionDigits);
+        for (int i = 0; i < printedFractionDigits; i++) {
+            int digit = i < fractionDigits ? digit(value, digits, fractionDigits - 1 - i) : 0;
+            appendable.append((char) (zeroDigit + digit));
+        }
+        appendable.append(negative ? negativeSuffix : positiveSuffix);
+    }
+
+    /**
+     * Evaluates the custom separator to be printed, after the given number of digits remaining.
+     *
+     * @param remaining the number of integer digits to the right, greater than zero.
+     * @return the index of the separator, or {@code -1}.
+     */
+    private int customSeparatorIndex(int remaining) {
+        int length = groupBoundaries.length;
+        if (length == 0) {
+            return -1;
+        }
+        int last = groupBoundaries[length - 1];
+        if (remaining <= last) {
+            for (int i = 0; i < length; i++) {
+                if (groupBoundaries[i] == remaining) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int lastSize = length == 1 ? last : last - groupBoundaries[length - 2];
+        int offset = remaining - last;
+        return offset % lastSize == 0 ? length - 1 + offset / lastSize : -1;
+    }
+
+    /**
+     * Accesses the decimal digit at the given position, counted from the right.
+     */
+    private static int digit(long value, String digits, int position) {
+        if (digits != null) {
+            int index = digits.length() - 1 - position;
+            return index < 0 ? 0 : digits.charAt(index) - '0';
+        }
+        if (position >= POWERS_OF_TEN.length) {
+            return 0;
+        }
+        return (int) ((value / POWERS_OF_TEN[position]) % 10L);
+    }
+
+}
@@ -21,7 +21,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -30,8 +33,15 @@ import javax.money.format.AmountFormatQuery;
 import javax.money.format.MonetaryAmountFormat;
 import javax.money.spi.MonetaryAmountFormatProviderSpi;
 
+import org.javamoney.moneta.spi.MonetaryConfig;
+
 /**
  * Default format provider, which mainly maps the existing JDK functionality into the JSR 354 logic.
+ * <p>
+ * The formats created are immutable and thread-safe, so they are cached by their {@link AmountFormatQuery}.
+ * The least recently used formats are evicted, if more formats are cached than configured by
+ * {@link #CACHE_MAX_SIZE_KEY}. Queries are compared by their attributes, so queries containing arrays, e.g.
+ * custom grouping sizes, or amount factories only hit the cache, if the same instances are passed.
  *
  * @author Anatole Tresch
  */
@@ -40,16 +50,55 @@ public class DefaultAmountFormatProviderSpi implements MonetaryAmountFormatProvi
     private static final String DEFAULT_STYLE = "default";
     private static final String PROVIDER_NAME = "default";
 
+    /**
+     * Configuration key for the maximal number of formats cached, {@code 0} disables caching.
+     */
+    public static final String CACHE_MAX_SIZE_KEY = "format.cache.maxSize";
+
+    private static final int DEFAULT_MAX_SIZE = 256;
+
     private Set<Locale> supportedSets = new HashSet<>();
     private Set<String> formatNames = new HashSet<>();
 
+    private final int maxSize;
+
+    /**
+     * The cached formats in access order, guarded by itself.
+     */
+    private final LinkedHashMap<AmountFormatQuery, List<MonetaryAmountFormat>> cache;
+
     public DefaultAmountFormatProviderSpi() {
+        this(getConfiguredMaxSize());
+    }
+
+    DefaultAmountFormatProviderSpi(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<AmountFormatQuery, List<MonetaryAmountFormat>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AmountFormatQuery, List<MonetaryAmountFormat>> eldest) {
+                return size() > DefaultAmountFormatProviderSpi.this.maxSize;
+            }
+        };
         supportedSets.addAll(Arrays.asList(DecimalFormat.getAvailableLocales()));
         supportedSets = Collections.unmodifiableSet(supportedSets);
         formatNames.add(DEFAULT_STYLE);
         formatNames = Collections.unmodifiableSet(formatNames);
     }
 
+    private static int getConfiguredMaxSize() {
+        String value = MonetaryConfig.getConfig().get(CACHE_MAX_SIZE_KEY);
+        if (Objects.isNull(value) || value.trim().isEmpty()) {
+            return DEFAULT_MAX_SIZE;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_MAX_SIZE;
+        }
+    }
+
     @Override
     public String getProviderName() {
         return PROVIDER_NAME;
@@ -70,13 +119,45 @@ public class DefaultAmountFormatProviderSpi implements MonetaryAmountFormatProvi
         if (!(amountFormatQuery.getFormatName() == null || DEFAULT_STYLE.equals(amountFormatQuery.getFormatName()))) {
             return Collections.emptySet();
         }
+        if (maxSize == 0) {
+            return createAmountFormats(amountFormatQuery);
+        }
+        List<MonetaryAmountFormat> formats;
+        synchronized (cache) {
+            formats = cache.get(amountFormatQuery);
+        }
+        if (Objects.isNull(formats)) {
+            // created outside the lock, a format concurrently created for the same query wins
+            List<MonetaryAmountFormat> created = createAmountFormats(amountFormatQuery);
+            synchronized (cache) {
+                formats = cache.putIfAbsent(amountFormatQuery, created);
+            }
+            if (Objects.isNull(formats)) {
+                formats = created;
+            }
+        }
+        return formats;
+    }
+
+    private List<MonetaryAmountFormat> createAmountFormats(AmountFormatQuery amountFormatQuery) {
         AmountFormatContextBuilder builder = AmountFormatContextBuilder.of(DEFAULT_STYLE);
         if (amountFormatQuery.getLocale() != null) {
             builder.setLocale(amountFormatQuery.getLocale());
         }
         builder.importContext(amountFormatQuery, false);
         builder.setMonetaryAmountFactory(amountFormatQuery.getMonetaryAmountFactory());
-        return Arrays.asList(new MonetaryAmountFormat[]{new DefaultMonetaryAmountFormat(builder.build())});
+        return Collections.singletonList(new DefaultMonetaryAmountFormat(builder.build()));
+    }
+
+    /**
+     * Access the number of formats currently cached.
+     *
+     * @return the number of formats cached.
+     */
+    int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
     }
 
     @Override
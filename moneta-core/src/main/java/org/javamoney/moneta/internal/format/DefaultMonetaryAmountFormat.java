@@ -36,9 +36,9 @@ import javax.money.format.MonetaryParseException;
  * Formats instances of {@code MonetaryAmount} to a {@link String} or an
  * {@link Appendable}.
  * <p>
- * Instances of this class are not thread-safe. Basically when using
- * {@link MonetaryAmountFormat} instances a new instance should be created on
- * each access.
+ * Instances of this class are immutable and thread-safe, so a single instance
+ * can be shared by all threads. Numbers are printed directly to the target
+ * {@link Appendable}, without creating intermediate strings.
  *
  * @author Anatole Tresch
  * @author Werner Keil
@@ -202,7 +202,10 @@ final class DefaultMonetaryAmountFormat implements MonetaryAmountFormat {
         if (factory == null) {
             factory = Monetary.getDefaultAmountFactory();
         }
-        return factory.setCurrency(unit).setNumber(num).create();
+        // factories are builders, the factory configured may be shared by threads using this format
+        synchronized (factory) {
+            return factory.setCurrency(unit).setNumber(num).create();
+        }
     }
 
     /*
@@ -23,11 +23,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Timer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,6 +36,7 @@ import javax.money.spi.Bootstrap;
 import org.javamoney.moneta.spi.LoadDataInformation;
 import org.javamoney.moneta.spi.LoadDataInformationBuilder;
 import org.javamoney.moneta.spi.LoaderService;
+import org.javamoney.moneta.spi.MonetaryConfig;
 
 /**
  * This class provides a mechanism to register resources, that may be updated
@@ -52,6 +53,12 @@ public class DefaultLoaderService implements LoaderService {
      * Logger used.
      */
     private static final Logger LOG = Logger.getLogger(DefaultLoaderService.class.getName());
+    /**
+     * Configuration key for the number of threads running scheduled loads (default = 2).
+     */
+    static final String SCHEDULER_POOL_SIZE_KEY = "load.scheduler.poolSize";
+
+    private static final int DEFAULT_SCHEDULER_POOL_SIZE = 2;
     /**
      * The data resources managed by this instance.
      */
@@ -67,16 +74,16 @@ public class DefaultLoaderService implements LoaderService {
      */
     private static final ResourceCache CACHE = loadResourceCache();
     /**
-     * The thread pool used for loading of data, triggered by the timer.
+     * The thread pool used for asynchronous loading of data.
      */
     private final ExecutorService executors = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
 
     private DefaultLoaderServiceFacade defaultLoaderServiceFacade;
 
     /**
-     * The timer used for schedules.
+     * The scheduler used for scheduled loads.
      */
-    private volatile Timer timer;
+    private volatile ScheduledExecutorService scheduler;
 
     /**
      * Constructor, initializing from config.
@@ -86,21 +93,33 @@ public class DefaultLoaderService implements LoaderService {
     }
 
     /**
-     * This method reads initial loads from the javamoney.properties and installs the according timers.
+     * This method reads initial loads from the javamoney.properties and installs the according schedules.
      */
      void initialize() {
         // Cancel any running tasks
-        Timer oldTimer = timer;
-        timer = new Timer(true);
-        if (Objects.nonNull(oldTimer)) {
-            oldTimer.cancel();
+        ScheduledExecutorService oldScheduler = scheduler;
+        scheduler = Executors.newScheduledThreadPool(getSchedulerPoolSize(), DaemonThreadFactory.INSTANCE);
+        if (Objects.nonNull(oldScheduler)) {
+            oldScheduler.shutdownNow();
         }
         // (re)initialize
         LoaderConfigurator configurator = new LoaderConfigurator(this);
-        defaultLoaderServiceFacade = new DefaultLoaderServiceFacade(timer, listener, resources);
+        defaultLoaderServiceFacade = new DefaultLoaderServiceFacade(scheduler, listener, resources);
         configurator.load();
     }
 
+    private static int getSchedulerPoolSize() {
+        String value = MonetaryConfig.getConfig().get(SCHEDULER_POOL_SIZE_KEY);
+        if (Objects.nonNull(value)) {
+            try {
+                return Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                LOG.warning("Invalid " + SCHEDULER_POOL_SIZE_KEY + ": " + value);
+            }
+        }
+        return DEFAULT_SCHEDULER_POOL_SIZE;
+    }
+
     /**
      * Loads the cache to be used.
      *
@@ -281,6 +300,7 @@ public class DefaultLoaderService implements LoaderService {
                 .orElseThrow(() -> new IllegalArgumentException("No such resource: " + resourceId));
         if (load.resetToFallback()) {
         	listener.trigger(resourceId, load.getDataStream());
+        	load.markDelivered();
         }
     }
 
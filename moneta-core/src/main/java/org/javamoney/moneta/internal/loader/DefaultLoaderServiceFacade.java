@@ -16,7 +16,7 @@
 package org.javamoney.moneta.internal.loader;
 
 import java.util.Map;
-import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
 
 class DefaultLoaderServiceFacade {
 
@@ -28,8 +28,9 @@ class DefaultLoaderServiceFacade {
 
 	private final LoadRemoteDataLoaderService loadRemoteDataLoaderService;
 
-	DefaultLoaderServiceFacade(Timer timer, DefaultLoaderListener listener, Map<String, LoadableResource> resources){
-		this.scheduledDataLoaderService = new ScheduledDataLoaderService(timer, listener);
+	DefaultLoaderServiceFacade(ScheduledExecutorService scheduler, DefaultLoaderListener listener,
+			Map<String, LoadableResource> resources){
+		this.scheduledDataLoaderService = new ScheduledDataLoaderService(scheduler, listener);
 		this.loadDataLoaderService = new LoadDataLoaderService(listener);
 		this.loadDataLocalLoaderService = new LoadDataLocalLoaderService(resources, listener);
 		this.loadRemoteDataLoaderService = new LoadRemoteDataLoaderService(listener);
@@ -39,6 +39,7 @@ public class LoadDataLoaderService {
 				if (load.load()) {
 					LOG.log(Level.INFO, "Read data from: " + load.getRemoteResources());
 					listener.trigger(resourceId, load.getDataStream());
+					load.markDelivered();
 					LOG.log(Level.INFO, "New data successfully loaded from: " + load.getRemoteResources());
 					return true;
 				}
@@ -50,6 +51,7 @@ public class LoadDataLoaderService {
 				if (load.loadFallback()) {
 					LOG.log(Level.WARNING, "Read fallback data from: " + load.getFallbackResource());
 					listener.trigger(resourceId, load.getDataStream());
+					load.markDelivered();
 					LOG.log(Level.WARNING, "Loaded fallback data from: " + load.getFallbackResource());
 					return true;
 				}
@@ -42,6 +42,7 @@ class LoadDataLocalLoaderService {
 	            try {
 	                if (load.loadFallback()) {
 	                	listener.trigger(resourceId, load.getDataStream());
+	                	load.markDelivered();
 	                    return true;
 	                }
 	            } catch (Exception e) {
@@ -38,8 +38,12 @@ class LoadRemoteDataLoaderService {
 			try {
 				load.readCache();
 				listener.trigger(resourceId, load.getDataStream());
+				load.markDelivered();
 				load.loadRemote();
-				listener.trigger(resourceId, load.getDataStream());
+				if (!load.isUnchanged() || !load.isDelivered()) {
+					listener.trigger(resourceId, load.getDataStream());
+					load.markDelivered();
+				}
 				LOG.info("The exchange rate with resourceId " + resourceId + " was started remotely");
 				return true;
 			} catch (Exception e) {
@@ -20,6 +20,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.SoftReference;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
@@ -29,7 +30,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,6 +50,12 @@ public class LoadableResource {
      * The logger used.
      */
     private static final Logger LOG = Logger.getLogger(LoadableResource.class.getName());
+    /**
+     * Suffix of the cache entry holding the HTTP validators of a resource.
+     */
+    private static final String VALIDATORS_SUFFIX = ".http";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
     /**
      * Lock for this instance.
      */
@@ -83,6 +92,26 @@ public class LoadableResource {
      * THe timestamp of the last successful load.
      */
     private long lastLoaded;
+    /**
+     * The HTTP entity tag of the cached data, or null.
+     */
+    private volatile String etag;
+    /**
+     * The HTTP last modification date of the cached data, or null.
+     */
+    private volatile String lastModified;
+    /**
+     * True, if the last remote load found the cached data to be up to date.
+     */
+    private volatile boolean unchanged;
+    /**
+     * True, if the current data has been passed to the listeners by this instance.
+     */
+    private volatile boolean delivered;
+    /**
+     * The remote location the current data was loaded from, or null.
+     */
+    private volatile URI dataSource;
     /**
      * The time to live (TTL) of cache entries in milliseconds, by default 24 h.
      */
@@ -136,16 +165,26 @@ public class LoadableResource {
 
     /**
      * Loads the resource, first from the remote resources, if that fails from
-     * the fallback location.
+     * the fallback location. If the cached data has expired, it is revalidated
+     * remotely, so it is only downloaded again, if it has been modified.
      *
      * @return true, if load succeeded.
+     * @see #isUnchanged()
      */
     public boolean load() {
+        unchanged = false;
+        boolean remoteFailed = false;
         if ((lastLoaded + cacheTTLMillis) <= System.currentTimeMillis()) {
+            if (!LoaderService.UpdatePolicy.NEVER.equals(updatePolicy)) {
+                if (loadRemote()) {
+                    return true;
+                }
+                remoteFailed = true;
+            }
             clearCache();
         }
         if (!readCache()) {
-            if (shouldReadDataFromFallback()) {
+            if (remoteFailed || shouldReadDataFromFallback()) {
                 return loadFallback();
             }
         }
@@ -210,6 +249,33 @@ public class LoadableResource {
         return new WrappedInputStream(new ByteArrayInputStream(getData()));
     }
 
+    /**
+     * Evaluates if the last remote load found the data unchanged (HTTP 304 Not Modified), so the data
+     * need not be parsed again by listeners, which already received it.
+     *
+     * @return true, if the data was not modified remotely.
+     */
+    public final boolean isUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * Evaluates if the current data has already been passed to the listeners by this instance. This is not
+     * the case for data revalidated from the cache after a restart, even if it was not modified remotely.
+     *
+     * @return true, if {@link #markDelivered()} was called since the data was last set.
+     */
+    final boolean isDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Marks the current data as passed to the listeners.
+     */
+    final void markDelivered() {
+        delivered = true;
+    }
+
     /**
      * Get the timestamp of the last succesful load.
      *
@@ -264,7 +330,10 @@ public class LoadableResource {
     protected void clearCache() {
         if (this.cache != null) {
             this.cache.clear(resourceId);
+            this.cache.clear(resourceId + VALIDATORS_SUFFIX);
         }
+        this.etag = null;
+        this.lastModified = null;
     }
 
     /**
@@ -280,6 +349,7 @@ public class LoadableResource {
                 byte[] data = this.cache.read(resourceId);
                 if (data != null) {
                     setData(data);
+                    readValidators();
                     return true;
                 }
             }
@@ -298,8 +368,60 @@ public class LoadableResource {
             if (data == null) {
                 return;
             }
-            this.cache.write(resourceId, data);
+            this.cache.write(resourceId, data, dataSource);
+            writeValidators();
+        }
+    }
+
+    private void readValidators() {
+        String validatorsId = resourceId + VALIDATORS_SUFFIX;
+        try {
+            byte[] bytes = this.cache.isCached(validatorsId) ? this.cache.read(validatorsId) : null;
+            if (Objects.isNull(bytes)) {
+                return;
+            }
+            Properties validators = new Properties();
+            validators.load(new ByteArrayInputStream(bytes));
+            this.etag = validators.getProperty(ETAG);
+            this.lastModified = validators.getProperty(LAST_MODIFIED);
+        } catch (Exception e) {
+            LOG.log(Level.FINEST, "Failed to read HTTP validators of " + resourceId, e);
+        }
+    }
+
+    private void writeValidators() throws IOException {
+        String validatorsId = resourceId + VALIDATORS_SUFFIX;
+        if (Objects.isNull(etag) && Objects.isNull(lastModified)) {
+            this.cache.clear(validatorsId);
+            return;
         }
+        Properties validators = new Properties();
+        if (Objects.nonNull(etag)) {
+            validators.setProperty(ETAG, etag);
+        }
+        if (Objects.nonNull(lastModified)) {
+            validators.setProperty(LAST_MODIFIED, lastModified);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        validators.store(out, null);
+        this.cache.write(validatorsId, out.toByteArray());
+    }
+
+    /**
+     * Evaluates if a conditional request can be made, i.e. if there are validators and the data they belong
+     * to is available.
+     *
+     * @return true, if a 304 (Not Modified) response could be handled.
+     */
+    private boolean canRevalidate() {
+        boolean cached = Objects.nonNull(cache) && cache.isCached(resourceId);
+        if (Objects.isNull(etag) && Objects.isNull(lastModified) && cached) {
+            readValidators();
+        }
+        if (Objects.isNull(etag) && Objects.isNull(lastModified)) {
+            return false;
+        }
+        return Objects.nonNull(getData(false)) || cached;
     }
 
     /**
@@ -311,12 +433,38 @@ public class LoadableResource {
      * @param fallbackLoad true, for a fallback URL.
      */
     protected boolean load(URI itemToLoad, boolean fallbackLoad) {
+        unchanged = false;
         InputStream is = null;
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
         try {
             URLConnection conn = itemToLoad.toURL().openConnection();
-            byte[] data = new byte[4096];
+            HttpURLConnection httpConn = conn instanceof HttpURLConnection ? (HttpURLConnection) conn : null;
+            if (Objects.nonNull(httpConn)) {
+                httpConn.setRequestProperty("Accept-Encoding", "gzip");
+                if (!fallbackLoad && canRevalidate()) {
+                    if (Objects.nonNull(etag)) {
+                        httpConn.setRequestProperty("If-None-Match", etag);
+                    }
+                    if (Objects.nonNull(lastModified)) {
+                        httpConn.setRequestProperty("If-Modified-Since", lastModified);
+                    }
+                }
+                if (httpConn.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    if (!fallbackLoad && (Objects.nonNull(getData(false)) || readCache())) {
+                        LOG.finest(() -> "Resource not modified: " + resourceId + " at " + itemToLoad);
+                        unchanged = true;
+                        lastLoaded = System.currentTimeMillis();
+                        return true;
+                    }
+                    LOG.info("Resource not modified, but cached data is not available: " + resourceId);
+                    return false;
+                }
+            }
+            byte[] data = new byte[16384];
             is = conn.getInputStream();
+            if ("gzip".equalsIgnoreCase(conn.getContentEncoding())) {
+                is = new GZIPInputStream(is);
+            }
             int read = is.read(data);
             while (read > 0) {
                 stream.write(data, 0, read);
@@ -324,6 +472,11 @@ public class LoadableResource {
             }
             setData(stream.toByteArray());
             if (!fallbackLoad) {
+                if (Objects.nonNull(httpConn)) {
+                    etag = httpConn.getHeaderField(ETAG);
+                    lastModified = httpConn.getHeaderField(LAST_MODIFIED);
+                }
+                dataSource = itemToLoad;
                 writeCache();
                 lastLoaded = System.currentTimeMillis();
                 loadCount.incrementAndGet();
@@ -383,6 +536,7 @@ public class LoadableResource {
     }
 
     protected final void setData(byte[] bytes) {
+        this.delivered = false;
         this.data = new SoftReference<>(bytes);
     }
 
@@ -435,6 +589,16 @@ public class LoadableResource {
             return wrapped.read();
         }
 
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return wrapped.read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return wrapped.available();
+        }
+
         @Override
         public void close() throws IOException {
             try {
@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.loader;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * {@link ResourceCache} storing each resource in a memory-mapped file, that can be shared by several VMs.
+ * <p>
+ * Each file starts with a header holding a magic number, a format version, the time the data was written, a
+ * CRC32 checksum and the length of the data, and the location the data was loaded from, followed by the data.
+ * Files are verified when mapped, corrupt files are ignored. {@link #readBuffer(String)} returns read-only views
+ * of the mapped data, without copying, to callers using the cache directly. {@link LoadableResource} keeps its
+ * data on the heap, so it still copies the data once, using {@link #read(String)}. Files are written to a
+ * temporary file first, which then is atomically renamed, so readers never see partially written files. If
+ * another VM replaced a file, it is mapped again on the next read.
+ * <p>
+ * On Windows a file cannot be replaced or deleted while it is mapped. The cache drops its own mapping of a
+ * resource before writing or clearing it, but a mapping is only released, when all buffers of it have been
+ * garbage collected. Until then, writing or clearing the resource fails, in this or another VM, so on Windows
+ * {@link DefaultResourceCache} should be preferred.
+ * <p>
+ * To use this cache, register it as {@link ResourceCache} service, e.g. in
+ * {@code META-INF/services/org.javamoney.moneta.internal.loader.ResourceCache}.
+ *
+ * @since 1.2
+ */
+public class MappedResourceCache implements ResourceCache {
+    /**
+     * The logger used.
+     */
+    private static final Logger LOG = Logger.getLogger(MappedResourceCache.class.getName());
+    /**
+     * Suffix for files created.
+     */
+    private static final String SUFFIX = ".bin";
+    /**
+     * The magic number of the files, "JMRC".
+     */
+    private static final int MAGIC = 0x4A4D5243;
+    private static final short VERSION = 1;
+    /**
+     * The header size without the source location: magic, version, timestamp, checksum, data length and
+     * source length.
+     */
+    private static final int FIXED_HEADER_SIZE = 4 + 2 + 8 + 8 + 4 + 2;
+    /**
+     * The cache directory.
+     */
+    private final Path localDir;
+    /**
+     * The mapped resources.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor, using the same directory as {@link DefaultResourceCache}.
+     */
+    public MappedResourceCache() {
+        this(Paths.get(System.getProperty("temp.dir", ".resourceCache")));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param localDir the cache directory, not null. It is created, if it does not exist.
+     */
+    public MappedResourceCache(Path localDir) {
+        Path dir = Objects.requireNonNull(localDir);
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, "Error creating cache dir  " + dir + ", resource cache disabled!", e);
+            dir = null;
+        }
+        this.localDir = dir;
+    }
+
+    @Override
+    public void write(String resourceId, byte[] data) throws IOException {
+        write(resourceId, data, null);
+    }
+
+    @Override
+    public void write(String resourceId, byte[] data, URI source) throws IOException {
+        if (Objects.isNull(localDir)) {
+            return;
+        }
+        Path file = getFile(resourceId);
+        Path temp = Files.createTempFile(localDir, resourceId, ".tmp");
+        try {
+            CRC32 checksum = new CRC32();
+            checksum.update(data, 0, data.length);
+            byte[] sourceBytes = Objects.isNull(source) ? new byte[0]
+                    : source.toString().getBytes(StandardCharsets.UTF_8);
+            if (sourceBytes.length > Short.MAX_VALUE) {
+                sourceBytes = new byte[0];
+            }
+            ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE + sourceBytes.length);
+            header.putInt(MAGIC).putShort(VERSION).putLong(System.currentTimeMillis()).putLong(checksum.getValue())
+                    .putInt(data.length).putShort((short) sourceBytes.length).put(sourceBytes);
+            header.flip();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer body = ByteBuffer.wrap(data);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, body});
+                }
+                channel.force(true);
+            }
+            // release our mapping first, as mapped files cannot be replaced on all platforms
+            entries.remove(resourceId);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean isCached(String resourceId) {
+        return Objects.nonNull(getEntry(resourceId));
+    }
+
+    @Override
+    public byte[] read(String resourceId) {
+        ByteBuffer buffer = readBuffer(resourceId);
+        if (Objects.isNull(buffer)) {
+            return null;
+        }
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    /**
+     * Reads the given resource as a read-only view of the mapped file, without copying. The view keeps the
+     * file mapped, until it is garbage collected.
+     *
+     * @param resourceId the resource id.
+     * @return the data of the resource, or {@code null}, if not cached or corrupt.
+     */
+    @Override
+    public ByteBuffer readBuffer(String resourceId) {
+        Entry entry = getEntry(resourceId);
+        return Objects.isNull(entry) ? null : entry.data.duplicate();
+    }
+
+    /**
+     * Access the time the given resource was written to the cache.
+     *
+     * @param resourceId the resource id.
+     * @return the time in milliseconds since the epoch, or -1, if not cached.
+     */
+    public long getTimestamp(String resourceId) {
+        Entry entry = getEntry(resourceId);
+        return Objects.isNull(entry) ? -1L : entry.timestamp;
+    }
+
+    /**
+     * Access the location the given resource was loaded from.
+     *
+     * @param resourceId the resource id.
+     * @return the location, or {@code null}, if not cached or unknown.
+     */
+    public URI getSource(String resourceId) {
+        Entry entry = getEntry(resourceId);
+        return Objects.isNull(entry) ? null : entry.source;
+    }
+
+    @Override
+    public void clear(String resourceId) {
+        entries.remove(resourceId);
+        if (Objects.nonNull(localDir)) {
+            try {
+                Files.deleteIfExists(getFile(resourceId));
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to delete caching file for: " + resourceId, e);
+            }
+        }
+    }
+
+    private Path getFile(String resourceId) {
+        return localDir.resolve(resourceId + SUFFIX);
+    }
+
+    /**
+     * Get the mapped entry, mapping the file again, if it was replaced.
+     *
+     * @param resourceId the resource id.
+     * @return the entry, or null, if not cached or corrupt.
+     */
+    private Entry getEntry(String resourceId) {
+        if (Objects.isNull(localDir)) {
+            return null;
+        }
+        Path file = getFile(resourceId);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            entries.remove(resourceId);
+            return null;
+        }
+        Entry entry = entries.get(resourceId);
+        if (Objects.nonNull(entry) && entry.isCurrent(attributes)) {
+            return entry;
+        }
+        entry = map(file, attributes);
+        if (Objects.isNull(entry)) {
+            entries.remove(resourceId);
+        } else {
+            entries.put(resourceId, entry);
+        }
+        return entry;
+    }
+
+    private Entry map(Path file, BasicFileAttributes attributes) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FIXED_HEADER_SIZE || size > Integer.MAX_VALUE) {
+                LOG.warning("Ignoring invalid cache file: " + file);
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt() != MAGIC || mapped.getShort() != VERSION) {
+                LOG.warning("Ignoring cache file with unknown format: " + file);
+                return null;
+            }
+            long timestamp = mapped.getLong();
+            long checksum = mapped.getLong();
+            int length = mapped.getInt();
+            int sourceLength = mapped.getShort();
+            if (sourceLength < 0 || length < 0 || mapped.remaining() != (long) sourceLength + length) {
+                LOG.warning("Ignoring truncated cache file: " + file);
+                return null;
+            }
+            byte[] sourceBytes = new byte[sourceLength];
+            mapped.get(sourceBytes);
+            ByteBuffer data = mapped.slice().asReadOnlyBuffer();
+            CRC32 crc = new CRC32();
+            crc.update(data.duplicate());
+            if (crc.getValue() != checksum) {
+                LOG.warning("Ignoring cache file with invalid checksum: " + file);
+                return null;
+            }
+            URI source = sourceLength == 0 ? null : URI.create(new String(sourceBytes, StandardCharsets.UTF_8));
+            return new Entry(data, timestamp, source, attributes);
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Failed to map cache file: " + file, e);
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedResourceCache [localDir=" + localDir + ", entries=" + entries.keySet() + ']';
+    }
+
+    /**
+     * A verified, mapped cache file.
+     */
+    private static final class Entry {
+
+        private final ByteBuffer data;
+        private final long timestamp;
+        private final URI source;
+        private final FileTime lastModified;
+        private final Object fileKey;
+        private final long size;
+
+        Entry(ByteBuffer data, long timestamp, URI source, BasicFileAttributes attributes) {
+            this.data = data;
+            this.timestamp = timestamp;
+            this.source = source;
+            this.lastModified = attributes.lastModifiedTime();
+            this.fileKey = attributes.fileKey();
+            this.size = attributes.size();
+        }
+
+        boolean isCurrent(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime())
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+
+}
@@ -16,6 +16,8 @@
 package org.javamoney.moneta.internal.loader;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
 
 /**
  * Abstraction of a {@link ResourceCache}. By default a file cache is used:
@@ -37,6 +39,24 @@ public interface ResourceCache {
      */
     void write(String resourceId, byte[] data)throws IOException;
 
+    /**
+     * Write the given byte array to the format store and register it on the
+     * given resource ID, together with the location it was loaded from. By
+     * default the location is ignored.
+     *
+     * @param resourceId
+     *            the resource id, never {@code null}.
+     * @param data
+     *            the data
+     * @param source
+     *            the location the data was loaded from, or {@code null}.
+     * @throws IOException
+     *             when an IO error occurs.
+     */
+    default void write(String resourceId, byte[] data, URI source) throws IOException {
+        write(resourceId, data);
+    }
+
     /**
      * Allows to query if a resource with the given id is present within the
      * local cache.
@@ -58,6 +78,20 @@ public interface ResourceCache {
      */
     byte[] read(String resourceId);
 
+    /**
+     * Reads the given resource, identified by the resourceId, from the cache
+     * as a read-only buffer. Implementations may return a view of their
+     * storage, by default the data read by {@link #read(String)} is wrapped.
+     *
+     * @param resourceId
+     *            the resource id.
+     * @return the data of the resource, or {@code null}.
+     */
+    default ByteBuffer readBuffer(String resourceId) {
+        byte[] data = read(resourceId);
+        return data == null ? null : ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
     /**
      * Remove a cache entry.
      * @param resourceId the resource identifier, not null.
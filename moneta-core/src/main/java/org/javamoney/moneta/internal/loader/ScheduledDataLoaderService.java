@@ -20,51 +20,188 @@ import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Schedules the regular reloading of resources on a {@link ScheduledExecutorService}. Each load reschedules
+ * itself, so slow or failing resources do not delay others. Besides {@code period}, {@code delay} and
+ * {@code at}, the following resource properties are supported:
+ * <ul>
+ * <li>{@code jitter}: the maximal random delay (HH:mm:ss:nnn) added to each scheduled load, default none.</li>
+ * <li>{@code backoff}: the delay (HH:mm:ss:nnn) before the first retry of a failed load, doubled for each
+ * further failure, but never longer than the period, default 1 minute.</li>
+ * <li>{@code maxConcurrentLoads}: the maximal number of scheduled loads of the resource running at the same
+ * time, further loads are skipped, default 1.</li>
+ * </ul>
+ * Invalid values of these properties are logged, and the default is used.
+ */
 class ScheduledDataLoaderService {
 
 	private static final Logger LOG = Logger.getLogger(ScheduledDataLoaderService.class.getName());
 
-	private final Timer timer;
+	private static final long DAY_MS = 3_600_000L * 24;
+
+	private static final long DEFAULT_BACKOFF_MS = 60_000L;
+
+	private final ScheduledExecutorService executor;
 	private final DefaultLoaderListener listener;
 
-	ScheduledDataLoaderService(Timer timer, DefaultLoaderListener listener) {
-		this.timer = timer;
+	/**
+	 * The permits limiting concurrent loads, by resource id.
+	 */
+	private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+	ScheduledDataLoaderService(ScheduledExecutorService executor, DefaultLoaderListener listener) {
+		this.executor = executor;
 		this.listener = listener;
 	}
 
 	public void execute(final LoadableResource load) {
 	        Objects.requireNonNull(load);
-	        TimerTask task = new TimerTask() {
-	            @Override
-	            public void run() {
-	                try {
-	                    if (load.load()) {
-	                        listener.trigger(load.getResourceId(), load.getDataStream());
-	                    }
-	                } catch (Exception e) {
-	                    LOG.log(Level.SEVERE, "Failed to update remote resource: " + load.getResourceId(), e);
-	                }
-	            }
-	        };
 	        Map<String, String> props = load.getProperties();
 	        if (Objects.nonNull(props)) {
 	            String value = props.get("period");
 	            long periodMS = parseDuration(value);
 	            value = props.get("delay");
 	            long delayMS = parseDuration(value);
+	            long jitterMS = parseDuration(load, "jitter", 0L);
+	            long backoffMS = parseDuration(load, "backoff", DEFAULT_BACKOFF_MS);
+	            permits.computeIfAbsent(load.getResourceId(), id -> new Semaphore(getMaxConcurrentLoads(load)));
 	            if (periodMS > 0) {
-	                timer.scheduleAtFixedRate(task, delayMS, periodMS);
+	                new ScheduledLoad(load, periodMS, jitterMS, backoffMS).start(delayMS);
 	            } else {
 	                value = props.get("at");
 	                if (Objects.nonNull(value)) {
 	                    List<GregorianCalendar> dates = parseDates(value);
-	                    dates.forEach(date -> timer.schedule(task, date.getTime(), 3_600_000 * 24 /* daily */));
+	                    dates.forEach(date -> new ScheduledLoad(load, DAY_MS, jitterMS, backoffMS)
+	                            .start(Math.max(0L, date.getTimeInMillis() - System.currentTimeMillis())));
+	                }
+	            }
+	        }
+	    }
+
+	private static int getMaxConcurrentLoads(LoadableResource load) {
+	        String value = load.getProperties().get("maxConcurrentLoads");
+	        if (Objects.nonNull(value)) {
+	            try {
+	                return Math.max(1, Integer.parseInt(value.trim()));
+	            } catch (NumberFormatException e) {
+	                LOG.warning("Invalid maxConcurrentLoads of " + load.getResourceId() + ": " + value);
+	            }
+	        }
+	        return 1;
+	    }
+
+	/**
+	 * Parses an optional duration property of a resource, falling back to the default, if it is invalid.
+	 *
+	 * @param load      the resource, not null.
+	 * @param key       the property key.
+	 * @param defaultMS the default duration in milliseconds.
+	 * @return the duration in milliseconds.
+	 */
+	private long parseDuration(LoadableResource load, String key, long defaultMS) {
+	        String value = load.getProperties().get(key);
+	        if (Objects.nonNull(value)) {
+	            try {
+	                return parseDuration(value.trim());
+	            } catch (NumberFormatException e) {
+	                LOG.warning("Invalid " + key + " of " + load.getResourceId() + ": " + value);
+	            }
+	        }
+	        return defaultMS;
+	    }
+
+	/**
+	 * Loads the resource, respecting the concurrency limit of the resource.
+	 *
+	 * @param load the resource, not null.
+	 * @return true, if the resource was loaded or the load was skipped, false if it failed.
+	 */
+	private boolean load(LoadableResource load) {
+	        Semaphore semaphore = permits.get(load.getResourceId());
+	        if (!semaphore.tryAcquire()) {
+	            LOG.fine(() -> "Skipping scheduled load, resource is already loading: " + load.getResourceId());
+	            return true;
+	        }
+	        try {
+	            if (load.load()) {
+	                if (load.isUnchanged() && load.isDelivered()) {
+	                    LOG.finest(() -> "Resource not modified, listeners not notified: " + load.getResourceId());
+	                } else {
+	                    listener.trigger(load.getResourceId(), load.getDataStream());
+	                    load.markDelivered();
 	                }
+	                return true;
+	            }
+	            LOG.warning("Failed to update remote resource: " + load.getResourceId());
+	        } catch (Exception e) {
+	            LOG.log(Level.SEVERE, "Failed to update remote resource: " + load.getResourceId(), e);
+	        } finally {
+	            semaphore.release();
+	        }
+	        return false;
+	    }
+
+	/**
+	 * A periodic load, that reschedules itself after each run: successful loads at the next period, failed
+	 * loads with exponential backoff.
+	 */
+	private final class ScheduledLoad implements Runnable {
+
+	        private final LoadableResource load;
+	        private final long periodMS;
+	        private final long jitterMS;
+	        private final long backoffMS;
+
+	        /**
+	         * The time of the next regular load, without jitter, in ms since the epoch.
+	         */
+	        private long scheduledTime;
+	        private int failures;
+
+	        ScheduledLoad(LoadableResource load, long periodMS, long jitterMS, long backoffMS) {
+	            this.load = load;
+	            this.periodMS = periodMS;
+	            this.jitterMS = jitterMS;
+	            this.backoffMS = Math.max(1L, backoffMS);
+	        }
+
+	        void start(long delayMS) {
+	            scheduledTime = System.currentTimeMillis() + delayMS;
+	            schedule(delayMS);
+	        }
+
+	        @Override
+	        public void run() {
+	            long nextDelay;
+	            if (ScheduledDataLoaderService.this.load(load)) {
+	                failures = 0;
+	                long now = System.currentTimeMillis();
+	                do {
+	                    scheduledTime += periodMS;
+	                } while (scheduledTime <= now);
+	                nextDelay = scheduledTime - now;
+	            } else {
+	                failures++;
+	                nextDelay = Math.min(backoffMS << Math.min(failures - 1, 30), periodMS);
+	            }
+	            schedule(nextDelay);
+	        }
+
+	        private void schedule(long delayMS) {
+	            long jitter = jitterMS > 0 ? ThreadLocalRandom.current().nextLong(jitterMS + 1) : 0L;
+	            try {
+	                executor.schedule(this, delayMS + jitter, TimeUnit.MILLISECONDS);
+	            } catch (RejectedExecutionException e) {
+	                LOG.log(Level.FINEST, "Scheduler shut down, stopping updates of: " + load.getResourceId(), e);
 	            }
 	        }
 	    }
@@ -141,7 +278,7 @@ class ScheduledDataLoaderService {
 
 	@Override
 	public String toString() {
-		return ScheduledDataLoaderService.class.getName() + '{' + " timer: "
-				+ timer + '}';
+		return ScheduledDataLoaderService.class.getName() + '{' + " executor: "
+				+ executor + '}';
 	}
 }
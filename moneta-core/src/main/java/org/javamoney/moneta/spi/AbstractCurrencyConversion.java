@@ -17,6 +17,7 @@ package org.javamoney.moneta.spi;
 
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
 import javax.money.MonetaryOperator;
 import javax.money.NumberValue;
 import javax.money.convert.ConversionContext;
@@ -137,14 +138,26 @@ public abstract class AbstractCurrencyConversion implements CurrencyConversion {
      * @return the new rounding factor, never null.
      */
     protected NumberValue roundFactor(MonetaryAmount amount, NumberValue factor) {
-        if (amount.getContext().getMaxScale() > 0) {
-            MathContext mathContext = amount.getContext().get(MathContext.class);
+        return roundFactor(amount.getContext(), factor);
+    }
+
+    /**
+     * Rounds the factor as described in {@link #roundFactor(MonetaryAmount, NumberValue)}, which only depends
+     * on the amount's {@link MonetaryContext}.
+     *
+     * @param context the amount's context, not null.
+     * @param factor  the factor
+     * @return the new rounding factor, never null.
+     */
+    static NumberValue roundFactor(MonetaryContext context, NumberValue factor) {
+        if (context.getMaxScale() > 0) {
+            MathContext mathContext = context.get(MathContext.class);
             if(mathContext==null){
                 int scale = factor.getScale();
-                if (factor.getScale() > amount.getContext().getMaxScale()) {
-                    scale = amount.getContext().getMaxScale();
+                if (factor.getScale() > context.getMaxScale()) {
+                    scale = context.getMaxScale();
                 }
-                RoundingMode roundingMode = amount.getContext().get(RoundingMode.class);
+                RoundingMode roundingMode = context.get(RoundingMode.class);
                 if(roundingMode==null){
                     roundingMode = RoundingMode.HALF_EVEN;
                 }
@@ -23,6 +23,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 import javax.money.NumberValue;
@@ -74,6 +79,82 @@ public abstract class AbstractRateProvider implements ExchangeRateProvider {
     @Override
     public abstract ExchangeRate getExchangeRate(ConversionQuery conversionQuery);
 
+    /**
+     * Access an {@link ExchangeRate} asynchronously. By default the rate is evaluated by the calling
+     * thread using {@link #getExchangeRate(ConversionQuery)}, so the future returned is already
+     * completed. Providers waiting for data to be loaded override this method, so the caller is never
+     * blocked.
+     *
+     * @param conversionQuery the conversion query, not null.
+     * @return the future rate, completed with {@code null}, if no rate is available, or
+     * exceptionally, if the rate cannot be evaluated.
+     * @since 1.2
+     */
+    public CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+        try {
+            return CompletableFuture.completedFuture(getExchangeRate(conversionQuery));
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Access an {@link ExchangeRate} asynchronously from any provider, using
+     * {@link #getExchangeRateAsync(ConversionQuery)}, if available. Other providers are called
+     * synchronously, and their result or failure is returned as completed future.
+     *
+     * @param provider        the provider, not null.
+     * @param conversionQuery the conversion query, not null.
+     * @return the future rate.
+     * @since 1.2
+     */
+    public static CompletableFuture<ExchangeRate> getExchangeRateAsync(ExchangeRateProvider provider,
+                                                              ConversionQuery conversionQuery) {
+        if (provider instanceof AbstractRateProvider) {
+            return ((AbstractRateProvider) provider).getExchangeRateAsync(conversionQuery);
+        }
+        try {
+            return CompletableFuture.completedFuture(provider.getExchangeRate(conversionQuery));
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Creates a future completed exceptionally.
+     *
+     * @param exception the exception, not null.
+     * @param <T>       the type of the future.
+     * @return the failed future.
+     */
+    static <T> CompletableFuture<T> failedFuture(Throwable exception) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(exception);
+        return future;
+    }
+
+    /**
+     * Completes the given future exceptionally, if it is not completed within the given time.
+     *
+     * @param future    the future, not null.
+     * @param timeout   the time to wait.
+     * @param unit      the unit of the time to wait, not null.
+     * @param onTimeout supplies the exception to complete the future with, not null.
+     * @param <T>       the type of the future.
+     * @return the given future.
+     * @since 1.2
+     */
+    protected static <T> CompletableFuture<T> completeOnTimeout(CompletableFuture<T> future, long timeout,
+                                                               TimeUnit unit,
+                                                               Supplier<? extends RuntimeException> onTimeout) {
+        if (!future.isDone()) {
+            ScheduledFuture<?> timeoutTask = TimeoutScheduler.INSTANCE.schedule(
+                    () -> future.completeExceptionally(onTimeout.get()), timeout, unit);
+            future.whenComplete((result, exception) -> timeoutTask.cancel(false));
+        }
+        return future;
+    }
+
     @Override
     public CurrencyConversion getCurrencyConversion(ConversionQuery conversionQuery) {
         if (getContext().getRateTypes().size() == 1) {
@@ -177,4 +258,22 @@ public abstract class AbstractRateProvider implements ExchangeRateProvider {
         }
         return null;
     }
+
+    /**
+     * Holds the daemon thread completing futures on timeout, created when first used.
+     */
+    private static final class TimeoutScheduler {
+
+        static final ScheduledThreadPoolExecutor INSTANCE = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "moneta-rate-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
 }
@@ -0,0 +1,335 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+import javax.money.convert.RateType;
+
+/**
+ * This class implements a {@link ExchangeRateProvider} that caches the rates returned by another
+ * {@link ExchangeRateProvider}, typically a {@link CompoundRateProvider}, so repeated queries are not resolved
+ * from scratch by all its delegates.
+ * <p>
+ * Rates are cached by base and term currency, the dates queried (or the current rate, if none), the rate types
+ * and the provider names of the query; other query attributes are not considered. A rate expires after a
+ * configurable time, the least recently used rates are evicted if the cache exceeds its maximal size, and all
+ * rates are evicted when a {@link LoaderService} resource has been reloaded. Queries failing or returning
+ * {@code null} are never cached.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 1.2
+ */
+public class CachingRateProvider extends AbstractRateProvider implements LoaderService.LoaderListener {
+
+    /**
+     * Configuration key to enable caching of the rate providers returned by
+     * {@link javax.money.convert.MonetaryConversions}.
+     */
+    public static final String CACHE_ENABLED_KEY = "conversion.cache.enabled";
+
+    /**
+     * Configuration key for the time in milliseconds a rate is cached.
+     */
+    public static final String CACHE_TTL_KEY = "conversion.cache.ttl";
+
+    /**
+     * Configuration key for the maximal number of rates cached.
+     */
+    public static final String CACHE_MAX_SIZE_KEY = "conversion.cache.maxSize";
+
+    private static final long DEFAULT_TTL_MILLIS = 60_000L;
+
+    private static final int DEFAULT_MAX_SIZE = 1_000;
+
+    private final ExchangeRateProvider delegate;
+
+    private final long ttlNanos;
+
+    private final int maxSize;
+
+    private final LongSupplier nanoClock;
+
+    /**
+     * The cached rates in access order, guarded by itself.
+     */
+    private final LinkedHashMap<Key, Entry> cache;
+
+    /**
+     * Incremented on each invalidation, guarded by {@link #cache}. Rates loaded by the delegate are only cached,
+     * if no invalidation happened meanwhile, as they may have been evaluated from outdated data.
+     */
+    private long generation;
+
+    /**
+     * Creates a new instance, configured by {@link #CACHE_TTL_KEY} and {@link #CACHE_MAX_SIZE_KEY}.
+     *
+     * @param delegate the provider, whose rates are cached, not null.
+     * @return the new instance.
+     */
+    public static CachingRateProvider of(ExchangeRateProvider delegate) {
+        Map<String, String> config = MonetaryConfig.getConfig();
+        return new CachingRateProvider(delegate,
+                parse(config.get(CACHE_TTL_KEY), DEFAULT_TTL_MILLIS), TimeUnit.MILLISECONDS,
+                (int) parse(config.get(CACHE_MAX_SIZE_KEY), DEFAULT_MAX_SIZE));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate the provider, whose rates are cached, not null.
+     * @param ttl      the time a rate is cached, positive.
+     * @param unit     the unit of {@code ttl}, not null.
+     * @param maxSize  the maximal number of rates cached, positive.
+     */
+    public CachingRateProvider(ExchangeRateProvider delegate, long ttl, TimeUnit unit, int maxSize) {
+        this(delegate, unit.toNanos(ttl), maxSize, System::nanoTime);
+    }
+
+    CachingRateProvider(ExchangeRateProvider delegate, long ttlNanos, int maxSize, LongSupplier nanoClock) {
+        super(Objects.requireNonNull(delegate).getContext());
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("TTL must be positive: " + ttlNanos + "ns");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximal size must be positive: " + maxSize);
+        }
+        this.delegate = delegate;
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+        this.cache = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > CachingRateProvider.this.maxSize;
+            }
+        };
+    }
+
+    private static long parse(String value, long defaultValue) {
+        if (Objects.isNull(value) || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Invalidates the cache, whenever one of the given resources is reloaded. Listeners are called in the order
+     * they were added, so this instance must be registered after the providers reading the resources.
+     *
+     * @param loaderService the loader service, not null.
+     * @param resourceIds   the resources, not null. Nothing is registered, if empty.
+     * @return this instance, for chaining.
+     */
+    public CachingRateProvider invalidateOn(LoaderService loaderService, String... resourceIds) {
+        if (resourceIds.length > 0) {
+            loaderService.addLoaderListener(this, resourceIds);
+        }
+        return this;
+    }
+
+    /**
+     * Access the provider, whose rates are cached.
+     *
+     * @return the delegate, never null.
+     */
+    public ExchangeRateProvider getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+        Objects.requireNonNull(conversionQuery);
+        Key key = new Key(conversionQuery, getQueryDates(conversionQuery));
+        long now = nanoClock.getAsLong();
+        long loadGeneration = getGeneration();
+        ExchangeRate rate = getCached(key, now);
+        if (Objects.isNull(rate)) {
+            rate = delegate.getExchangeRate(conversionQuery);
+            putCached(key, rate, now, loadGeneration);
+        }
+        return rate;
+    }
+
+    @Override
+    public CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+        Objects.requireNonNull(conversionQuery);
+        Key key = new Key(conversionQuery, getQueryDates(conversionQuery));
+        long now = nanoClock.getAsLong();
+        long loadGeneration = getGeneration();
+        ExchangeRate rate = getCached(key, now);
+        if (Objects.nonNull(rate)) {
+            return CompletableFuture.completedFuture(rate);
+        }
+        return getExchangeRateAsync(delegate, conversionQuery).thenApply(loaded -> {
+            putCached(key, loaded, now, loadGeneration);
+            return loaded;
+        });
+    }
+
+    private ExchangeRate getCached(Key key, long now) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (Objects.nonNull(entry) && now - entry.created < ttlNanos) {
+            return entry.rate;
+        }
+        return null;
+    }
+
+    private long getGeneration() {
+        synchronized (cache) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches a rate loaded by the delegate.
+     *
+     * @param key            the key, not null.
+     * @param rate           the rate, not cached, if null.
+     * @param now            the time the load was started.
+     * @param loadGeneration the {@link #generation} read before the load was started, the rate is not cached,
+     *                       if the cache has been invalidated since.
+     */
+    private void putCached(Key key, ExchangeRate rate, long now, long loadGeneration) {
+        if (Objects.nonNull(rate)) {
+            synchronized (cache) {
+                if (generation == loadGeneration) {
+                    cache.put(key, new Entry(rate, now));
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts all cached rates. Rates currently loaded by the delegate are not cached, when the load completes.
+     */
+    public void invalidate() {
+        synchronized (cache) {
+            generation++;
+            cache.clear();
+        }
+    }
+
+    /**
+     * Access the number of rates currently cached, including expired rates not yet evicted.
+     *
+     * @return the number of rates cached.
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @Override
+    public void newDataLoaded(String resourceId, InputStream is) {
+        invalidate();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + '{' + " delegate: " + delegate + ", ttl: " + ttlNanos + "ns, maxSize: "
+                + maxSize + '}';
+    }
+
+    private static final class Entry {
+
+        private final ExchangeRate rate;
+
+        private final long created;
+
+        Entry(ExchangeRate rate, long created) {
+            this.rate = rate;
+            this.created = created;
+        }
+    }
+
+    /**
+     * The normalized query.
+     */
+    private static final class Key {
+
+        private final String baseCurrency;
+
+        private final String termCurrency;
+
+        /**
+         * The dates queried, or an empty list for the current rate.
+         */
+        private final List<LocalDate> dates;
+
+        private final Set<RateType> rateTypes;
+
+        private final List<String> providerNames;
+
+        private final int hashCode;
+
+        Key(ConversionQuery query, LocalDate[] dates) {
+            this.baseCurrency = Objects.isNull(query.getBaseCurrency()) ? null
+                    : query.getBaseCurrency().getCurrencyCode();
+            this.termCurrency = Objects.isNull(query.getCurrency()) ? null : query.getCurrency().getCurrencyCode();
+            this.dates = Objects.isNull(dates) ? Collections.emptyList() : Arrays.asList(dates.clone());
+            this.rateTypes = query.getRateTypes();
+            this.providerNames = query.getProviderNames();
+            this.hashCode = Objects.hash(baseCurrency, termCurrency, this.dates, rateTypes, providerNames);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && Objects.equals(baseCurrency, other.baseCurrency)
+                    && Objects.equals(termCurrency, other.termCurrency) && dates.equals(other.dates)
+                    && Objects.equals(rateTypes, other.rateTypes)
+                    && Objects.equals(providerNames, other.providerNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
@@ -28,6 +28,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -118,7 +120,47 @@ public class CompoundRateProvider extends AbstractRateProvider {
                                 " provider=" + prov.getContext().getProviderName() + ", query=" + conversionQuery);
             }
         }
-        throw new CurrencyConversionException(conversionQuery.getBaseCurrency(), conversionQuery.getCurrency(), null,
+        throw createNoRateException(conversionQuery);
+    }
+
+    /**
+     * Access an {@link ExchangeRate} asynchronously, asking the delegate providers one after the
+     * other, without blocking the caller, if they implement
+     * {@link AbstractRateProvider#getExchangeRateAsync(ConversionQuery)}.
+     *
+     * @param conversionQuery the conversion query, not null.
+     * @return the future rate, completed exceptionally with a {@link CurrencyConversionException},
+     * if no delegate delivers a rate.
+     */
+    @Override
+    public CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+        return getExchangeRateAsync(conversionQuery, 0);
+    }
+
+    private CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery, int firstIndex) {
+        for (int index = firstIndex; index < this.providers.size(); index++) {
+            ExchangeRateProvider prov = this.providers.get(index);
+            if (!prov.isAvailable(conversionQuery)) {
+                continue;
+            }
+            int nextIndex = index + 1;
+            return getExchangeRateAsync(prov, conversionQuery).handle((rate, e) -> {
+                if (Objects.nonNull(rate)) {
+                    return CompletableFuture.completedFuture(rate);
+                }
+                if (Objects.nonNull(e)) {
+                    Logger.getLogger(getClass().getName()).log(Level.WARNING,
+                            "Rate Provider did not return data though at check before data was flagged as available," +
+                                    " provider=" + prov.getContext().getProviderName() + ", query=" + conversionQuery);
+                }
+                return getExchangeRateAsync(conversionQuery, nextIndex);
+            }).thenCompose(Function.identity());
+        }
+        return failedFuture(createNoRateException(conversionQuery));
+    }
+
+    private CurrencyConversionException createNoRateException(ConversionQuery conversionQuery) {
+        return new CurrencyConversionException(conversionQuery.getBaseCurrency(), conversionQuery.getCurrency(), null,
                 "All delegate prov iders failed to deliver rate, providers=" + this.providers +
                         ", query=" + conversionQuery);
     }
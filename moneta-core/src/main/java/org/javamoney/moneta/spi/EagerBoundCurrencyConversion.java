@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryOperator;
+import javax.money.NumberValue;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+
+import org.javamoney.moneta.function.MonetaryOperators;
+
+/**
+ * This class defines a {@link CurrencyConversion} that is bound to a single {@link ExchangeRate}, resolved
+ * when the instance is created. Compared to {@link LazyBoundCurrencyConversion} no rate is looked up per
+ * amount, the rounding operator is created once, and the factor is only rounded again, if the
+ * {@link MonetaryContext} of the amounts converted changes. This makes it the conversion of choice to convert
+ * many amounts of the same currency, e.g. by {@link #applyAll(Collection)}.
+ * <p>
+ * Amounts in the term currency are returned unchanged, amounts in any other currency than the base currency
+ * of the rate fail with a {@link CurrencyConversionException}.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 1.2
+ */
+public class EagerBoundCurrencyConversion extends AbstractCurrencyConversion {
+
+    private final ExchangeRate rate;
+
+    private final ExchangeRateProvider rateProvider;
+
+    private final MonetaryOperator rounding;
+
+    /**
+     * The factor, rounded for the context of the amounts last converted.
+     */
+    private volatile RoundedFactor roundedFactor;
+
+    /**
+     * Constructor.
+     *
+     * @param rate              the rate used for all conversions, not null.
+     * @param rateProvider      the provider the rate was resolved from, not null.
+     * @param conversionContext the {@link ConversionContext} of this conversion, not null.
+     */
+    public EagerBoundCurrencyConversion(ExchangeRate rate, ExchangeRateProvider rateProvider,
+                                        ConversionContext conversionContext) {
+        super(Objects.requireNonNull(rate).getCurrency(), conversionContext);
+        this.rate = rate;
+        this.rateProvider = Objects.requireNonNull(rateProvider);
+        Integer scale = rate.getContext().get(KEY_SCALE, Integer.class);
+        this.rounding = Objects.isNull(scale) || scale < 0 ? null : MonetaryOperators.rounding(scale);
+    }
+
+    /**
+     * Access the base currency of the rate, which is the only currency converted.
+     *
+     * @return the base currency, never null.
+     */
+    public CurrencyUnit getBaseCurrency() {
+        return rate.getBaseCurrency();
+    }
+
+    /**
+     * Access the rate used.
+     *
+     * @param amount the amount, not null.
+     * @return the bound rate, or null, if the amount is not in the base currency of the rate.
+     */
+    @Override
+    public ExchangeRate getExchangeRate(MonetaryAmount amount) {
+        if (rate.getBaseCurrency().equals(amount.getCurrency())) {
+            return rate;
+        }
+        return null;
+    }
+
+    @Override
+    public ExchangeRateProvider getExchangeRateProvider() {
+        return rateProvider;
+    }
+
+    @Override
+    public MonetaryAmount apply(MonetaryAmount amount) {
+        CurrencyUnit currency = Objects.requireNonNull(amount).getCurrency();
+        if (getCurrency().equals(currency)) {
+            return amount;
+        }
+        if (!rate.getBaseCurrency().equals(currency)) {
+            throw new CurrencyConversionException(currency, getCurrency(), getContext(),
+                    "Conversion is bound to base currency " + rate.getBaseCurrency());
+        }
+        MonetaryAmount result = amount.multiply(getFactor(amount.getContext())).getFactory()
+                .setCurrency(getCurrency()).create();
+        return Objects.isNull(rounding) ? result : result.with(rounding);
+    }
+
+    /**
+     * Converts all amounts given.
+     *
+     * @param amounts the amounts, not null.
+     * @return the converted amounts, in the same order.
+     * @throws CurrencyConversionException if an amount is neither in the base nor in the term currency.
+     */
+    public List<MonetaryAmount> applyAll(Collection<? extends MonetaryAmount> amounts) {
+        List<MonetaryAmount> result = new ArrayList<>(amounts.size());
+        for (MonetaryAmount amount : amounts) {
+            result.add(apply(amount));
+        }
+        return result;
+    }
+
+    /**
+     * Converts all amounts given.
+     *
+     * @param amounts the amounts, not null.
+     * @return a new array with the converted amounts, in the same order.
+     * @throws CurrencyConversionException if an amount is neither in the base nor in the term currency.
+     */
+    public MonetaryAmount[] applyAll(MonetaryAmount... amounts) {
+        MonetaryAmount[] result = new MonetaryAmount[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            result[i] = apply(amounts[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Converts all amounts of a stream, lazily.
+     *
+     * @param amounts the amounts, not null.
+     * @return the stream of converted amounts.
+     */
+    public Stream<MonetaryAmount> applyAll(Stream<? extends MonetaryAmount> amounts) {
+        return amounts.map(this::apply);
+    }
+
+    private NumberValue getFactor(MonetaryContext context) {
+        RoundedFactor current = this.roundedFactor;
+        if (Objects.isNull(current) || (current.context != context && !current.context.equals(context))) {
+            current = new RoundedFactor(context, roundFactor(context, rate.getFactor()));
+            this.roundedFactor = current;
+        }
+        return current.factor;
+    }
+
+    @Override
+    public CurrencyConversion with(ConversionContext conversionContext) {
+        return new EagerBoundCurrencyConversion(rate, rateProvider, conversionContext);
+    }
+
+    @Override
+    public String toString() {
+        return "CurrencyConversion [MonetaryAmount -> MonetaryAmount; provider=" + rateProvider + ", context=" +
+                getContext() + ", baseCurrency=" + rate.getBaseCurrency() + ", termCurrency=" + getCurrency() + ']';
+    }
+
+    private static final class RoundedFactor {
+
+        private final MonetaryContext context;
+
+        private final NumberValue factor;
+
+        RoundedFactor(MonetaryContext context, NumberValue factor) {
+            this.context = context;
+            this.factor = factor;
+        }
+    }
+
+}
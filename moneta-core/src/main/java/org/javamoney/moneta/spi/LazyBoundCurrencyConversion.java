@@ -15,12 +15,15 @@
  */
 package org.javamoney.moneta.spi;
 
+import java.util.Objects;
+
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
 import javax.money.convert.ConversionContext;
 import javax.money.convert.ConversionQuery;
 import javax.money.convert.ConversionQueryBuilder;
 import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
 import javax.money.convert.ExchangeRate;
 import javax.money.convert.ExchangeRateProvider;
 
@@ -61,6 +64,25 @@ public class LazyBoundCurrencyConversion extends AbstractCurrencyConversion impl
         // getCurrency());
     }
 
+    /**
+     * Resolves the rate from the given base currency once and returns a conversion bound to it, e.g. to
+     * convert many amounts of the same currency.
+     *
+     * @param baseCurrency the base currency of the amounts to be converted, not null.
+     * @return a conversion bound to the current rate, never null.
+     * @throws CurrencyConversionException if no rate is available.
+     * @see EagerBoundCurrencyConversion
+     */
+    public EagerBoundCurrencyConversion bind(CurrencyUnit baseCurrency) {
+        ExchangeRate rate = this.rateProvider.getExchangeRate(ConversionQueryBuilder
+                .of(conversionQuery).setBaseCurrency(baseCurrency)
+                .build());
+        if (Objects.isNull(rate)) {
+            throw new CurrencyConversionException(baseCurrency, getCurrency(), getContext());
+        }
+        return new EagerBoundCurrencyConversion(rate, rateProvider, getContext());
+    }
+
     @Override
     public ExchangeRateProvider getExchangeRateProvider() {
         return this.rateProvider;
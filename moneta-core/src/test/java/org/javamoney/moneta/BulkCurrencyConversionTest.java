@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.spi.DefaultNumberValue;
+import org.javamoney.moneta.spi.LazyBoundCurrencyConversion;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class BulkCurrencyConversionTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+    private static final CurrencyUnit JPY = Monetary.getCurrency("JPY");
+    private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+    private static final CurrencyUnit IDR = Monetary.getCurrency("IDR");
+
+    /**
+     * Reversed rates, as evaluated by the ECB providers.
+     */
+    private static final BigDecimal CHF_FACTOR = BigDecimal.ONE.divide(new BigDecimal("0.9376"), MathContext.DECIMAL64);
+    private static final BigDecimal IDR_FACTOR = BigDecimal.ONE.divide(new BigDecimal("16234.5"),
+            MathContext.DECIMAL64);
+
+    private static final int EUR_ID = 0;
+    private static final int USD_ID = 1;
+    private static final int JPY_ID = 2;
+
+    private final AtomicInteger rateCalls = new AtomicInteger();
+
+    private BulkCurrencyConversion conversion;
+
+    @BeforeMethod
+    public void setUp() {
+        rateCalls.set(0);
+        conversion = BulkCurrencyConversion.of(createProvider(), USD, EUR, USD, JPY);
+    }
+
+    @Test
+    public void testConvertLong() {
+        long[] minorUnits = {100L, 1000L, 5L, -250L};
+        int[] currencyIds = {EUR_ID, JPY_ID, USD_ID, EUR_ID};
+        long[] result = new long[minorUnits.length];
+        conversion.convert(minorUnits, currencyIds, result, RoundingMode.HALF_EVEN);
+        // 1000 JPY are 925.925... cents
+        assertEquals(result, new long[]{110L, 926L, 5L, -275L});
+        conversion.convert(minorUnits, currencyIds, minorUnits, RoundingMode.DOWN);
+        assertEquals(minorUnits, new long[]{110L, 925L, 5L, -275L});
+        assertEquals(rateCalls.get(), 2);
+    }
+
+    @Test
+    public void testConvertLongWithReciprocalFactors() {
+        BulkCurrencyConversion reciprocal = BulkCurrencyConversion.of(createProvider(), EUR, CHF, IDR);
+        assertTrue(reciprocal.isLongArithmetic(0));
+        assertTrue(reciprocal.isLongArithmetic(1));
+        long[] minorUnits = {123456789L, -987654321987L, 1L, 50L, 999999999999999L};
+        int[] currencyIds = {0, 1, 0, 1, 1};
+        for (RoundingMode roundingMode : new RoundingMode[]{RoundingMode.HALF_EVEN, RoundingMode.UP,
+                RoundingMode.FLOOR}) {
+            long[] result = new long[minorUnits.length];
+            reciprocal.convert(minorUnits, currencyIds, result, roundingMode);
+            for (int i = 0; i < minorUnits.length; i++) {
+                BigDecimal factor = currencyIds[i] == 0 ? CHF_FACTOR : IDR_FACTOR;
+                assertEquals(result[i], BigDecimal.valueOf(minorUnits[i]).multiply(factor).setScale(0, roundingMode)
+                        .longValueExact());
+            }
+        }
+    }
+
+    @Test
+    public void testConvertDouble() {
+        double[] minorUnits = {100d, 250d, 1d};
+        double[] result = new double[minorUnits.length];
+        conversion.convert(minorUnits, new int[]{EUR_ID, EUR_ID, EUR_ID}, result);
+        assertEquals(result[0], 110d, 1e-9);
+        assertEquals(result[1], 275d, 1e-9);
+        assertEquals(result[2], 1.1d, 1e-9);
+        conversion.convert(minorUnits, new int[]{EUR_ID, USD_ID, JPY_ID}, result);
+        assertEquals(result[0], 110d, 1e-9);
+        assertEquals(result[1], 250d, 1e-9);
+        assertEquals(result[2], 0.925925925925926d, 1e-9);
+        assertEquals(rateCalls.get(), 2);
+    }
+
+    @Test
+    public void testConvertEmpty() {
+        conversion.convert(new double[0], new int[0], new double[0]);
+        conversion.convert(new long[0], new int[0], new long[0], RoundingMode.HALF_EVEN);
+        assertEquals(rateCalls.get(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownCurrencyId() {
+        conversion.convert(new long[]{1L}, new int[]{3}, new long[1], RoundingMode.HALF_EVEN);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLengthMismatch() {
+        conversion.convert(new double[2], new int[]{EUR_ID}, new double[2]);
+    }
+
+    @Test
+    public void testGetCurrencies() {
+        assertEquals(conversion.getCurrency(), USD);
+        assertEquals(conversion.getCurrencies(), new CurrencyUnit[]{EUR, USD, JPY});
+    }
+
+    private ExchangeRateProvider createProvider() {
+        return new ExchangeRateProvider() {
+            @Override
+            public ProviderContext getContext() {
+                return ProviderContextBuilder.of("test", RateType.OTHER).build();
+            }
+
+            @Override
+            public ExchangeRate getExchangeRate(ConversionQuery query) {
+                rateCalls.incrementAndGet();
+                BigDecimal factor;
+                switch (query.getBaseCurrency().getCurrencyCode()) {
+                    case "EUR":
+                        factor = new BigDecimal("1.1");
+                        break;
+                    case "CHF":
+                        factor = CHF_FACTOR;
+                        break;
+                    case "IDR":
+                        factor = IDR_FACTOR;
+                        break;
+                    default:
+                        factor = new BigDecimal("0.00925925925925925925");
+                }
+                return new ExchangeRateBuilder("test", RateType.OTHER).setBase(query.getBaseCurrency())
+                        .setTerm(query.getCurrency()).setFactor(DefaultNumberValue.of(factor)).build();
+            }
+
+            @Override
+            public CurrencyConversion getCurrencyConversion(ConversionQuery query) {
+                return new LazyBoundCurrencyConversion(query, this, ConversionContext.of("test", RateType.OTHER));
+            }
+        };
+    }
+
+}
@@ -30,12 +30,14 @@ import java.io.ObjectOutputStream;
 import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
 import javax.money.MonetaryOperator;
 import javax.money.MonetaryQuery;
 
@@ -363,6 +365,53 @@ public class FastMoneyTest {
         assertEquals(FastMoney.of(BigDecimal.valueOf(20), "CHF"), m.divide(5.0d));
     }
 
+    /**
+     * Test method for {@link org.javamoney.moneta.FastMoney#divide(long, java.math.RoundingMode)}.
+     */
+    @Test
+    public void testDivideLongRoundingMode() {
+        FastMoney m = FastMoney.of(100, "CHF");
+        assertEquals(FastMoney.of(new BigDecimal("33.33333"), "CHF"), m.divide(3L));
+        assertEquals(FastMoney.of(new BigDecimal("33.33334"), "CHF"), m.divide(3L, RoundingMode.UP));
+        assertEquals(FastMoney.of(new BigDecimal("-33.33334"), "CHF"), m.divide(-3L, RoundingMode.FLOOR));
+        assertEquals(FastMoney.of(new BigDecimal("-33.33333"), "CHF"), m.divide(-3L, RoundingMode.CEILING));
+        m = FastMoney.of(new BigDecimal("0.00005"), "CHF");
+        assertEquals(FastMoney.of(new BigDecimal("0.00002"), "CHF"), m.divide(2L));
+        assertEquals(FastMoney.of(new BigDecimal("0.00003"), "CHF"), m.divide(2L, RoundingMode.HALF_UP));
+        assertEquals(FastMoney.of(new BigDecimal("0.00002"), "CHF"), m.divide(2L, RoundingMode.HALF_DOWN));
+        try {
+            m.divide(2L, RoundingMode.UNNECESSARY);
+            fail("rounding necessary should raise ArithmeticException");
+        } catch (ArithmeticException e) {
+            // should happen
+        }
+    }
+
+    /**
+     * Division is exact for decimal divisors with up to five fraction digits, regardless of the number type.
+     */
+    @Test
+    public void testDivideExact() {
+        FastMoney m = FastMoney.of(new BigDecimal("1234567.89012"), "CHF");
+        Number[] divisors = {2.5d, new BigDecimal("2.5"), 0.1d, new BigDecimal("0.1"), 5.456d,
+                new BigDecimal("5.456"), -3.00007d, new BigDecimal("-3.00007"), 7, 7L};
+        for (Number divisor : divisors) {
+            BigDecimal expected = m.getNumber().numberValue(BigDecimal.class)
+                    .divide(new BigDecimal(divisor.toString()), 5, RoundingMode.HALF_EVEN);
+            assertEquals(m.divide(divisor), FastMoney.of(expected, "CHF"), "divisor " + divisor);
+        }
+        assertEquals(m.divide(5.456d), m.divide(new BigDecimal("5.456")));
+        assertEquals(m.divide(0.1d), FastMoney.of(new BigDecimal("12345678.9012"), "CHF"));
+    }
+
+    /**
+     * Test method for {@link org.javamoney.moneta.FastMoney#divide(double)}.
+     */
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testDivideDoubleByZero() {
+        FastMoney.of(100, "CHF").divide(0.0d);
+    }
+
     /**
      * Test method for {@link org.javamoney.moneta.FastMoney#divideAndRemainder(java.lang.Number)} .
      */
@@ -423,6 +472,40 @@ public class FastMoneyTest {
         }
     }
 
+    /**
+     * Multiplication is exact for factors with up to five fraction digits, even if the intermediate
+     * product exceeds the range of a long.
+     */
+    @Test
+    public void testMultiplyExact() {
+        FastMoney m = FastMoney.of(new BigDecimal("50000000000000"), "CHF");
+        assertEquals(m.multiply(new BigDecimal("1.5")), FastMoney.of(new BigDecimal("75000000000000"), "CHF"));
+        assertEquals(m.multiply(1.5d), FastMoney.of(new BigDecimal("75000000000000"), "CHF"));
+        m = FastMoney.of(new BigDecimal("1234567.89012"), "CHF");
+        Number[] factors = {1.5d, new BigDecimal("1.5"), 0.1d, new BigDecimal("0.1"), 3.4d, new BigDecimal("3.4"),
+                -0.00007d, new BigDecimal("-0.00007"), 7, 7L};
+        for (Number factor : factors) {
+            BigDecimal expected = m.getNumber().numberValue(BigDecimal.class)
+                    .multiply(new BigDecimal(factor.toString())).setScale(5, RoundingMode.HALF_EVEN);
+            assertEquals(m.multiply(factor), FastMoney.of(expected, "CHF"), "factor " + factor);
+        }
+        assertEquals(m.multiply(0.1d), FastMoney.of(new BigDecimal("123456.78901"), "CHF"));
+    }
+
+    /**
+     * Test method for {@link org.javamoney.moneta.FastMoney#multiply(java.lang.Number, java.math.RoundingMode)}.
+     */
+    @Test
+    public void testMultiplyRoundingMode() {
+        FastMoney m = FastMoney.of(new BigDecimal("0.00005"), "CHF");
+        assertEquals(m.multiply(new BigDecimal("0.5")), FastMoney.of(new BigDecimal("0.00002"), "CHF"));
+        assertEquals(m.multiply(new BigDecimal("0.5"), RoundingMode.HALF_UP),
+                FastMoney.of(new BigDecimal("0.00003"), "CHF"));
+        assertEquals(m.multiply(0.5d, RoundingMode.DOWN), FastMoney.of(new BigDecimal("0.00002"), "CHF"));
+        assertEquals(m.multiply(new BigDecimal("0.333333333"), RoundingMode.UP),
+                FastMoney.of(new BigDecimal("0.00002"), "CHF"));
+    }
+
     /**
      * Test method for {@link org.javamoney.moneta.FastMoney#multiply(long)}.
      */
@@ -649,6 +732,38 @@ public class FastMoneyTest {
         assertTrue(m == m.subtract(FastMoney.of(0, "CHF")));
     }
 
+    /**
+     * Operations with a {@link FastMoney} operand use its long value directly, they must give the same
+     * results as the same operations with any other {@link MonetaryAmount}.
+     */
+    @Test
+    public void testFastMoneyOperandSameAsOtherAmount() {
+        FastMoney m = FastMoney.of(new BigDecimal("12.40234"), "CHF");
+        FastMoney[] operands = new FastMoney[]{FastMoney.of(new BigDecimal("0.00001"), "CHF"),
+                FastMoney.of(12.40234, "CHF"), FastMoney.of(-2343.45, "CHF"), FastMoney.of(0, "CHF")};
+        for (FastMoney fastOperand : operands) {
+            Money operand = Money.from(fastOperand);
+            assertEquals(m.add(fastOperand), m.add(operand));
+            assertEquals(m.subtract(fastOperand), m.subtract(operand));
+            assertEquals(m.compareTo(fastOperand), m.compareTo(operand));
+            assertEquals(m.isLessThan(fastOperand), m.isLessThan(operand));
+            assertEquals(m.isLessThanOrEqualTo(fastOperand), m.isLessThanOrEqualTo(operand));
+            assertEquals(m.isGreaterThan(fastOperand), m.isGreaterThan(operand));
+            assertEquals(m.isGreaterThanOrEqualTo(fastOperand), m.isGreaterThanOrEqualTo(operand));
+            assertEquals(m.isEqualTo(fastOperand), m.isEqualTo(operand));
+        }
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testAddFastMoneyOfOtherCurrency() {
+        FastMoney.of(10, EURO).add(FastMoney.of(10, DOLLAR));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testIsLessThanFastMoneyOfOtherCurrency() {
+        FastMoney.of(10, EURO).isLessThan(FastMoney.of(20, DOLLAR));
+    }
+
     /**
      * Test method for {@link org.javamoney.moneta.FastMoney#remainder(java.lang.Number)} .
      */
@@ -1239,4 +1354,19 @@ public class FastMoneyTest {
         assertEquals(Double.valueOf(1.234), amount.getNumber().doubleValue());
         assertEquals(DOLLAR, amount.getCurrency());
     }
+
+    @Test
+    public void shouldReturnMonetaryAmountUsingUnscaledValue() {
+        FastMoney amount = FastMoney.ofUnscaled(DOLLAR, 1234500L);
+        assertEquals(new BigDecimal("12.345"), amount.getNumber().numberValue(BigDecimal.class).stripTrailingZeros());
+        assertEquals(DOLLAR, amount.getCurrency());
+        assertEquals(1234500L, amount.getUnscaledValue());
+        assertEquals(FastMoney.of(new BigDecimal("-0.00001"), DOLLAR).getUnscaledValue(), -1L);
+        assertEquals(FastMoney.MAX_VALUE.getUnscaledValue(), Long.MAX_VALUE);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldReturnErrorWhenUsingOfUnscaledTheCurrencyIsNull() {
+        FastMoney.ofUnscaled(null, 1234L);
+    }
 }
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+public class LongArithmeticTest {
+
+    private static final long[] VALUES = {0L, 1L, -1L, 2L, -2L, 3L, 7L, -7L, 10L, 15L, -15L, 25L, -25L,
+            100000L, -100000L, 12345678L, -987654321L, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            4294967295L, 9223372036854L, -9223372036854L, Long.MAX_VALUE / 3, Long.MIN_VALUE / 7,
+            Long.MAX_VALUE, Long.MIN_VALUE};
+
+    @Test
+    public void testMultiplyHigh() {
+        Random random = new Random(42L);
+        for (int i = 0; i < 10000; i++) {
+            long x = random.nextLong();
+            long y = random.nextLong();
+            assertMultiplyHigh(x, y);
+        }
+        for (long x : VALUES) {
+            for (long y : VALUES) {
+                assertMultiplyHigh(x, y);
+            }
+        }
+    }
+
+    private static void assertMultiplyHigh(long x, long y) {
+        long expected = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)).shiftRight(64).longValue();
+        assertEquals(LongArithmetic.multiplyHigh(x, y), expected, x + " * " + y);
+    }
+
+    @Test
+    public void testDivide() {
+        for (RoundingMode roundingMode : RoundingMode.values()) {
+            for (long dividend : VALUES) {
+                for (long divisor : VALUES) {
+                    if (divisor != 0L) {
+                        assertDivide(dividend, divisor, roundingMode);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertDivide(long dividend, long divisor, RoundingMode roundingMode) {
+        BigDecimal expected;
+        try {
+            expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), 0, roundingMode);
+        } catch (ArithmeticException e) {
+            try {
+                LongArithmetic.divide(dividend, divisor, roundingMode);
+                fail("Rounding necessary expected: " + dividend + " / " + divisor);
+            } catch (ArithmeticException e2) {
+                // expected
+            }
+            return;
+        }
+        if (expected.toBigInteger().bitLength() > 63) {
+            try {
+                LongArithmetic.divide(dividend, divisor, roundingMode);
+                fail("Overflow expected: " + dividend + " / " + divisor);
+            } catch (ArithmeticException e) {
+                // expected
+            }
+            return;
+        }
+        assertEquals(LongArithmetic.divide(dividend, divisor, roundingMode), expected.longValue(),
+                dividend + " / " + divisor + ", " + roundingMode);
+    }
+
+    @Test
+    public void testMultiplyDivide() {
+        long[] divisors = {1L, -1L, 3L, -3L, 100000L, -100000L, 250000L, LongArithmetic.MAX_DIVISOR,
+                -LongArithmetic.MAX_DIVISOR};
+        Random random = new Random(4711L);
+        for (RoundingMode roundingMode : RoundingMode.values()) {
+            for (long divisor : divisors) {
+                for (long a : VALUES) {
+                    for (long b : VALUES) {
+                        assertMultiplyDivide(a, b, divisor, roundingMode);
+                    }
+                }
+                for (int i = 0; i < 1000; i++) {
+                    assertMultiplyDivide(random.nextLong(), random.nextInt(), divisor, roundingMode);
+                }
+            }
+        }
+    }
+
+    private static void assertMultiplyDivide(long a, long b, long divisor, RoundingMode roundingMode) {
+        BigDecimal expected;
+        try {
+            expected = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                    .divide(BigDecimal.valueOf(divisor), 0, roundingMode);
+        } catch (ArithmeticException e) {
+            try {
+                LongArithmetic.multiplyDivide(a, b, divisor, roundingMode);
+                fail("Rounding necessary expected: " + a + " * " + b + " / " + divisor);
+            } catch (ArithmeticException e2) {
+                // expected
+            }
+            return;
+        }
+        if (expected.toBigInteger().bitLength() > 63) {
+            try {
+                LongArithmetic.multiplyDivide(a, b, divisor, roundingMode);
+                fail("Overflow expected: " + a + " * " + b + " / " + divisor);
+            } catch (ArithmeticException e) {
+                // expected
+            }
+            return;
+        }
+        assertEquals(LongArithmetic.multiplyDivide(a, b, divisor, roundingMode), expected.longValue(),
+                a + " * " + b + " / " + divisor + ", " + roundingMode);
+    }
+
+    @Test
+    public void testMultiplyDividePowerOfTen() {
+        Random random = new Random(1234L);
+        for (RoundingMode roundingMode : RoundingMode.values()) {
+            for (int scale = 0; scale <= LongArithmetic.MAX_POWER_OF_TEN_SCALE; scale++) {
+                for (long a : VALUES) {
+                    for (long b : VALUES) {
+                        assertMultiplyDividePowerOfTen(a, b, scale, roundingMode);
+                    }
+                }
+                for (int i = 0; i < 200; i++) {
+                    assertMultiplyDividePowerOfTen(random.nextLong() >> random.nextInt(64),
+                            random.nextLong() >> random.nextInt(64), scale, roundingMode);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMultiplyDividePowerOfTenTies() {
+        long five = 5L;
+        for (int i = 0; i < 18; i++, five *= 10L) {
+            long power = 1L;
+            for (int j = 0; j <= 18; j++, power *= 10L) {
+                for (int scale = Math.max(0, i + j - 2); scale <= Math.min(i + j + 2, 36); scale++) {
+                    for (RoundingMode roundingMode : RoundingMode.values()) {
+                        for (long delta = -1L; delta <= 1L; delta++) {
+                            assertMultiplyDividePowerOfTen(five + delta, power, scale, roundingMode);
+                            assertMultiplyDividePowerOfTen(-five - delta, power, scale, roundingMode);
+                            assertMultiplyDividePowerOfTen(five * 3L + delta, power, scale, roundingMode);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertMultiplyDividePowerOfTen(long a, long b, int scale, RoundingMode roundingMode) {
+        BigDecimal expected;
+        try {
+            expected = new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)), scale)
+                    .setScale(0, roundingMode);
+        } catch (ArithmeticException e) {
+            try {
+                LongArithmetic.multiplyDividePowerOfTen(a, b, scale, roundingMode);
+                fail("Rounding necessary expected: " + a + " * " + b + " / 10^" + scale);
+            } catch (ArithmeticException e2) {
+                // expected
+            }
+            return;
+        }
+        if (expected.toBigInteger().bitLength() > 63) {
+            try {
+                LongArithmetic.multiplyDividePowerOfTen(a, b, scale, roundingMode);
+                fail("Overflow expected: " + a + " * " + b + " / 10^" + scale);
+            } catch (ArithmeticException e) {
+                // expected
+            }
+            return;
+        }
+        assertEquals(LongArithmetic.multiplyDividePowerOfTen(a, b, scale, roundingMode), expected.longValue(),
+                a + " * " + b + " / 10^" + scale + ", " + roundingMode);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMultiplyDividePowerOfTenScaleTooLarge() {
+        LongArithmetic.multiplyDividePowerOfTen(1L, 1L, LongArithmetic.MAX_POWER_OF_TEN_SCALE + 1,
+                RoundingMode.HALF_EVEN);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testMultiplyDivideByZero() {
+        LongArithmetic.multiplyDivide(1L, 1L, 0L, RoundingMode.HALF_EVEN);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMultiplyDivideDivisorTooLarge() {
+        LongArithmetic.multiplyDivide(1L, 1L, LongArithmetic.MAX_DIVISOR + 1, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.ProviderContextBuilder;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.spi.DefaultNumberValue;
+import org.javamoney.moneta.spi.LazyBoundCurrencyConversion;
+import org.testng.annotations.Test;
+
+public class MonetaryAmountArrayTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+    private static final CurrencyUnit JPY = Monetary.getCurrency("JPY");
+
+    private static MonetaryAmountArray createArray() {
+        return MonetaryAmountArray.of(Arrays.asList(
+                FastMoney.of(new BigDecimal("10.5"), EUR),
+                Money.of(new BigDecimal("-3.25"), USD),
+                FastMoney.of(new BigDecimal("1.00001"), EUR),
+                Money.of(120, JPY),
+                FastMoney.of(new BigDecimal("7.125"), USD)));
+    }
+
+    @Test
+    public void testAddAll() {
+        MonetaryAmountArray array = MonetaryAmountArray.of(0).addUnscaled(USD, 1L);
+        array.addAll(createArray()).addAll(MonetaryAmountArray.of(0));
+        assertEquals(array.size(), 6);
+        assertEquals(array.get(0), FastMoney.ofUnscaled(USD, 1L));
+        assertEquals(array.get(1), FastMoney.of(new BigDecimal("10.5"), EUR));
+        assertEquals(array.get(2), FastMoney.of(new BigDecimal("-3.25"), USD));
+        assertEquals(array.get(4), FastMoney.of(120, JPY));
+        assertEquals(array.getCurrencies(), new LinkedHashSet<>(Arrays.asList(USD, EUR, JPY)));
+    }
+
+    @Test
+    public void testAddAndGet() {
+        MonetaryAmountArray array = MonetaryAmountArray.of(0).add(Money.of(1, EUR)).addUnscaled(USD, 250000L);
+        assertEquals(array.size(), 2);
+        assertFalse(array.isEmpty());
+        assertEquals(array.get(0), FastMoney.of(1, EUR));
+        assertEquals(array.get(1), FastMoney.of(new BigDecimal("2.5"), USD));
+        assertEquals(array.getCurrency(1), USD);
+        assertEquals(array.getUnscaledValue(0), 100000L);
+        array.set(0, Money.of(3, JPY));
+        assertEquals(array.get(0), FastMoney.of(3, JPY));
+        assertEquals(array.getCurrencies(), new LinkedHashSet<>(Arrays.asList(JPY, USD)));
+    }
+
+    @Test
+    public void testEmpty() {
+        MonetaryAmountArray array = MonetaryAmountArray.of(10);
+        assertTrue(array.isEmpty());
+        assertEquals(array.sum(EUR), FastMoney.of(0, EUR));
+        assertFalse(array.min(EUR).isPresent());
+        assertTrue(array.getCurrencies().isEmpty());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        createArray().get(5);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testAddScaleExceeded() {
+        MonetaryAmountArray.of(1).add(Money.of(new BigDecimal("0.000001"), EUR));
+    }
+
+    @Test
+    public void testGrow() {
+        MonetaryAmountArray array = MonetaryAmountArray.of(1);
+        for (int i = 0; i < 1000; i++) {
+            array.addUnscaled(i % 2 == 0 ? EUR : USD, i);
+        }
+        assertEquals(array.size(), 1000);
+        assertEquals(array.getUnscaledValue(999), 999L);
+        assertEquals(array.sum(EUR).getUnscaledValue(), 249500L);
+    }
+
+    @Test
+    public void testSumMinMax() {
+        MonetaryAmountArray array = createArray();
+        assertEquals(array.sum(EUR), FastMoney.of(new BigDecimal("11.50001"), EUR));
+        assertEquals(array.sum(USD), FastMoney.of(new BigDecimal("3.875"), USD));
+        assertEquals(array.sum(Monetary.getCurrency("CHF")), FastMoney.of(0, "CHF"));
+        assertEquals(array.min(USD).get(), FastMoney.of(new BigDecimal("-3.25"), USD));
+        assertEquals(array.max(USD).get(), FastMoney.of(new BigDecimal("7.125"), USD));
+        assertEquals(array.min(JPY).get(), FastMoney.of(120, JPY));
+        assertFalse(array.max(Monetary.getCurrency("CHF")).isPresent());
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testSumOverflow() {
+        MonetaryAmountArray.of(2).addUnscaled(EUR, Long.MAX_VALUE).addUnscaled(EUR, 1L).sum(EUR);
+    }
+
+    @Test
+    public void testSort() {
+        MonetaryAmountArray array = createArray().sort();
+        assertEquals(array.get(0), FastMoney.of(new BigDecimal("1.00001"), EUR));
+        assertEquals(array.get(1), FastMoney.of(new BigDecimal("10.5"), EUR));
+        assertEquals(array.get(2), FastMoney.of(120, JPY));
+        assertEquals(array.get(3), FastMoney.of(new BigDecimal("-3.25"), USD));
+        assertEquals(array.get(4), FastMoney.of(new BigDecimal("7.125"), USD));
+    }
+
+    @Test
+    public void testFilter() {
+        MonetaryAmountArray array = createArray();
+        MonetaryAmountArray euros = array.filter(EUR);
+        assertEquals(euros.size(), 2);
+        assertEquals(euros.sum(EUR), array.sum(EUR));
+        assertEquals(array.filter(Monetary.getCurrency("CHF")).size(), 0);
+        MonetaryAmountArray positive = array.filter(v -> v > 0);
+        assertEquals(positive.size(), 4);
+        assertEquals(positive.getCurrencies(), new LinkedHashSet<>(Arrays.asList(EUR, JPY, USD)));
+        assertEquals(array.size(), 5);
+    }
+
+    @Test
+    public void testRound() {
+        MonetaryAmountArray array = createArray().round(RoundingMode.HALF_EVEN);
+        assertEquals(array.get(0), FastMoney.of(new BigDecimal("10.5"), EUR));
+        assertEquals(array.get(2), FastMoney.of(1, EUR));
+        assertEquals(array.get(4), FastMoney.of(new BigDecimal("7.12"), USD));
+        array = createArray().round(0, RoundingMode.HALF_UP);
+        assertEquals(array.get(0), FastMoney.of(11, EUR));
+        assertEquals(array.get(1), FastMoney.of(-3, USD));
+        assertEquals(array.get(4), FastMoney.of(7, USD));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testRoundUnnecessary() {
+        createArray().round(2, RoundingMode.UNNECESSARY);
+    }
+
+    @Test
+    public void testConvert() {
+        MonetaryAmountArray converted = createArray().convert(createConversion(USD), RoundingMode.HALF_EVEN);
+        assertEquals(converted.size(), 5);
+        assertEquals(converted.getCurrencies(), new LinkedHashSet<>(Arrays.asList(USD)));
+        assertEquals(converted.get(0), FastMoney.of(new BigDecimal("11.55"), USD));
+        assertEquals(converted.get(1), FastMoney.of(new BigDecimal("-3.25"), USD));
+        assertEquals(converted.get(2), FastMoney.of(new BigDecimal("1.10001"), USD));
+        // the JPY factor has 20 decimal digits
+        assertEquals(converted.get(3), FastMoney.of(new BigDecimal("1.11111"), USD));
+        assertEquals(converted.get(4), FastMoney.of(new BigDecimal("7.125"), USD));
+    }
+
+    private static CurrencyConversion createConversion(CurrencyUnit term) {
+        ExchangeRateProvider provider = new ExchangeRateProvider() {
+            @Override
+            public ProviderContext getContext() {
+                return ProviderContextBuilder.of("test", RateType.OTHER).build();
+            }
+
+            @Override
+            public ExchangeRate getExchangeRate(ConversionQuery query) {
+                BigDecimal factor = "EUR".equals(query.getBaseCurrency().getCurrencyCode()) ? new BigDecimal("1.1")
+                        : new BigDecimal("0.00925925925925925925");
+                return new ExchangeRateBuilder("test", RateType.OTHER).setBase(query.getBaseCurrency())
+                        .setTerm(query.getCurrency()).setFactor(DefaultNumberValue.of(factor)).build();
+            }
+
+            @Override
+            public CurrencyConversion getCurrencyConversion(ConversionQuery query) {
+                return new LazyBoundCurrencyConversion(query, this, ConversionContext.of("test", RateType.OTHER));
+            }
+        };
+        return provider.getCurrencyConversion(term);
+    }
+
+}
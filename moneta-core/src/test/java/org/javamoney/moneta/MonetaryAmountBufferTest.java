@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryException;
+
+import org.testng.annotations.Test;
+
+public class MonetaryAmountBufferTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    @Test
+    public void testSetAndGet() {
+        MonetaryAmountBuffer buffer = MonetaryAmountBuffer.allocate(3);
+        assertEquals(buffer.capacity(), 3L);
+        assertFalse(buffer.isSet(0));
+        buffer.set(0, Money.of(new BigDecimal("12.5"), EUR)).setUnscaled(2, USD, -150000L);
+        assertTrue(buffer.isSet(0));
+        assertEquals(buffer.get(0), FastMoney.of(new BigDecimal("12.5"), EUR));
+        assertEquals(buffer.getCurrency(2), USD);
+        assertEquals(buffer.getUnscaledValue(2), -150000L);
+        buffer.clear(0);
+        assertFalse(buffer.isSet(0));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testGetEmpty() {
+        MonetaryAmountBuffer.allocate(1).get(0);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() {
+        MonetaryAmountBuffer.allocate(1).getUnscaledValue(1);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testCurrencyWithoutNumericCode() {
+        MonetaryAmountBuffer.allocate(1).set(0, Money.of(1, CurrencyUnitBuilder.of("ACC", "test").build()));
+    }
+
+    @Test
+    public void testWrap() {
+        ByteBuffer bytes = ByteBuffer.allocate(2 + 2 * MonetaryAmountBuffer.RECORD_SIZE + 3);
+        bytes.position(2);
+        MonetaryAmountBuffer buffer = MonetaryAmountBuffer.wrap(bytes);
+        assertEquals(buffer.capacity(), 2L);
+        buffer.set(1, FastMoney.of(7, EUR));
+        assertEquals(bytes.getLong(2 + MonetaryAmountBuffer.RECORD_SIZE), 700000L);
+        assertEquals(bytes.getShort(2 + MonetaryAmountBuffer.RECORD_SIZE + 8), (short) 978);
+        assertEquals(bytes.position(), 2);
+    }
+
+    @Test
+    public void testView() {
+        MonetaryAmountBuffer buffer = MonetaryAmountBuffer.allocate(2)
+                .set(0, FastMoney.of(3, EUR)).set(1, FastMoney.of(-4, USD));
+        MonetaryAmountBuffer.AmountView view = buffer.view(0);
+        assertEquals(view.getCurrency(), EUR);
+        assertTrue(view.isEqualTo(FastMoney.of(3, EUR)));
+        assertEquals(view.add(FastMoney.of(1, EUR)), FastMoney.of(4, EUR));
+        assertEquals(view.getNumber().intValue(), 3);
+        assertTrue(view.isPositive());
+        view.moveTo(1);
+        assertEquals(view.getIndex(), 1L);
+        assertTrue(view.isNegative());
+        assertEquals(view.multiply(2), FastMoney.of(-8, USD));
+        assertEquals(view.toString(), "USD -4.00000");
+        buffer.set(1, FastMoney.of(5, USD));
+        assertEquals(view.getUnscaledValue(), 500000L);
+    }
+
+    @Test
+    public void testViewComparison() {
+        MonetaryAmountBuffer buffer = MonetaryAmountBuffer.allocate(3)
+                .set(0, FastMoney.of(3, EUR)).set(1, FastMoney.of(-4, EUR)).set(2, FastMoney.of(3, USD));
+        MonetaryAmountBuffer.AmountView view = buffer.view(0);
+        MonetaryAmountBuffer.AmountView other = buffer.view(1);
+        assertTrue(view.isGreaterThan(other));
+        assertTrue(view.isGreaterThanOrEqualTo(FastMoney.of(3, EUR)));
+        assertTrue(other.isLessThan(view));
+        assertTrue(other.isLessThanOrEqualTo(FastMoney.of(-4, EUR)));
+        assertFalse(view.isEqualTo(other));
+        assertTrue(view.isEqualTo(Money.of(3, EUR)));
+        assertTrue(view.compareTo(other) > 0);
+        assertTrue(view.compareTo(buffer.view(2)) < 0);
+        assertEquals(other.signum(), -1);
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void testViewComparisonOtherCurrency() {
+        MonetaryAmountBuffer buffer = MonetaryAmountBuffer.allocate(2)
+                .set(0, FastMoney.of(3, EUR)).set(1, FastMoney.of(3, USD));
+        buffer.view(0).isEqualTo(buffer.view(1));
+    }
+
+    @Test
+    public void testViewEquals() {
+        MonetaryAmountBuffer buffer = MonetaryAmountBuffer.allocate(3)
+                .set(0, FastMoney.of(3, EUR)).set(1, FastMoney.of(3, EUR)).set(2, FastMoney.of(3, USD));
+        MonetaryAmountBuffer.AmountView view = buffer.view(0);
+        assertEquals(view, buffer.view(1));
+        assertNotEquals(view, buffer.view(2));
+        assertNotEquals(view, FastMoney.of(3, EUR));
+        assertEquals(view.hashCode(), FastMoney.of(3, EUR).hashCode());
+        assertEquals(view.hashCode(), buffer.view(1).hashCode());
+    }
+
+    @Test
+    public void testSum() {
+        MonetaryAmountBuffer buffer = MonetaryAmountBuffer.allocate(4)
+                .set(0, FastMoney.of(3, EUR)).set(1, FastMoney.of(-4, USD)).set(3, FastMoney.of(new BigDecimal("0.5"), EUR));
+        assertEquals(buffer.sum(EUR), FastMoney.of(new BigDecimal("3.5"), EUR));
+        assertEquals(buffer.sum(USD), FastMoney.of(-4, USD));
+        assertEquals(buffer.sum(Monetary.getCurrency("CHF")), FastMoney.of(0, "CHF"));
+    }
+
+    @Test
+    public void testMapFile() throws IOException {
+        Path file = Files.createTempFile("amounts", ".bin");
+        try {
+            MonetaryAmountBuffer buffer = MonetaryAmountBuffer.map(file, 100);
+            for (int i = 0; i < 100; i++) {
+                buffer.setUnscaled(i, EUR, i * 100000L);
+            }
+            buffer.force();
+            assertEquals(Files.size(file), 100L * MonetaryAmountBuffer.RECORD_SIZE);
+            MonetaryAmountBuffer readOnly = MonetaryAmountBuffer.map(file);
+            assertEquals(readOnly.capacity(), 100L);
+            assertEquals(readOnly.sum(EUR), FastMoney.of(4950, EUR));
+            assertEquals(readOnly.get(42), FastMoney.of(42, EUR));
+            try {
+                readOnly.set(0, FastMoney.of(1, EUR));
+                org.testng.Assert.fail("read-only buffer modified");
+            } catch (ReadOnlyBufferException e) {
+                // expected
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
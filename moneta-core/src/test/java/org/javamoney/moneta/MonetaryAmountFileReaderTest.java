@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryParseException;
+
+import org.javamoney.moneta.function.FastMoneyProducer;
+import org.javamoney.moneta.function.MoneyProducer;
+import org.testng.annotations.Test;
+
+public class MonetaryAmountFileReaderTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void shouldReadDelimited() throws IOException {
+        MonetaryAmountFileReader reader = MonetaryAmountFileReader.ofDelimited(';', 2, 1).withSkippedLines(1);
+        MonetaryAmountArray array = reader.readArray(channel(
+                "id;amount;currency\r\n1;12.50;EUR\r\n\r\n2; \"-0.00001\" ;\"USD\"\r\n3;7;EUR"));
+        assertEquals(array.size(), 3);
+        assertEquals(array.get(0), FastMoney.of(new BigDecimal("12.5"), EUR));
+        assertEquals(array.get(1), FastMoney.ofUnscaled(USD, -1L));
+        assertEquals(array.get(2), FastMoney.of(7, EUR));
+    }
+
+    @Test
+    public void shouldReadCombinedColumn() throws IOException {
+        MonetaryAmountFileReader reader = MonetaryAmountFileReader.ofDelimited(',', 1, 1);
+        List<MonetaryAmount> amounts = new ArrayList<>();
+        assertEquals(reader.read(channel("a,EUR 1.5,x\nb,USD -2\n"), new MoneyProducer(), amounts::add), 2L);
+        assertEquals(amounts, Arrays.asList(Money.of(new BigDecimal("1.5"), EUR), Money.of(-2, USD)));
+    }
+
+    @Test
+    public void shouldReadFixedWidth() throws IOException {
+        MonetaryAmountFileReader reader = MonetaryAmountFileReader.ofFixedWidth(0, 3, 3, 13);
+        List<MonetaryAmount> amounts = new ArrayList<>();
+        reader.read(channel("EUR      1234.56\nUSD        -0.5\nEUR 1"), new FastMoneyProducer(), amounts::add);
+        assertEquals(amounts, Arrays.asList(FastMoney.of(new BigDecimal("1234.56"), EUR),
+                FastMoney.of(new BigDecimal("-0.5"), USD), FastMoney.of(1, EUR)));
+    }
+
+    @Test
+    public void shouldReadLongLines() throws IOException {
+        char[] filler = new char[200_000];
+        Arrays.fill(filler, 'x');
+        MonetaryAmountFileReader reader = MonetaryAmountFileReader.ofDelimited(',', 0, 1);
+        MonetaryAmountArray array = reader.readArray(channel("EUR,1," + new String(filler) + "\nUSD,2,y\n"));
+        assertEquals(array.size(), 2);
+        assertEquals(array.get(1), FastMoney.of(2, USD));
+    }
+
+    @Test
+    public void shouldReportInvalidLines() throws IOException {
+        MonetaryAmountFileReader reader = MonetaryAmountFileReader.ofDelimited(',', 0, 1);
+        for (String text : Arrays.asList("EUR,1\nEUR,1x\n", "EUR,1\nEUR\n", "EUR,1\nXYZ,1\n", "EUR,1\nEUR,1.000001\n")) {
+            try {
+                reader.readArray(channel(text));
+                fail("Parsed " + text);
+            } catch (MonetaryParseException e) {
+                assertTrue(e.getMessage().contains("byte offset 6"), e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadFilesInParallel() throws IOException {
+        Path file = Files.createTempFile("amounts", ".csv");
+        try {
+            StringBuilder builder = new StringBuilder("currency,amount\n");
+            for (int i = 0; i < 100_000; i++) {
+                builder.append(i % 3 == 0 ? "USD" : "EUR").append(',').append(i).append('.').append(i % 100)
+                        .append('\n');
+            }
+            Files.write(file, builder.toString().getBytes(StandardCharsets.US_ASCII));
+            MonetaryAmountFileReader reader = MonetaryAmountFileReader.ofDelimited(',', 0, 1).withSkippedLines(1);
+            MonetaryAmountArray sequential = reader.readArray(file);
+            MonetaryAmountArray parallel = reader.withParallelism(8).readArray(file);
+            assertEquals(sequential.size(), 100_000);
+            assertEquals(parallel.size(), 100_000);
+            for (int i = 0; i < sequential.size(); i++) {
+                assertEquals(parallel.getCurrency(i), sequential.getCurrency(i));
+                assertEquals(parallel.getUnscaledValue(i), sequential.getUnscaledValue(i));
+            }
+            assertEquals(sequential.get(99_999), FastMoney.of(new BigDecimal("99999.99"), USD));
+            long[] sum = new long[1];
+            assertEquals(reader.read(file, (currency, value) -> sum[0] += value), 100_000L);
+            assertEquals(sum[0], sequential.sum(EUR).getUnscaledValue() + sequential.sum(USD).getUnscaledValue());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.format.MonetaryParseException;
+
+import org.testng.annotations.Test;
+
+public class MonetaryAmountParserTest {
+
+    private final MonetaryAmountParser parser = MonetaryAmountParser.of();
+
+    @Test
+    public void shouldParseFastMoney() {
+        assertEquals(parser.parseFastMoney("EUR 25.25"), FastMoney.of(new BigDecimal("25.25"), "EUR"));
+        assertEquals(parser.parseFastMoney("CHF -0.00001"), FastMoney.ofUnscaled(Monetary.getCurrency("CHF"), -1L));
+        assertEquals(parser.parseFastMoney("USD +12"), FastMoney.of(12, "USD"));
+        assertEquals(parser.parseFastMoney("USD .5"), FastMoney.of(new BigDecimal("0.5"), "USD"));
+        assertEquals(parser.parseFastMoney("USD 92233720368547.75807"),
+                FastMoney.ofUnscaled(Monetary.getCurrency("USD"), Long.MAX_VALUE));
+        assertEquals(parser.parseFastMoney("USD 1.5E2"), FastMoney.of(150, "USD"));
+        assertEquals(parser.parseFastMoney("USD 000000000000000000001.5"), FastMoney.of(new BigDecimal("1.5"), "USD"));
+    }
+
+    @Test
+    public void shouldParseRegion() {
+        String line = "42;EUR 1234.56  ;x";
+        assertEquals(parser.parseFastMoney(line, 3, 12), FastMoney.of(new BigDecimal("1234.56"), "EUR"));
+        assertEquals(parser.parseMoney(line, 3, 12), Money.of(new BigDecimal("1234.56"), "EUR"));
+        assertEquals(parser.parseUnscaled(line, 0, 2, 2), 4200L);
+        assertSame(parser.parseCurrency(line, 3, 3), Monetary.getCurrency("EUR"));
+    }
+
+    @Test
+    public void shouldParseMoneyWithScale() {
+        assertEquals(parser.parseNumber("25.250", 0, 6), new BigDecimal("25.250"));
+        assertEquals(parser.parseMoney("EUR 25.250"), Money.of(new BigDecimal("25.250"), "EUR"));
+        assertEquals(parser.parseMoney("EUR 123456789012345678901234567890.123"),
+                Money.of(new BigDecimal("123456789012345678901234567890.123"), "EUR"));
+        assertEquals(parser.parseNumber("-1E+3", 0, 5), new BigDecimal("-1E+3"));
+    }
+
+    @Test
+    public void shouldParseUnscaled() {
+        assertEquals(parser.parseUnscaled("-1234.5", 0, 7, 2), -123450L);
+        assertEquals(parser.parseUnscaled("0", 0, 1, 18), 0L);
+        assertEquals(parser.parseUnscaled("123456789012345678", 0, 18, 0), 123456789012345678L);
+        assertEquals(parser.parseUnscaled("9223372036854775807", 0, 19, 0), Long.MAX_VALUE);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void shouldNotRoundUnscaled() {
+        parser.parseUnscaled("1.234", 0, 5, 2);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void shouldDetectOverflow() {
+        parser.parseUnscaled("9223372036854775808", 0, 19, 0);
+    }
+
+    @Test
+    public void shouldRejectInvalidText() {
+        for (String text : Arrays.asList("EUR", "EUR ", " EUR 1", "EUR  1", "EUR 1 2", "EUR 1.2.3", "EUR -", "EUR 1a",
+                "XYZ 1", "EUR1")) {
+            try {
+                parser.parseMoney(text);
+                fail("Parsed " + text);
+            } catch (MonetaryParseException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void shouldReportErrorIndex() {
+        try {
+            parser.parseFastMoney("EUR 12x");
+            fail();
+        } catch (MonetaryParseException e) {
+            assertEquals(e.getErrorIndex(), 6);
+        }
+    }
+
+    @Test
+    public void shouldResolveAllCurrencies() {
+        for (CurrencyUnit currency : Monetary.getCurrencies()) {
+            String code = currency.getCurrencyCode();
+            assertEquals(parser.parseCurrency(code, 0, code.length()), currency);
+        }
+    }
+
+    @Test
+    public void shouldResolveCurrenciesNotInTable() {
+        MonetaryAmountParser empty = MonetaryAmountParser.of(Arrays.<CurrencyUnit>asList());
+        assertEquals(empty.parseFastMoney("CHF 1"), FastMoney.of(1, "CHF"));
+        MonetaryAmountParser custom = MonetaryAmountParser.of(Arrays.<CurrencyUnit>asList(
+                CurrencyUnitBuilder.of("PARSER-TEST", "MonetaryAmountParserTest").build()));
+        assertEquals(custom.parseCurrency("PARSER-TEST", 0, 11).getCurrencyCode(), "PARSER-TEST");
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import static org.javamoney.moneta.function.StreamFactory.BRAZILIAN_REAL;
+import static org.javamoney.moneta.function.StreamFactory.DOLLAR;
+import static org.javamoney.moneta.function.StreamFactory.EURO;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConcurrentGroupMonetarySummaryStatisticsTest {
+
+	@Test
+	public void shouldCreateEmptyGroupSummary() {
+		GroupMonetarySummaryStatistics group = Stream.<MonetaryAmount>empty()
+				.collect(MonetaryFunctions.groupBySummarizingMonetaryConcurrent());
+		Assert.assertTrue(group.get().isEmpty());
+	}
+
+	@Test(expectedExceptions = NullPointerException.class)
+	public void shouldErrorWhenIsNull() {
+		new ConcurrentGroupMonetarySummaryStatistics().accept(null);
+	}
+
+	@Test
+	public void shouldGroupLikeGroupBySummarizingMonetary() {
+		GroupMonetarySummaryStatistics expected = StreamFactory.streamCurrencyDifferent()
+				.collect(MonetaryFunctions.groupBySummarizingMonetary());
+		GroupMonetarySummaryStatistics group = StreamFactory.streamCurrencyDifferent().parallel()
+				.collect(MonetaryFunctions.groupBySummarizingMonetaryConcurrent());
+		Assert.assertEquals(group.get().keySet(), expected.get().keySet());
+		for (CurrencyUnit currency : expected.get().keySet()) {
+			MonetarySummaryStatistics expectedSummary = expected.get().get(currency);
+			MonetarySummaryStatistics summary = group.get().get(currency);
+			Assert.assertEquals(summary.getCount(), expectedSummary.getCount());
+			Assert.assertTrue(summary.getSum().isEqualTo(expectedSummary.getSum()));
+			Assert.assertTrue(summary.getMin().isEqualTo(expectedSummary.getMin()));
+			Assert.assertTrue(summary.getMax().isEqualTo(expectedSummary.getMax()));
+			Assert.assertTrue(summary.getAverage().isEqualTo(expectedSummary.getAverage()));
+		}
+	}
+
+	@Test
+	public void shouldGroupParallelStream() {
+		GroupMonetarySummaryStatistics group = IntStream.rangeClosed(1, 30_000).parallel()
+				.mapToObj(i -> FastMoney.of(i / 3, i % 3 == 0 ? EURO : i % 3 == 1 ? DOLLAR : BRAZILIAN_REAL))
+				.collect(MonetaryFunctions.groupBySummarizingMonetaryConcurrent());
+		Map<CurrencyUnit, MonetarySummaryStatistics> map = group.get();
+		Assert.assertEquals(map.keySet().size(), 3);
+		MonetarySummaryStatistics euroSummary = map.get(EURO);
+		Assert.assertEquals(euroSummary.getCount(), 10_000L);
+		Assert.assertEquals(euroSummary.getSum(), FastMoney.of(50_005_000, EURO));
+		Assert.assertEquals(euroSummary.getMin(), FastMoney.of(1, EURO));
+		Assert.assertEquals(euroSummary.getMax(), FastMoney.of(10_000, EURO));
+		Assert.assertEquals(euroSummary.getAverage(), FastMoney.of(new BigDecimal("5000.5"), EURO));
+		Assert.assertEquals(map.get(DOLLAR).getMin(), FastMoney.of(0, DOLLAR));
+	}
+
+	@Test
+	public void shouldCombine() {
+		ConcurrentGroupMonetarySummaryStatistics group = new ConcurrentGroupMonetarySummaryStatistics()
+				.accept(Money.of(10, BRAZILIAN_REAL)).accept(Money.of(20, EURO));
+		ConcurrentGroupMonetarySummaryStatistics group2 = new ConcurrentGroupMonetarySummaryStatistics()
+				.accept(Money.of(30, BRAZILIAN_REAL));
+		Map<CurrencyUnit, MonetarySummaryStatistics> map = group.combine(group2)
+				.toGroupMonetarySummaryStatistics().get();
+		Assert.assertEquals(map.get(BRAZILIAN_REAL).getCount(), 2L);
+		Assert.assertEquals(map.get(BRAZILIAN_REAL).getSum(), Money.of(40, BRAZILIAN_REAL));
+		Assert.assertEquals(map.get(BRAZILIAN_REAL).getAverage(), Money.of(20, BRAZILIAN_REAL));
+		Assert.assertEquals(map.get(EURO).getMax(), Money.of(20, EURO));
+	}
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import static org.javamoney.moneta.function.StreamFactory.BRAZILIAN_REAL;
+import static org.javamoney.moneta.function.StreamFactory.DOLLAR;
+import static org.javamoney.moneta.function.StreamFactory.EURO;
+import static org.testng.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.testng.annotations.Test;
+
+public class MonetaryAccumulatorTest {
+
+    @Test
+    public void shouldBeZeroWhenEmpty() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(EURO);
+        assertEquals(accumulator.getCurrency(), EURO);
+        assertEquals(accumulator.toMoney(), Money.of(0, EURO));
+        assertEquals(accumulator.toFastMoney(), FastMoney.of(0, EURO));
+    }
+
+    @Test
+    public void shouldAddDifferentAmountTypes() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(EURO)
+                .add(FastMoney.of(new BigDecimal("1.25"), EURO))
+                .add(Money.of(new BigDecimal("2.5"), EURO))
+                .add(RoundedMoney.of(new BigDecimal("0.00001"), EURO));
+        assertEquals(accumulator.toFastMoney(), FastMoney.of(new BigDecimal("3.75001"), EURO));
+        assertEquals(accumulator.toMoney(), Money.of(new BigDecimal("3.75001"), EURO));
+    }
+
+    @Test
+    public void shouldAddMinor() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(DOLLAR).addMinor(1234).addMinor(-34);
+        assertEquals(accumulator.toMoney(), Money.of(12, DOLLAR));
+        CurrencyUnit yen = Monetary.getCurrency("JPY");
+        assertEquals(MonetaryAccumulator.of(yen).addMinor(1234).toFastMoney(), FastMoney.of(1234, yen));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldErrorOnAddMinorWithoutFractionDigits() {
+        MonetaryAccumulator.of(Monetary.getCurrency("XXX")).addMinor(1);
+    }
+
+    @Test
+    public void shouldKeepScaleAboveFastMoneyExact() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(EURO)
+                .add(Money.of(new BigDecimal("0.000001"), EURO))
+                .add(FastMoney.of(1, EURO));
+        assertEquals(accumulator.toMoney(), Money.of(new BigDecimal("1.000001"), EURO));
+    }
+
+    @Test
+    public void shouldPromoteOnOverflow() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(EURO)
+                .add(FastMoney.ofUnscaled(EURO, Long.MAX_VALUE))
+                .add(FastMoney.ofUnscaled(EURO, 1L));
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 5).add(new BigDecimal("0.00001"));
+        assertEquals(accumulator.toMoney(), Money.of(expected, EURO));
+        accumulator.add(FastMoney.ofUnscaled(EURO, -2L));
+        assertEquals(accumulator.toFastMoney(), FastMoney.ofUnscaled(EURO, Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void shouldPromoteOnMinorOverflow() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(DOLLAR).addMinor(Long.MAX_VALUE);
+        assertEquals(accumulator.toMoney(), Money.of(BigDecimal.valueOf(Long.MAX_VALUE, 2), DOLLAR));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void shouldErrorWhenSumExceedsFastMoney() {
+        MonetaryAccumulator.of(EURO).addMinor(Long.MAX_VALUE).toFastMoney();
+    }
+
+    @Test
+    public void shouldMerge() {
+        MonetaryAccumulator accumulator = MonetaryAccumulator.of(EURO).add(FastMoney.of(1, EURO));
+        MonetaryAccumulator other = MonetaryAccumulator.of(EURO).add(Money.of(new BigDecimal("0.000001"), EURO));
+        accumulator.merge(other).merge(MonetaryAccumulator.of(EURO).addMinor(100));
+        assertEquals(accumulator.toMoney(), Money.of(new BigDecimal("2.000001"), EURO));
+        assertEquals(other.toMoney(), Money.of(new BigDecimal("0.000001"), EURO));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void shouldErrorWhenMergingDifferentCurrency() {
+        MonetaryAccumulator.of(EURO).merge(MonetaryAccumulator.of(DOLLAR));
+    }
+
+    @Test(expectedExceptions = MonetaryException.class)
+    public void shouldErrorWhenAddingDifferentCurrency() {
+        MonetaryAccumulator.of(EURO).add(Money.of(10, DOLLAR));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldErrorWhenIsNull() {
+        MonetaryAccumulator.of(EURO).add(null);
+    }
+
+    @Test
+    public void shouldSumWithCollector() {
+        MonetaryAmount sum = IntStream.rangeClosed(1, 10_000).parallel()
+                .mapToObj(i -> FastMoney.of(i, EURO))
+                .collect(MonetaryFunctions.summingMonetary(EURO));
+        assertEquals(sum, FastMoney.of(50_005_000, EURO));
+        assertEquals(StreamFactory.streamNormal().collect(MonetaryFunctions.summingMonetary(BRAZILIAN_REAL)),
+                StreamFactory.streamNormal().reduce(MonetaryFunctions.sum()).get());
+    }
+
+    @Test
+    public void shouldKeepTypeOfFirstAmount() {
+        assertEquals(MonetaryAccumulator.of(EURO).toAmount(), Money.of(0, EURO));
+        assertEquals(MonetaryAccumulator.of(EURO).add(FastMoney.of(1, EURO)).add(Money.of(2, EURO)).toAmount(),
+                FastMoney.of(3, EURO));
+        assertEquals(MonetaryAccumulator.of(EURO).add(Money.of(1, EURO)).add(FastMoney.of(2, EURO)).toAmount(),
+                Money.of(3, EURO));
+        MonetaryAmount rounded = MonetaryAccumulator.of(EURO).add(RoundedMoney.of(1, EURO))
+                .merge(MonetaryAccumulator.of(EURO).add(Money.of(2, EURO))).toAmount();
+        assertEquals(rounded, RoundedMoney.of(3, EURO));
+        assertEquals(MonetaryAccumulator.of(EURO).merge(MonetaryAccumulator.of(EURO).add(FastMoney.of(1, EURO)))
+                .toAmount(), FastMoney.of(1, EURO));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void shouldErrorIfSumExceedsTypeOfFirstAmount() {
+        MonetaryAccumulator.of(EURO).add(FastMoney.of(1, EURO)).add(Money.of(new BigDecimal("0.000001"), EURO))
+                .toAmount();
+    }
+
+    @Test
+    public void shouldAccumulateWithCollector() {
+        MonetaryAccumulator accumulator = IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> Money.of(i, EURO))
+                .collect(MonetaryFunctions.accumulatingMonetary(EURO));
+        assertEquals(accumulator.toFastMoney(), FastMoney.of(5050, EURO));
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.money.CurrencyQuery;
+import javax.money.CurrencyQueryBuilder;
+import javax.money.CurrencyUnit;
+import javax.money.UnknownCurrencyException;
+import javax.money.spi.Bootstrap;
+import javax.money.spi.ServiceProvider;
+
+import org.javamoney.moneta.CurrencyUnitBuilder;
+import org.testng.annotations.Test;
+
+public class DefaultMonetaryCurrenciesSingletonSpiTest {
+
+    @Test
+    public void shouldReuseCurrenciesFoundByCode() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        CurrencyUnit euro = spi.getCurrency("EUR");
+        assertEquals(euro.getCurrencyCode(), "EUR");
+        assertSame(spi.getCurrency("EUR"), euro);
+        assertTrue(spi.isCurrencyAvailable("EUR"));
+        assertFalse(spi.isCurrencyAvailable("XYZ"));
+        assertEquals(spi.getCurrency("EUR", "default"), euro);
+    }
+
+    @Test
+    public void shouldReuseCurrenciesFoundByLocale() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        Set<CurrencyUnit> currencies = spi.getCurrencies(Locale.GERMANY);
+        assertSame(spi.getCurrencies(Locale.GERMANY), currencies);
+        assertEquals(spi.getCurrency(Locale.GERMANY).getCurrencyCode(), "EUR");
+        assertTrue(spi.isCurrencyAvailable(Locale.GERMANY));
+    }
+
+    @Test
+    public void shouldReuseCurrenciesFoundByQuery() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        CurrencyQuery query = CurrencyQueryBuilder.of().setNumericCodes(978).build();
+        Set<CurrencyUnit> currencies = spi.getCurrencies(query);
+        assertTrue(currencies.contains(spi.getCurrency("EUR")));
+        assertSame(spi.getCurrencies(CurrencyQueryBuilder.of().setNumericCodes(978).build()), currencies);
+        assertSame(spi.getCurrencies(), spi.getCurrencies());
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void shouldReturnUnmodifiableCurrencies() {
+        new DefaultMonetaryCurrenciesSingletonSpi().getCurrencies("default").clear();
+    }
+
+    @Test
+    public void shouldResolveProviders() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        assertTrue(spi.getProviderNames().contains("default"));
+        assertTrue(spi.getDefaultProviderChain().contains("default"));
+        assertTrue(spi.getProviderNames().containsAll(spi.getDefaultProviderChain()));
+    }
+
+    @Test
+    public void shouldRefreshWithConfiguredCurrencies() {
+        DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+        assertFalse(spi.isCurrencyAvailable("XRG"));
+        Set<CurrencyUnit> all = spi.getCurrencies();
+        CurrencyUnit unit = CurrencyUnitBuilder.of("XRG", "registry-test").build(false);
+        ConfigurableCurrencyUnitProvider.registerCurrencyUnit(unit);
+        try {
+            assertSame(spi.getCurrency("XRG"), unit);
+            assertTrue(spi.getCurrencies().contains(unit));
+            assertFalse(all.contains(unit));
+        } finally {
+            ConfigurableCurrencyUnitProvider.removeCurrencyUnit("XRG");
+        }
+        assertFalse(spi.isCurrencyAvailable("XRG"));
+        assertFalse(spi.getCurrencies().contains(unit));
+    }
+
+    @Test
+    public void shouldReuseSnapshotIfServicesAreReturnedAsNewList() {
+        AtomicReference<ServiceProvider> delegate = new AtomicReference<>();
+        ServiceProvider previous = Bootstrap.init(new ServiceProvider() {
+            @Override
+            public int getPriority() {
+                return delegate.get().getPriority();
+            }
+
+            @Override
+            public <T> List<T> getServices(Class<T> serviceType) {
+                return new ArrayList<>(delegate.get().getServices(serviceType));
+            }
+        });
+        delegate.set(previous);
+        try {
+            DefaultMonetaryCurrenciesSingletonSpi spi = new DefaultMonetaryCurrenciesSingletonSpi();
+            Set<CurrencyUnit> currencies = spi.getCurrencies(Locale.GERMANY);
+            assertSame(spi.getCurrencies(Locale.GERMANY), currencies);
+            assertSame(spi.getCurrencies(), spi.getCurrencies());
+        } finally {
+            Bootstrap.init(previous);
+        }
+    }
+
+    @Test(expectedExceptions = UnknownCurrencyException.class)
+    public void shouldFailForUnknownCode() {
+        new DefaultMonetaryCurrenciesSingletonSpi().getCurrency("XYZ");
+    }
+
+}
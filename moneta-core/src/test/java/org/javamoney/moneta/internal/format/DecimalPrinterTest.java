@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the output of {@link DecimalPrinter} with {@link DecimalFormat}.
+ */
+public class DecimalPrinterTest {
+
+    private static final String[] PATTERNS = {"#,##0.00", "#,##0.00###", "#,##0.###", "#", "#.##", "0.00",
+            "00,000.0#", "#,##,##0.00", "#.00", "000", "#,##0.00;(#,##0.00)", "'pre' #,##0.0 'post'", "#,##0."};
+
+    private static final Locale[] LOCALES = {Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("de", "CH"),
+            new Locale("ar", "EG"), new Locale("hi", "IN")};
+
+    private static final String[] NUMBERS = {"0", "-0", "0.001", "-0.001", "0.0009", "0.005", "-0.005", "0.5",
+            "-0.5", "1", "-1", "12.5", "1234.5678", "-1234.5678", "999.995", "1000000", "123456789101112.12346",
+            "-92233720368547.75807", "0.12345", "100.10000", "1E+3", "123456789012345678901234567890.123456789"};
+
+    private static DecimalFormat format(String pattern, Locale locale) {
+        DecimalFormat format = (DecimalFormat) DecimalFormat.getInstance(locale);
+        format.applyPattern(pattern);
+        return format;
+    }
+
+    private static String print(DecimalPrinter printer, MonetaryAmount amount) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        printer.print(builder, amount);
+        return builder.toString();
+    }
+
+    private static String print(DecimalPrinter printer, BigDecimal number) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        printer.print(builder, number);
+        return builder.toString();
+    }
+
+    @Test
+    public void testPrintLikeDecimalFormat() throws IOException {
+        for (Locale locale : LOCALES) {
+            for (String pattern : PATTERNS) {
+                for (RoundingMode roundingMode : RoundingMode.values()) {
+                    if (roundingMode == RoundingMode.UNNECESSARY || roundingMode == RoundingMode.HALF_DOWN) {
+                        continue;
+                    }
+                    DecimalFormat format = format(pattern, locale);
+                    format.setRoundingMode(roundingMode);
+                    DecimalPrinter printer = DecimalPrinter.of(format, null, null);
+                    assertNotNull(printer, pattern);
+                    for (String number : NUMBERS) {
+                        BigDecimal value = new BigDecimal(number);
+                        assertEquals(print(printer, value), format.format(value),
+                                pattern + ", " + locale + ", " + roundingMode + ", " + number);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrintRandomNumbers() throws IOException {
+        Random random = new Random(42L);
+        for (String pattern : PATTERNS) {
+            DecimalFormat format = format(pattern, Locale.GERMANY);
+            DecimalPrinter printer = DecimalPrinter.of(format, null, null);
+            for (int i = 0; i < 2000; i++) {
+                BigDecimal value = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(12));
+                assertEquals(print(printer, value), format.format(value), pattern + ", " + value);
+            }
+        }
+    }
+
+    @Test
+    public void testPrintFastMoney() throws IOException {
+        DecimalFormat format = format("#,##0.00", Locale.GERMANY);
+        DecimalPrinter printer = DecimalPrinter.of(format, null, null);
+        for (String number : new String[]{"0", "0.00001", "-0.00001", "0.005", "-12345.67891",
+                "92233720368547.75807", "-92233720368547.75807"}) {
+            FastMoney amount = FastMoney.of(new BigDecimal(number), "CHF");
+            assertEquals(print(printer, amount), format.format(new BigDecimal(number)), number);
+            assertEquals(print(printer, Money.of(new BigDecimal(number), "CHF")),
+                    format.format(new BigDecimal(number)), number);
+        }
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testPrintRoundingUnnecessary() throws IOException {
+        DecimalFormat format = format("#,##0.00", Locale.US);
+        format.setRoundingMode(RoundingMode.UNNECESSARY);
+        print(DecimalPrinter.of(format, null, null), FastMoney.of(new BigDecimal("1.001"), "CHF"));
+    }
+
+    @Test
+    public void testPrintCustomGrouping() throws IOException {
+        DecimalFormat format = format("#,##0.00", Locale.US);
+        format.setGroupingUsed(false);
+        DecimalPrinter printer = DecimalPrinter.of(format, new char[]{',', '\''}, new int[]{3, 2});
+        assertEquals(print(printer, new BigDecimal("123456789101112.123456")), "12'34'56'78'91'01,112.12");
+        assertEquals(print(printer, new BigDecimal("-1234.5")), "-1,234.50");
+        assertEquals(print(printer, new BigDecimal("12")), "12.00");
+        printer = DecimalPrinter.of(format, new char[]{'.'}, new int[]{2, 0});
+        assertEquals(print(printer, new BigDecimal("123")), "123.00");
+        assertEquals(print(printer, new BigDecimal("12")), "12.00");
+    }
+
+    @Test
+    public void testPrintTiesRoundingToZero() throws IOException {
+        for (Locale locale : new Locale[]{Locale.FRANCE, new Locale("ar", "EG")}) {
+            for (RoundingMode roundingMode : RoundingMode.values()) {
+                if (roundingMode == RoundingMode.UNNECESSARY) {
+                    continue;
+                }
+                DecimalFormat format = format("#0.#", locale);
+                format.setDecimalSeparatorAlwaysShown(true);
+                format.setRoundingMode(roundingMode);
+                DecimalPrinter printer = DecimalPrinter.of(format, null, null);
+                if (roundingMode == RoundingMode.HALF_DOWN) {
+                    // left to DecimalFormat, e.g. -0.050 is printed as -0,1 in fr_FR
+                    assertNull(printer, locale.toString());
+                    continue;
+                }
+                for (String number : new String[]{"-0.050", "0.050", "-0.000500", "0.25", "-0.15"}) {
+                    BigDecimal value = new BigDecimal(number);
+                    assertEquals(print(printer, value), format.format(value), locale + ", " + roundingMode + ", "
+                            + number);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnsupportedPatterns() {
+        assertNull(DecimalPrinter.of(format("0.###E0", Locale.US), null, null));
+        assertNull(DecimalPrinter.of(format("#,##0.00%", Locale.US), null, null));
+        assertNull(DecimalPrinter.of(format("\u00A4 #,##0.00", Locale.US), null, null));
+    }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.money.format.AmountFormatQuery;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.testng.annotations.Test;
+
+public class DefaultAmountFormatProviderSpiTest {
+
+    private static MonetaryAmountFormat getFormat(DefaultAmountFormatProviderSpi provider, AmountFormatQuery query) {
+        return provider.getAmountFormats(query).iterator().next();
+    }
+
+    @Test
+    public void shouldCacheFormatsByQuery() {
+        DefaultAmountFormatProviderSpi provider = new DefaultAmountFormatProviderSpi(10);
+        MonetaryAmountFormat format = getFormat(provider, AmountFormatQuery.of(Locale.GERMANY));
+        assertSame(getFormat(provider, AmountFormatQuery.of(Locale.GERMANY)), format);
+        MonetaryAmountFormat built = getFormat(provider, AmountFormatQueryBuilder.of(Locale.GERMANY).build());
+        assertSame(getFormat(provider, AmountFormatQueryBuilder.of(Locale.GERMANY).build()), built);
+        assertNotSame(getFormat(provider, AmountFormatQueryBuilder.of(Locale.GERMANY)
+                .set("pattern", "#,##0.00 \u00A4").build()), built);
+        assertEquals(provider.getCacheSize(), 3);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedFormats() {
+        DefaultAmountFormatProviderSpi provider = new DefaultAmountFormatProviderSpi(2);
+        MonetaryAmountFormat german = getFormat(provider, AmountFormatQuery.of(Locale.GERMANY));
+        MonetaryAmountFormat french = getFormat(provider, AmountFormatQuery.of(Locale.FRANCE));
+        assertSame(getFormat(provider, AmountFormatQuery.of(Locale.GERMANY)), german);
+        getFormat(provider, AmountFormatQuery.of(Locale.US));
+        assertEquals(provider.getCacheSize(), 2);
+        assertSame(getFormat(provider, AmountFormatQuery.of(Locale.GERMANY)), german);
+        assertNotSame(getFormat(provider, AmountFormatQuery.of(Locale.FRANCE)), french);
+    }
+
+    @Test
+    public void shouldNotCacheIfDisabled() {
+        DefaultAmountFormatProviderSpi provider = new DefaultAmountFormatProviderSpi(0);
+        assertNotSame(getFormat(provider, AmountFormatQuery.of(Locale.GERMANY)),
+                getFormat(provider, AmountFormatQuery.of(Locale.GERMANY)));
+        assertEquals(provider.getCacheSize(), 0);
+    }
+
+    @Test
+    public void shouldShareFormatsBetweenThreads() throws Exception {
+        DefaultAmountFormatProviderSpi provider = new DefaultAmountFormatProviderSpi(10);
+        MonetaryAmountFormat format = getFormat(provider, AmountFormatQueryBuilder.of(Locale.GERMANY)
+                .set("pattern", "#,##0.00 \u00A4").build());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                results.add(executor.submit((Callable<Boolean>) () -> {
+                    for (int i = 0; i < 2000; i++) {
+                        long cents = (i + offset * 2000L) * 1234567L;
+                        FastMoney amount = FastMoney.of(cents / 100.0, "CHF");
+                        String text = format.format(amount);
+                        if (!Money.from(format.parse(text)).isEqualTo(Money.from(amount))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.loader;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.javamoney.moneta.spi.LoadDataInformationBuilder;
+import org.javamoney.moneta.spi.LoaderService.UpdatePolicy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class LoadableResourceTest {
+
+	private static final String BODY = "<rates>1.0540</rates>";
+
+	private static final String ETAG = "\"v1\"";
+
+	private HttpServer server;
+
+	private final List<String> conditions = new ArrayList<>();
+
+	private URI uri;
+
+	private final AtomicInteger failedRequests = new AtomicInteger();
+
+	@BeforeMethod
+	public void setup() throws IOException {
+		conditions.clear();
+		failedRequests.set(0);
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/rates.xml", exchange -> {
+			String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+			conditions.add(condition);
+			if (ETAG.equals(condition)) {
+				exchange.sendResponseHeaders(304, -1);
+			} else {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+					gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+				}
+				exchange.getResponseHeaders().add("ETag", ETAG);
+				exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+				exchange.sendResponseHeaders(200, bytes.size());
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(bytes.toByteArray());
+				}
+			}
+			exchange.close();
+		});
+		server.createContext("/unavailable.xml", exchange -> {
+			failedRequests.incrementAndGet();
+			exchange.sendResponseHeaders(503, -1);
+			exchange.close();
+		});
+		server.start();
+		uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/rates.xml");
+	}
+
+	@AfterMethod
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	private LoadableResource createResource(ResourceCache cache) {
+		return createResource(cache, uri, new HashMap<>());
+	}
+
+	private LoadableResource createResource(ResourceCache cache, URI location, Map<String, String> props) {
+		props.put("cacheTTLMillis", "0");
+		return new LoadableResource(cache, new LoadDataInformationBuilder().withResourceId("rates")
+				.withUpdatePolicy(UpdatePolicy.SCHEDULED).withProperties(props)
+				.withBackupResource(uri).withResourceLocations(location).build());
+	}
+
+	@Test
+	public void shouldDecompressAndCacheValidators() {
+		MemoryResourceCache cache = new MemoryResourceCache();
+		LoadableResource resource = createResource(cache);
+		assertTrue(resource.load());
+		assertFalse(resource.isUnchanged());
+		assertEquals(new String(resource.getData(), StandardCharsets.UTF_8), BODY);
+		assertTrue(cache.isCached("rates"));
+		assertTrue(cache.isCached("rates.http"));
+		assertNull(conditions.get(0));
+	}
+
+	@Test
+	public void shouldRevalidateWithETag() {
+		MemoryResourceCache cache = new MemoryResourceCache();
+		LoadableResource resource = createResource(cache);
+		assertTrue(resource.load());
+		assertTrue(resource.load());
+		assertTrue(resource.isUnchanged());
+		assertEquals(conditions.get(1), ETAG);
+		assertEquals(new String(resource.getData(), StandardCharsets.UTF_8), BODY);
+		assertEquals(resource.getLoadCount(), 1);
+	}
+
+	@Test
+	public void shouldRevalidateFromPersistentCache() {
+		MemoryResourceCache cache = new MemoryResourceCache();
+		assertTrue(createResource(cache).load());
+		LoadableResource resource = createResource(cache);
+		assertTrue(resource.load());
+		assertTrue(resource.isUnchanged());
+		assertEquals(new String(resource.getData(), StandardCharsets.UTF_8), BODY);
+	}
+
+	@Test
+	public void shouldNotRevalidateWithoutCachedData() {
+		MemoryResourceCache cache = new MemoryResourceCache();
+		assertTrue(createResource(cache).load());
+		cache.clear("rates");
+		LoadableResource resource = createResource(cache);
+		assertTrue(resource.load());
+		assertFalse(resource.isUnchanged());
+		assertNull(conditions.get(1));
+	}
+
+	@Test
+	public void shouldTryUnavailableRemoteOnlyOnce() {
+		LoadableResource resource = createResource(new MemoryResourceCache(), uri.resolve("unavailable.xml"),
+				new HashMap<>());
+		assertTrue(resource.load());
+		assertEquals(failedRequests.get(), 1);
+		assertEquals(new String(resource.getData(), StandardCharsets.UTF_8), BODY);
+	}
+
+	@Test
+	public void shouldNotifyUnchangedDataNotYetDelivered() {
+		MemoryResourceCache cache = new MemoryResourceCache();
+		assertTrue(createResource(cache).load());
+		DefaultLoaderListener listener = new DefaultLoaderListener();
+		AtomicInteger notifications = new AtomicInteger();
+		listener.getListeners("rates").add((resourceId, is) -> notifications.incrementAndGet());
+		List<Runnable> scheduled = new ArrayList<>();
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1) {
+			@Override
+			public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+				scheduled.add(command);
+				return null;
+			}
+		};
+		Map<String, String> props = new HashMap<>();
+		props.put("period", "01");
+		LoadableResource resource = createResource(cache, uri, props);
+		new ScheduledDataLoaderService(executor, listener).execute(resource);
+		scheduled.get(0).run();
+		assertTrue(resource.isUnchanged());
+		assertEquals(notifications.get(), 1);
+		scheduled.get(1).run();
+		assertTrue(resource.isUnchanged());
+		assertEquals(notifications.get(), 1);
+		executor.shutdownNow();
+	}
+
+	private static final class MemoryResourceCache implements ResourceCache {
+
+		private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+
+		@Override
+		public void write(String resourceId, byte[] data) {
+			entries.put(resourceId, data.clone());
+		}
+
+		@Override
+		public boolean isCached(String resourceId) {
+			return entries.containsKey(resourceId);
+		}
+
+		@Override
+		public byte[] read(String resourceId) {
+			byte[] data = entries.get(resourceId);
+			return data == null ? null : data.clone();
+		}
+
+		@Override
+		public void clear(String resourceId) {
+			entries.remove(resourceId);
+		}
+	}
+}
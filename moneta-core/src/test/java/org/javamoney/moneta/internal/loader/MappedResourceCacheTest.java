@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.loader;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class MappedResourceCacheTest {
+
+	private static final byte[] DATA = "<rates>1.0540</rates>".getBytes(StandardCharsets.UTF_8);
+
+	private static final URI SOURCE = URI.create("https://example.com/rates.xml");
+
+	private Path dir;
+
+	private MappedResourceCache cache;
+
+	@BeforeMethod
+	public void setup() throws IOException {
+		dir = Files.createTempDirectory("mappedCache");
+		cache = new MappedResourceCache(dir);
+	}
+
+	@AfterMethod
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(dir);
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		assertFalse(cache.isCached("rates"));
+		assertNull(cache.read("rates"));
+		cache.write("rates", DATA);
+		assertTrue(cache.isCached("rates"));
+		assertEquals(cache.read("rates"), DATA);
+		assertNull(cache.getSource("rates"));
+		assertEquals(new MappedResourceCache(dir).read("rates"), DATA);
+	}
+
+	@Test
+	public void testReadBufferIsReadOnlyView() throws IOException {
+		cache.write("rates", DATA, SOURCE);
+		ByteBuffer buffer = cache.readBuffer("rates");
+		assertTrue(buffer.isReadOnly());
+		assertEquals(buffer.remaining(), DATA.length);
+		assertEquals(buffer.get(0), DATA[0]);
+		buffer.position(buffer.limit());
+		assertEquals(cache.readBuffer("rates").remaining(), DATA.length);
+	}
+
+	@Test(expectedExceptions = ReadOnlyBufferException.class)
+	public void testReadBufferCannotBeModified() throws IOException {
+		cache.write("rates", DATA);
+		cache.readBuffer("rates").put(0, (byte) 0);
+	}
+
+	@Test
+	public void testTimestampAndSource() throws IOException {
+		long before = System.currentTimeMillis();
+		cache.write("rates", DATA, SOURCE);
+		long timestamp = cache.getTimestamp("rates");
+		assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+		assertEquals(cache.getSource("rates"), SOURCE);
+		assertEquals(cache.getTimestamp("unknown"), -1L);
+	}
+
+	@Test
+	public void testOverwrite() throws IOException {
+		cache.write("rates", DATA, SOURCE);
+		assertEquals(cache.read("rates"), DATA);
+		byte[] updated = "<rates>1.0612</rates><more/>".getBytes(StandardCharsets.UTF_8);
+		new MappedResourceCache(dir).write("rates", updated);
+		assertEquals(cache.read("rates"), updated);
+		assertNull(cache.getSource("rates"));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(files.count(), 1L);
+		}
+	}
+
+	@Test
+	public void testClear() throws IOException {
+		cache.write("rates", DATA);
+		cache.clear("rates");
+		assertFalse(cache.isCached("rates"));
+		assertFalse(Files.exists(dir.resolve("rates.bin")));
+	}
+
+	@Test
+	public void testCorruptFileIsIgnored() throws IOException {
+		cache.write("rates", DATA);
+		Path file = dir.resolve("rates.bin");
+		byte[] content = Files.readAllBytes(file);
+		content[content.length - 1] ^= 1;
+		Files.write(file, content, StandardOpenOption.TRUNCATE_EXISTING);
+		MappedResourceCache other = new MappedResourceCache(dir);
+		assertFalse(other.isCached("rates"));
+		assertNull(other.readBuffer("rates"));
+	}
+
+	@Test
+	public void testTruncatedFileIsIgnored() throws IOException {
+		Files.write(dir.resolve("rates.bin"), new byte[]{1, 2, 3});
+		assertFalse(cache.isCached("rates"));
+	}
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal.loader;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.javamoney.moneta.spi.LoadDataInformationBuilder;
+import org.javamoney.moneta.spi.LoaderService.UpdatePolicy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ScheduledDataLoaderServiceTest {
+
+	private RecordingScheduler scheduler;
+
+	private DefaultLoaderListener listener;
+
+	private AtomicInteger notifications;
+
+	@BeforeMethod
+	public void setup() {
+		scheduler = new RecordingScheduler();
+		listener = new DefaultLoaderListener();
+		notifications = new AtomicInteger();
+		listener.getListeners("test").add((resourceId, is) -> notifications.incrementAndGet());
+	}
+
+	@AfterMethod
+	public void tearDown() {
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	public void shouldBackOffExponentiallyOnFailure() throws URISyntaxException {
+		Map<String, String> props = new HashMap<>();
+		props.put("period", "10");
+		props.put("delay", "00:00:05");
+		props.put("backoff", "00:00:01");
+		new ScheduledDataLoaderService(scheduler, listener).execute(new TestResource(props, false));
+		assertEquals(scheduler.delays, list(5_000L));
+		scheduler.runLast();
+		scheduler.runLast();
+		scheduler.runLast();
+		assertEquals(scheduler.delays, list(5_000L, 1_000L, 2_000L, 4_000L));
+		assertEquals(notifications.get(), 0);
+	}
+
+	@Test
+	public void shouldScheduleNextPeriodOnSuccess() throws URISyntaxException {
+		Map<String, String> props = new HashMap<>();
+		props.put("period", "01");
+		new ScheduledDataLoaderService(scheduler, listener).execute(new TestResource(props, true));
+		scheduler.runLast();
+		assertEquals(notifications.get(), 1);
+		long delay = scheduler.delays.get(1);
+		assertTrue(delay > 3_590_000L && delay <= 3_600_000L, "delay: " + delay);
+	}
+
+	@Test
+	public void shouldAddJitter() throws URISyntaxException {
+		Map<String, String> props = new HashMap<>();
+		props.put("period", "01");
+		props.put("jitter", "00:00:00:500");
+		ScheduledDataLoaderService service = new ScheduledDataLoaderService(scheduler, listener);
+		for (int i = 0; i < 20; i++) {
+			service.execute(new TestResource(props, true));
+		}
+		for (long delay : scheduler.delays) {
+			assertTrue(delay >= 0L && delay <= 500L, "delay: " + delay);
+		}
+	}
+
+	@Test
+	public void shouldFallBackOnInvalidProperties() throws URISyntaxException {
+		Map<String, String> props = new HashMap<>();
+		props.put("period", "01");
+		props.put("jitter", "soon");
+		props.put("backoff", "1:x");
+		props.put("maxConcurrentLoads", "many");
+		new ScheduledDataLoaderService(scheduler, listener).execute(new TestResource(props, false));
+		assertEquals(scheduler.delays, list(0L));
+		scheduler.runLast();
+		assertEquals(scheduler.delays, list(0L, 60_000L));
+	}
+
+	private static List<Long> list(Long... values) {
+		List<Long> list = new ArrayList<>();
+		for (Long value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+
+	/**
+	 * Records the delays instead of scheduling.
+	 */
+	private static final class RecordingScheduler extends ScheduledThreadPoolExecutor {
+
+		private final List<Long> delays = new ArrayList<>();
+
+		private Runnable last;
+
+		RecordingScheduler() {
+			super(1);
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			delays.add(unit.toMillis(delay));
+			last = command;
+			return null;
+		}
+
+		void runLast() {
+			last.run();
+		}
+	}
+
+	private static final class TestResource extends LoadableResource {
+
+		private final boolean succeeding;
+
+		TestResource(Map<String, String> props, boolean succeeding) throws URISyntaxException {
+			super(new DefaultResourceCache(), new LoadDataInformationBuilder().withResourceId("test")
+					.withUpdatePolicy(UpdatePolicy.SCHEDULED).withProperties(props)
+					.withBackupResource(new URI("localhost"))
+					.withResourceLocations(new URI("localhost")).build());
+			this.succeeding = succeeding;
+		}
+
+		@Override
+		public boolean load() {
+			return succeeding;
+		}
+
+		@Override
+		public InputStream getDataStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.ExchangeRateBuilder;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link org.javamoney.moneta.spi.CachingRateProvider}.
+ */
+public class CachingRateProviderTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+    private AtomicLong clock;
+
+    private CountingRateProvider delegate;
+
+    @BeforeMethod
+    public void setUp() {
+        clock = new AtomicLong();
+        delegate = new CountingRateProvider();
+    }
+
+    private static ConversionQuery query(CurrencyUnit base, CurrencyUnit term) {
+        return ConversionQueryBuilder.of().setBaseCurrency(base).setTermCurrency(term).build();
+    }
+
+    @Test
+    public void shouldCacheRepeatedQueries() {
+        CachingRateProvider provider = new CachingRateProvider(delegate, 100L, 10, clock::get);
+        ExchangeRate rate = provider.getExchangeRate(query(EUR, USD));
+        assertSame(provider.getExchangeRate(query(EUR, USD)), rate);
+        assertEquals(delegate.calls.get(), 1);
+        provider.getExchangeRate(query(USD, EUR));
+        provider.getExchangeRate(ConversionQueryBuilder.of(query(EUR, USD)).set(LocalDate.of(2017, 1, 2)).build());
+        assertEquals(delegate.calls.get(), 3);
+        assertEquals(provider.getContext(), delegate.getContext());
+    }
+
+    @Test
+    public void shouldExpireRates() {
+        CachingRateProvider provider = new CachingRateProvider(delegate, 100L, 10, clock::get);
+        ExchangeRate rate = provider.getExchangeRate(query(EUR, USD));
+        clock.set(99L);
+        assertSame(provider.getExchangeRate(query(EUR, USD)), rate);
+        clock.set(100L);
+        assertNotSame(provider.getExchangeRate(query(EUR, USD)), rate);
+        assertEquals(delegate.calls.get(), 2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        CachingRateProvider provider = new CachingRateProvider(delegate, 100L, 2, clock::get);
+        provider.getExchangeRate(query(EUR, USD));
+        provider.getExchangeRate(query(EUR, CHF));
+        provider.getExchangeRate(query(EUR, USD));
+        provider.getExchangeRate(query(USD, CHF));
+        assertEquals(provider.size(), 2);
+        assertEquals(delegate.calls.get(), 3);
+        provider.getExchangeRate(query(EUR, USD));
+        assertEquals(delegate.calls.get(), 3);
+        provider.getExchangeRate(query(EUR, CHF));
+        assertEquals(delegate.calls.get(), 4);
+    }
+
+    @Test
+    public void shouldInvalidateOnNewData() {
+        CachingRateProvider provider = new CachingRateProvider(delegate, 100L, 10, clock::get);
+        provider.getExchangeRate(query(EUR, USD));
+        provider.newDataLoaded("test", null);
+        assertEquals(provider.size(), 0);
+        provider.getExchangeRate(query(EUR, USD));
+        assertEquals(delegate.calls.get(), 2);
+    }
+
+    @Test
+    public void shouldCacheAsyncRates() {
+        CachingRateProvider provider = new CachingRateProvider(delegate, 100L, 10, clock::get);
+        ExchangeRate rate = provider.getExchangeRateAsync(query(EUR, USD)).join();
+        assertSame(provider.getExchangeRateAsync(query(EUR, USD)).join(), rate);
+        assertSame(provider.getExchangeRate(query(EUR, USD)), rate);
+        assertEquals(delegate.calls.get(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheRatesLoadedDuringInvalidation() {
+        CachingRateProvider provider = new CachingRateProvider(delegate, 100L, 10, clock::get);
+        delegate.onCall = provider::invalidate;
+        provider.getExchangeRate(query(EUR, USD));
+        assertEquals(provider.size(), 0);
+        delegate.onCall = null;
+        provider.getExchangeRate(query(EUR, USD));
+        provider.getExchangeRate(query(EUR, USD));
+        assertEquals(delegate.calls.get(), 2);
+    }
+
+    @Test
+    public void shouldNotCacheAsyncRatesLoadedDuringInvalidation() {
+        CachingRateProvider provider = new CachingRateProvider(delegate, 100L, 10, clock::get);
+        delegate.onCall = provider::invalidate;
+        provider.getExchangeRateAsync(query(EUR, USD)).join();
+        assertEquals(provider.size(), 0);
+        delegate.onCall = null;
+        provider.getExchangeRateAsync(query(EUR, USD)).join();
+        provider.getExchangeRateAsync(query(EUR, USD)).join();
+        assertEquals(delegate.calls.get(), 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectInvalidMaxSize() {
+        new CachingRateProvider(delegate, 100L, 0, clock::get);
+    }
+
+    private static final class CountingRateProvider extends AbstractRateProvider {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        /**
+         * Run while a rate is evaluated, e.g. to simulate a concurrent reload.
+         */
+        private volatile Runnable onCall;
+
+        CountingRateProvider() {
+            super(ProviderContext.of("counting", RateType.ANY));
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+            calls.incrementAndGet();
+            Runnable hook = onCall;
+            if (hook != null) {
+                hook.run();
+            }
+            return new ExchangeRateBuilder(ConversionContext.of("counting", RateType.ANY))
+                    .setBase(conversionQuery.getBaseCurrency()).setTerm(conversionQuery.getCurrency())
+                    .setFactor(DefaultNumberValue.ONE).build();
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryException;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.ExchangeRateBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link org.javamoney.moneta.spi.CompoundRateProvider}.
+ */
+public class CompoundRateProviderTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    private static final ConversionQuery QUERY = ConversionQueryBuilder.of().setBaseCurrency(EUR)
+            .setTermCurrency(USD).build();
+
+    @Test
+    public void shouldUseFirstRateDelivered() {
+        FixedRateProvider first = new FixedRateProvider("first", null);
+        FixedRateProvider second = new FixedRateProvider("second", rate("second"));
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.<ExchangeRateProvider>asList(first, second));
+        assertSame(provider.getExchangeRate(QUERY), second.rate);
+        assertSame(provider.getExchangeRateAsync(QUERY).join(), second.rate);
+    }
+
+    @Test
+    public void shouldNotBlockOnPendingProviders() {
+        PendingRateProvider pending = new PendingRateProvider();
+        FixedRateProvider fallback = new FixedRateProvider("fallback", rate("fallback"));
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.<ExchangeRateProvider>asList(pending, fallback));
+        CompletableFuture<ExchangeRate> result = provider.getExchangeRateAsync(QUERY);
+        assertFalse(result.isDone());
+        pending.future.completeExceptionally(new MonetaryException("not loaded"));
+        assertSame(result.join(), fallback.rate);
+    }
+
+    @Test
+    public void shouldFailIfNoProviderDeliversRate() {
+        CompoundRateProvider provider = new CompoundRateProvider(Arrays.<ExchangeRateProvider>asList(
+                new FixedRateProvider("first", null), new FixedRateProvider("second", null)));
+        CompletableFuture<ExchangeRate> result = provider.getExchangeRateAsync(QUERY);
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.join();
+            fail("CompletionException expected.");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof CurrencyConversionException);
+        }
+    }
+
+    @Test
+    public void shouldCompleteOnTimeout() {
+        CompletableFuture<ExchangeRate> future = AbstractRateProvider.completeOnTimeout(new CompletableFuture<>(),
+                10, TimeUnit.MILLISECONDS, () -> new MonetaryException("timeout"));
+        try {
+            future.join();
+            fail("CompletionException expected.");
+        } catch (CompletionException e) {
+            assertEquals(e.getCause().getMessage(), "timeout");
+        }
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldAdaptSynchronousProviders() {
+        ExchangeRateProvider failing = new ExchangeRateProvider() {
+            @Override
+            public ProviderContext getContext() {
+                return ProviderContext.of("failing", RateType.ANY);
+            }
+
+            @Override
+            public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+                throw new CurrencyConversionException(EUR, USD, null, "no rate");
+            }
+
+            @Override
+            public CurrencyConversion getCurrencyConversion(ConversionQuery conversionQuery) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        assertTrue(AbstractRateProvider.getExchangeRateAsync(failing, QUERY).isCompletedExceptionally());
+        FixedRateProvider fixed = new FixedRateProvider("fixed", rate("fixed"));
+        assertSame(AbstractRateProvider.getExchangeRateAsync(fixed, QUERY).join(), fixed.rate);
+    }
+
+    private static ExchangeRate rate(String providerName) {
+        return new ExchangeRateBuilder(ConversionContext.of(providerName, RateType.ANY)).setBase(EUR).setTerm(USD)
+                .setFactor(DefaultNumberValue.ONE).build();
+    }
+
+    private static final class FixedRateProvider extends AbstractRateProvider {
+
+        private final ExchangeRate rate;
+
+        FixedRateProvider(String name, ExchangeRate rate) {
+            super(ProviderContext.of(name, RateType.ANY));
+            this.rate = rate;
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+            return rate;
+        }
+    }
+
+    private static final class PendingRateProvider extends AbstractRateProvider {
+
+        private final CompletableFuture<ExchangeRate> future = new CompletableFuture<>();
+
+        PendingRateProvider() {
+            super(ProviderContext.of("pending", RateType.ANY));
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+            return future.join();
+        }
+
+        @Override
+        public CompletableFuture<ExchangeRate> getExchangeRateAsync(ConversionQuery conversionQuery) {
+            return future;
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2012, 2017, Anatole Tresch, Werner Keil and others by the @author tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.ConversionQuery;
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.CurrencyConversionException;
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ProviderContext;
+import javax.money.convert.RateType;
+
+import org.javamoney.moneta.ExchangeRateBuilder;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link org.javamoney.moneta.spi.EagerBoundCurrencyConversion}.
+ */
+public class EagerBoundCurrencyConversionTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+
+    private static final CurrencyUnit CHF = Monetary.getCurrency("CHF");
+
+    private CountingRateProvider provider;
+
+    private LazyBoundCurrencyConversion lazyConversion;
+
+    @BeforeMethod
+    public void setUp() {
+        provider = new CountingRateProvider();
+        ConversionQuery query = ConversionQueryBuilder.of().setTermCurrency(USD).build();
+        lazyConversion = new LazyBoundCurrencyConversion(query, provider, ConversionContext.of("counting", RateType.ANY));
+    }
+
+    @Test
+    public void shouldResolveRateOnce() {
+        EagerBoundCurrencyConversion conversion = lazyConversion.bind(EUR);
+        List<MonetaryAmount> amounts = Arrays.asList(Money.of(1, EUR), Money.of(2, EUR), Money.of(3, USD));
+        List<MonetaryAmount> converted = conversion.applyAll(amounts);
+        assertEquals(provider.calls.get(), 1);
+        assertEquals(converted.get(0), Money.of(new BigDecimal("1.12345"), USD));
+        assertEquals(converted.get(1), Money.of(new BigDecimal("2.2469"), USD));
+        assertSame(converted.get(2), amounts.get(2));
+        assertEquals(conversion.getBaseCurrency(), EUR);
+        assertEquals(conversion.getCurrency(), USD);
+    }
+
+    @Test
+    public void shouldConvertLikeLazyConversion() {
+        EagerBoundCurrencyConversion conversion = lazyConversion.bind(EUR);
+        MonetaryAmount[] amounts = {FastMoney.of(10, EUR), Money.of(new BigDecimal("0.1"), EUR), FastMoney.of(-7, EUR)};
+        MonetaryAmount[] converted = conversion.applyAll(amounts);
+        for (int i = 0; i < amounts.length; i++) {
+            assertEquals(converted[i], lazyConversion.apply(amounts[i]));
+        }
+    }
+
+    @Test
+    public void shouldConvertStreams() {
+        EagerBoundCurrencyConversion conversion = lazyConversion.bind(EUR);
+        List<MonetaryAmount> converted = conversion.applyAll(Stream.of(Money.of(1, EUR), Money.of(1, EUR)))
+                .collect(Collectors.toList());
+        assertEquals(converted, Arrays.asList(Money.of(new BigDecimal("1.12345"), USD),
+                Money.of(new BigDecimal("1.12345"), USD)));
+    }
+
+    @Test
+    public void shouldOnlyProvideRateForBaseCurrency() {
+        EagerBoundCurrencyConversion conversion = lazyConversion.bind(EUR);
+        assertEquals(conversion.getExchangeRate(Money.of(1, EUR)).getBaseCurrency(), EUR);
+        assertNull(conversion.getExchangeRate(Money.of(1, CHF)));
+        assertSame(conversion.getExchangeRateProvider(), provider);
+    }
+
+    @Test(expectedExceptions = CurrencyConversionException.class)
+    public void shouldRejectOtherCurrencies() {
+        lazyConversion.bind(EUR).apply(Money.of(1, CHF));
+    }
+
+    private static final class CountingRateProvider extends AbstractRateProvider {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingRateProvider() {
+            super(ProviderContext.of("counting", RateType.ANY));
+        }
+
+        @Override
+        public ExchangeRate getExchangeRate(ConversionQuery conversionQuery) {
+            calls.incrementAndGet();
+            return new ExchangeRateBuilder(ConversionContext.of("counting", RateType.ANY))
+                    .setBase(conversionQuery.getBaseCurrency()).setTerm(conversionQuery.getCurrency())
+                    .setFactor(DefaultNumberValue.of(new BigDecimal("1.12345"))).build();
+        }
+    }
+
+}